@@ -12,5 +12,7 @@ import lombok.NoArgsConstructor;
 public class AuthResponseDto {
     private String token;
     private String tokenType;
+    private Long expiresIn; // Access token lifetime in seconds
+    private String refreshToken;
     private UserResponseDto user;
 }
@@ -1,6 +1,7 @@
 package com.finbot.Beta.Dto.request;
 
 import com.finbot.Beta.entity.AccountType;
+import jakarta.validation.constraints.Digits;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.PositiveOrZero;
@@ -24,6 +25,7 @@ public class BankAccountRequestDto {
     private String accountNumber;
 
     @PositiveOrZero(message = "Initial balance must be positive or zero")
+    @Digits(integer = 15, fraction = 4, message = "Initial balance must have at most 15 integer and 4 decimal digits")
     private BigDecimal balance = BigDecimal.ZERO;
 
     @NotNull(message = "Account type is required")
@@ -1,5 +1,7 @@
 package com.finbot.Beta.Dto.request;
 
+import com.finbot.Beta.entity.BudgetPeriod;
+import jakarta.validation.constraints.Digits;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
@@ -25,10 +27,11 @@ public class BudgetRequestDto {
 
     @NotNull(message = "Budget amount is required")
     @Positive(message = "Budget amount must be positive")
+    @Digits(integer = 15, fraction = 4, message = "Budget amount must have at most 15 integer and 4 decimal digits")
     private BigDecimal amount;
 
-    @NotBlank(message = "Period is required")
-    private String period; // DAILY, WEEKLY, MONTHLY, YEARLY
+    @NotNull(message = "Period is required")
+    private BudgetPeriod period;
 
     @NotNull(message = "Start date is required")
     private LocalDate startDate;
@@ -0,0 +1,22 @@
+package com.finbot.Beta.Dto.request;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TransactionBatchRequestDto {
+
+    // Items are validated one by one in the service so a bad row is reported instead of failing the batch
+    @NotEmpty(message = "At least one transaction is required")
+    @Size(max = 10000, message = "A batch can contain at most 10000 transactions")
+    private List<TransactionRequestDto> transactions;
+}
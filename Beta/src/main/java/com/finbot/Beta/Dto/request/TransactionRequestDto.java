@@ -1,6 +1,7 @@
 package com.finbot.Beta.Dto.request;
 
 import com.finbot.Beta.entity.TransactionType;
+import jakarta.validation.constraints.Digits;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
@@ -24,6 +25,7 @@ public class TransactionRequestDto {
 
     @NotNull(message = "Amount is required")
     @Positive(message = "Amount must be positive")
+    @Digits(integer = 15, fraction = 4, message = "Amount must have at most 15 integer and 4 decimal digits")
     private BigDecimal amount;
 
     @NotNull(message = "Transaction type is required")
@@ -33,5 +35,6 @@ public class TransactionRequestDto {
 
     private String description;
 
-    private LocalDateTime transactionDate = LocalDateTime.now();
+    // Defaults to the time of writing when omitted, after the Idempotency-Key fingerprint is taken
+    private LocalDateTime transactionDate;
 }
\ No newline at end of file
@@ -0,0 +1,22 @@
+package com.finbot.Beta.Dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BudgetPeriodSpendDto {
+    private LocalDate periodStart;
+    private LocalDate periodEnd;
+    private BigDecimal amount; // Budget limit for the period
+    private BigDecimal spent;
+    private BigDecimal remainingAmount;
+    private double percentageUsed;
+}
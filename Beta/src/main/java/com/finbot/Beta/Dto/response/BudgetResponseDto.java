@@ -1,5 +1,6 @@
 package com.finbot.Beta.Dto.response;
 
+import com.finbot.Beta.entity.BudgetPeriod;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -20,10 +21,12 @@ public class BudgetResponseDto {
     private String name;
     private String category;
     private BigDecimal amount;
-    private String period;
+    private BudgetPeriod period;
     private LocalDate startDate;
     private LocalDate endDate;
-    private BigDecimal currentSpent;
+    private LocalDate currentPeriodStart;
+    private LocalDate currentPeriodEnd;
+    private BigDecimal currentSpent; // Spent in the current period only
     private BigDecimal remainingAmount;
     private double percentageUsed;
     private LocalDateTime createdAt;
@@ -0,0 +1,28 @@
+package com.finbot.Beta.Dto.response;
+
+import com.finbot.Beta.entity.BudgetPeriod;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BudgetStatusDto {
+    private UUID budgetId;
+    private String name;
+    private String category;
+    private BigDecimal amount;
+    private BudgetPeriod period;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private BigDecimal spent; // Summed from transactions, not the current_spent counter
+    private BigDecimal remainingAmount;
+    private double percentageUsed;
+}
@@ -0,0 +1,30 @@
+package com.finbot.Beta.Dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ImportJobResponseDto {
+    private UUID id;
+    private UUID bankAccountId;
+    private String fileName;
+    private String format;
+    private String status; // QUEUED, RUNNING, COMPLETED or FAILED
+    private long rowsRead;
+    private long importedCount;
+    private long failedCount;
+    private List<String> errors; // First rejected rows, capped
+    private String failureReason;
+    private LocalDateTime createdAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+}
@@ -0,0 +1,18 @@
+package com.finbot.Beta.Dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class InsightBucketDto {
+    private String key; // Category (null for uncategorized), weekday, bank account id or yyyy-MM month
+    private BigDecimal totalAmount;
+    private long transactionCount;
+}
@@ -0,0 +1,23 @@
+package com.finbot.Beta.Dto.response;
+
+import com.finbot.Beta.entity.TransactionType;
+import com.finbot.Beta.service.analytics.AnalyticsDimension;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class InsightsResponseDto {
+    private AnalyticsDimension groupBy;
+    private TransactionType type; // Null when credits and debits are both included
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private List<InsightBucketDto> buckets; // Largest total first when limited, otherwise in key order
+}
@@ -0,0 +1,21 @@
+package com.finbot.Beta.Dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SpendingBucketDto {
+    private LocalDate periodStart;
+    private LocalDate periodEnd;
+    private String category;
+    private BigDecimal totalAmount;
+    private long transactionCount;
+}
@@ -0,0 +1,25 @@
+package com.finbot.Beta.Dto.response;
+
+import com.finbot.Beta.entity.TransactionType;
+import com.finbot.Beta.service.support.SummaryGranularity;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SpendingSummaryResponseDto {
+    private SummaryGranularity granularity;
+    private TransactionType type;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private BigDecimal totalAmount; // Across every bucket in the range
+    private List<SpendingBucketDto> buckets; // Ordered by period, then category
+}
@@ -0,0 +1,17 @@
+package com.finbot.Beta.Dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TransactionBatchItemResultDto {
+    private int index; // Position of the item in the submitted batch
+    private boolean success;
+    private TransactionResponseDto transaction; // Present when the item was written
+    private String error; // Present when the item was rejected
+}
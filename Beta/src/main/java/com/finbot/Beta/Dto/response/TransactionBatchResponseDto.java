@@ -0,0 +1,19 @@
+package com.finbot.Beta.Dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TransactionBatchResponseDto {
+    private int totalCount;
+    private int successCount;
+    private int failureCount;
+    private List<TransactionBatchItemResultDto> results;
+}
@@ -0,0 +1,18 @@
+package com.finbot.Beta.Dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TransactionFeedResponseDto {
+    private List<TransactionResponseDto> items;
+    private String nextCursor; // Null on the last page
+    private boolean hasMore;
+}
@@ -0,0 +1,7 @@
+package com.finbot.Beta.Exceptions;
+
+public class IdempotencyConflictException extends RuntimeException {
+    public IdempotencyConflictException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.finbot.Beta.Exceptions;
+
+public class ImportCapacityException extends RuntimeException {
+    public ImportCapacityException(String message) {
+        super(message);
+    }
+}
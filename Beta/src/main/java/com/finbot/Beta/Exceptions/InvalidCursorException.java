@@ -0,0 +1,7 @@
+package com.finbot.Beta.Exceptions;
+
+public class InvalidCursorException extends RuntimeException {
+    public InvalidCursorException(String message) {
+        super(message);
+    }
+}
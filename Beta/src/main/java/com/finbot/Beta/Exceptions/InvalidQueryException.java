@@ -0,0 +1,7 @@
+package com.finbot.Beta.Exceptions;
+
+public class InvalidQueryException extends RuntimeException {
+    public InvalidQueryException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.finbot.Beta.Exceptions;
+
+public class InvalidRefreshTokenException extends RuntimeException {
+    public InvalidRefreshTokenException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.finbot.Beta.Exceptions;
+
+public class InvalidStatementException extends RuntimeException {
+    public InvalidStatementException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,14 @@
+package com.finbot.Beta.Exceptions;
+
+import lombok.Getter;
+
+@Getter
+public class LoginLockedException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public LoginLockedException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
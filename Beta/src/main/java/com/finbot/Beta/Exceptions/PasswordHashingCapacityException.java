@@ -0,0 +1,7 @@
+package com.finbot.Beta.Exceptions;
+
+public class PasswordHashingCapacityException extends RuntimeException {
+    public PasswordHashingCapacityException(String message) {
+        super(message);
+    }
+}
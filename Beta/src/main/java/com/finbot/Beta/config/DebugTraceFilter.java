@@ -0,0 +1,57 @@
+package com.finbot.Beta.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+/**
+ * Turns on DEBUG logging for one request when it carries {@code X-Debug-Trace: <token>} matching
+ * observability.debug-trace.token. Without a configured token the header is ignored, so clients
+ * cannot switch on verbose logging by themselves.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class DebugTraceFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "X-Debug-Trace";
+
+    private final byte[] token;
+
+    public DebugTraceFilter(@Value("${observability.debug-trace.token:}") String token) {
+        this.token = token.isBlank() ? null : token.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+
+        String header = request.getHeader(HEADER);
+        if (token == null || header == null
+                || !MessageDigest.isEqual(token, header.getBytes(StandardCharsets.UTF_8))) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        MDC.put(DebugTraceTurboFilter.MDC_KEY, "true");
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            MDC.remove(DebugTraceTurboFilter.MDC_KEY);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.finbot.Beta.config;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.MDC;
+import org.slf4j.Marker;
+
+/**
+ * Lets DEBUG events through for the current thread while DebugTraceFilter has marked the request,
+ * regardless of the configured logger levels. Registered in logback-spring.xml; events at INFO and
+ * above are left to the normal level checks, so untraced requests pay one level comparison.
+ */
+public class DebugTraceTurboFilter extends TurboFilter {
+
+    public static final String MDC_KEY = "debugTrace";
+
+    // Only application loggers are opened up by default; framework DEBUG output is too noisy per request
+    private String loggerPrefix = "com.finbot.Beta";
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        if (level != Level.DEBUG) {
+            return FilterReply.NEUTRAL;
+        }
+        return MDC.get(MDC_KEY) != null && logger.getName().startsWith(loggerPrefix)
+                ? FilterReply.ACCEPT
+                : FilterReply.NEUTRAL;
+    }
+
+    public void setLoggerPrefix(String loggerPrefix) {
+        this.loggerPrefix = loggerPrefix;
+    }
+}
@@ -0,0 +1,32 @@
+package com.finbot.Beta.config;
+
+import com.finbot.Beta.security.TokenRevocationRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Subscribes to token revocations published by other nodes. Only active when
+ * security.revocation.redis.enabled=true, so single-node setups never need Redis for authentication.
+ */
+@Configuration
+@ConditionalOnProperty(name = "security.revocation.redis.enabled", havingValue = "true")
+public class RevocationSyncConfig {
+
+    @Bean
+    public RedisMessageListenerContainer revocationListenerContainer(
+            RedisConnectionFactory connectionFactory,
+            TokenRevocationRegistry revocationRegistry) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(
+                (message, pattern) -> revocationRegistry.applyRemote(new String(message.getBody(), StandardCharsets.UTF_8)),
+                new ChannelTopic(TokenRevocationRegistry.CHANNEL));
+        return container;
+    }
+}
@@ -0,0 +1,33 @@
+package com.finbot.Beta.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Replaces spring.jpa.show-sql in production: logs a random sample of statements, plus every
+ * statement of a request traced with X-Debug-Trace, through the async appender instead of stdout.
+ */
+public class SampledSqlStatementInspector implements StatementInspector {
+
+    private static final Logger log = LoggerFactory.getLogger("com.finbot.Beta.sql");
+
+    private final double sampleRate;
+
+    public SampledSqlStatementInspector(double sampleRate) {
+        this.sampleRate = sampleRate;
+    }
+
+    @Override
+    public String inspect(String sql) {
+        if (MDC.get(DebugTraceTurboFilter.MDC_KEY) != null) {
+            log.debug("{}", sql);
+        } else if (sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate) {
+            log.info("Sampled SQL: {}", sql);
+        }
+        return sql;
+    }
+}
@@ -0,0 +1,23 @@
+package com.finbot.Beta.config;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Installs the sampled SQL logger when observability.sql.sample-rate is set (the prod profile does);
+ * other profiles keep whatever statement inspector they configure themselves.
+ */
+@Configuration
+@ConditionalOnProperty(name = "observability.sql.sample-rate")
+public class SqlLoggingConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer sampledSqlStatementInspector(
+            @Value("${observability.sql.sample-rate}") double sampleRate) {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, new SampledSqlStatementInspector(sampleRate));
+    }
+}
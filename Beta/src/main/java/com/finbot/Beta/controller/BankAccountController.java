@@ -6,6 +6,7 @@ import com.finbot.Beta.security.CustomUserDetails;
 import com.finbot.Beta.service.BankAccountService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
@@ -14,6 +15,7 @@ import org.springframework.web.bind.annotation.*;
 import java.util.List;
 import java.util.UUID;
 
+@Slf4j
 @RestController
 @RequestMapping("/api/accounts")
 @RequiredArgsConstructor
@@ -25,7 +27,7 @@ public class BankAccountController {
             @AuthenticationPrincipal CustomUserDetails userDetails,
             @Valid @RequestBody BankAccountRequestDto request) {
 
-        System.out.println("UserDetails: " + (userDetails != null ? userDetails.getId() : "NULL"));
+        log.debug("Creating bank account for user {}", userDetails != null ? userDetails.getId() : null);
 
         BankAccountResponseDto response = bankAccountService.createBankAccount(userDetails.getId(), request);
         return new ResponseEntity<>(response, HttpStatus.CREATED);
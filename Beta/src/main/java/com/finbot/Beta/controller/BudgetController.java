@@ -1,16 +1,20 @@
 package com.finbot.Beta.controller;
 
 import com.finbot.Beta.Dto.request.BudgetRequestDto;
+import com.finbot.Beta.Dto.response.BudgetPeriodSpendDto;
 import com.finbot.Beta.Dto.response.BudgetResponseDto;
+import com.finbot.Beta.Dto.response.BudgetStatusDto;
 import com.finbot.Beta.entity.User;
 import com.finbot.Beta.service.BudgetService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.UUID;
 
@@ -37,6 +41,14 @@ public class BudgetController {
         return ResponseEntity.ok(budgets);
     }
 
+    @GetMapping("/status")
+    public ResponseEntity<List<BudgetStatusDto>> getBudgetStatus(
+            @AuthenticationPrincipal User user) {
+
+        List<BudgetStatusDto> status = budgetService.getBudgetStatus(user);
+        return ResponseEntity.ok(status);
+    }
+
     @GetMapping("/{budgetId}")
     public ResponseEntity<BudgetResponseDto> getBudget(
             @AuthenticationPrincipal User user,
@@ -46,6 +58,17 @@ public class BudgetController {
         return ResponseEntity.ok(budget);
     }
 
+    @GetMapping("/{budgetId}/periods")
+    public ResponseEntity<List<BudgetPeriodSpendDto>> getBudgetPeriods(
+            @AuthenticationPrincipal User user,
+            @PathVariable UUID budgetId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+
+        List<BudgetPeriodSpendDto> periods = budgetService.getBudgetPeriods(user, budgetId, from, to);
+        return ResponseEntity.ok(periods);
+    }
+
     @PutMapping("/{budgetId}")
     public ResponseEntity<BudgetResponseDto> updateBudget(
             @AuthenticationPrincipal User user,
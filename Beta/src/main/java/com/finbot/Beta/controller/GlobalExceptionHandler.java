@@ -1,16 +1,32 @@
 package com.finbot.Beta.controller;
 
 import com.finbot.Beta.Dto.ErrorResponseDto;
+import com.finbot.Beta.Exceptions.IdempotencyConflictException;
+import com.finbot.Beta.Exceptions.ImportCapacityException;
+import com.finbot.Beta.Exceptions.InvalidCursorException;
+import com.finbot.Beta.Exceptions.InvalidIdempotencyKeyException;
+import com.finbot.Beta.Exceptions.InvalidQueryException;
+import com.finbot.Beta.Exceptions.InvalidRefreshTokenException;
+import com.finbot.Beta.Exceptions.InvalidStatementException;
+import com.finbot.Beta.Exceptions.LoginLockedException;
+import com.finbot.Beta.Exceptions.PasswordHashingCapacityException;
 import com.finbot.Beta.Exceptions.UserAlreadyExistsException;
 import com.finbot.Beta.Exceptions.ResourceNotFoundException;
 import com.finbot.Beta.Exceptions.UserNotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.support.DefaultMessageSourceResolvable;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
 import java.time.LocalDateTime;
+import java.util.stream.Collectors;
 
+@Slf4j
 @RestControllerAdvice
 public class GlobalExceptionHandler {
 
@@ -48,9 +64,135 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(resourceNotFoundError, HttpStatus.NOT_FOUND);
     }
 
+    @ExceptionHandler(IdempotencyConflictException.class)
+    public ResponseEntity<ErrorResponseDto> handleIdempotencyConflict(IdempotencyConflictException ex) {
+        ErrorResponseDto idempotencyConflictError = ErrorResponseDto.builder()
+                .message("IDEMPOTENCY_CONFLICT")
+                .details(ex.getMessage())
+                .status(HttpStatus.CONFLICT.value()) // 409
+                .timestamp(LocalDateTime.now())
+                .build();
+        return new ResponseEntity<>(idempotencyConflictError, HttpStatus.CONFLICT);
+    }
+
+    @ExceptionHandler(InvalidIdempotencyKeyException.class)
+    public ResponseEntity<ErrorResponseDto> handleInvalidIdempotencyKey(InvalidIdempotencyKeyException ex) {
+        ErrorResponseDto invalidIdempotencyKeyError = ErrorResponseDto.builder()
+                .message("INVALID_IDEMPOTENCY_KEY")
+                .details(ex.getMessage())
+                .status(HttpStatus.BAD_REQUEST.value()) // 400
+                .timestamp(LocalDateTime.now())
+                .build();
+        return new ResponseEntity<>(invalidIdempotencyKeyError, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(InvalidStatementException.class)
+    public ResponseEntity<ErrorResponseDto> handleInvalidStatement(InvalidStatementException ex) {
+        ErrorResponseDto invalidStatementError = ErrorResponseDto.builder()
+                .message("INVALID_STATEMENT")
+                .details(ex.getMessage())
+                .status(HttpStatus.BAD_REQUEST.value()) // 400
+                .timestamp(LocalDateTime.now())
+                .build();
+        return new ResponseEntity<>(invalidStatementError, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<ErrorResponseDto> handleInvalidCursor(InvalidCursorException ex) {
+        ErrorResponseDto invalidCursorError = ErrorResponseDto.builder()
+                .message("INVALID_CURSOR")
+                .details(ex.getMessage())
+                .status(HttpStatus.BAD_REQUEST.value()) // 400
+                .timestamp(LocalDateTime.now())
+                .build();
+        return new ResponseEntity<>(invalidCursorError, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(InvalidQueryException.class)
+    public ResponseEntity<ErrorResponseDto> handleInvalidQuery(InvalidQueryException ex) {
+        ErrorResponseDto invalidQueryError = ErrorResponseDto.builder()
+                .message("INVALID_QUERY")
+                .details(ex.getMessage())
+                .status(HttpStatus.BAD_REQUEST.value()) // 400
+                .timestamp(LocalDateTime.now())
+                .build();
+        return new ResponseEntity<>(invalidQueryError, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(MethodArgumentNotValidException.class)
+    public ResponseEntity<ErrorResponseDto> handleValidation(MethodArgumentNotValidException ex) {
+        ErrorResponseDto validationError = ErrorResponseDto.builder()
+                .message("VALIDATION_FAILED")
+                .details(ex.getBindingResult().getAllErrors().stream()
+                        .map(DefaultMessageSourceResolvable::getDefaultMessage)
+                        .sorted()
+                        .collect(Collectors.joining(", ")))
+                .status(HttpStatus.BAD_REQUEST.value()) // 400
+                .timestamp(LocalDateTime.now())
+                .build();
+        return new ResponseEntity<>(validationError, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(ImportCapacityException.class)
+    public ResponseEntity<ErrorResponseDto> handleImportCapacity(ImportCapacityException ex) {
+        ErrorResponseDto importCapacityError = ErrorResponseDto.builder()
+                .message("IMPORT_CAPACITY_EXCEEDED")
+                .details(ex.getMessage())
+                .status(HttpStatus.SERVICE_UNAVAILABLE.value()) // 503
+                .timestamp(LocalDateTime.now())
+                .build();
+        return new ResponseEntity<>(importCapacityError, HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
+    @ExceptionHandler(InvalidRefreshTokenException.class)
+    public ResponseEntity<ErrorResponseDto> handleInvalidRefreshToken(InvalidRefreshTokenException ex) {
+        ErrorResponseDto invalidRefreshTokenError = ErrorResponseDto.builder()
+                .message("INVALID_REFRESH_TOKEN")
+                .details(ex.getMessage())
+                .status(HttpStatus.UNAUTHORIZED.value()) // 401
+                .timestamp(LocalDateTime.now())
+                .build();
+        return new ResponseEntity<>(invalidRefreshTokenError, HttpStatus.UNAUTHORIZED);
+    }
+
+    @ExceptionHandler(LoginLockedException.class)
+    public ResponseEntity<ErrorResponseDto> handleLoginLocked(LoginLockedException ex) {
+        ErrorResponseDto loginLockedError = ErrorResponseDto.builder()
+                .message("LOGIN_LOCKED")
+                .details(ex.getMessage())
+                .status(HttpStatus.TOO_MANY_REQUESTS.value()) // 429
+                .timestamp(LocalDateTime.now())
+                .build();
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, Long.toString(ex.getRetryAfterSeconds()))
+                .body(loginLockedError);
+    }
+
+    @ExceptionHandler(PasswordHashingCapacityException.class)
+    public ResponseEntity<ErrorResponseDto> handlePasswordHashingCapacity(PasswordHashingCapacityException ex) {
+        ErrorResponseDto hashingCapacityError = ErrorResponseDto.builder()
+                .message("AUTH_CAPACITY_EXCEEDED")
+                .details(ex.getMessage())
+                .status(HttpStatus.SERVICE_UNAVAILABLE.value()) // 503
+                .timestamp(LocalDateTime.now())
+                .build();
+        return new ResponseEntity<>(hashingCapacityError, HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ErrorResponseDto> handleConcurrentModification(OptimisticLockingFailureException ex) {
+        ErrorResponseDto concurrentModificationError = ErrorResponseDto.builder()
+                .message("CONCURRENT_MODIFICATION")
+                .details("The resource was modified by another request, please retry")
+                .status(HttpStatus.CONFLICT.value()) // 409
+                .timestamp(LocalDateTime.now())
+                .build();
+        return new ResponseEntity<>(concurrentModificationError, HttpStatus.CONFLICT);
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ErrorResponseDto> handleGeneric(Exception ex) {
-        ex.printStackTrace(); // ✅ Print to logs during dev
+        log.error("Unhandled exception", ex);
 
         ErrorResponseDto genericError = ErrorResponseDto.builder()
                 .message("INTERNAL_SERVER_ERROR")
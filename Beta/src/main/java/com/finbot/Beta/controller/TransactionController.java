@@ -1,20 +1,43 @@
 package com.finbot.Beta.controller;
 
+import com.finbot.Beta.Dto.request.TransactionBatchRequestDto;
 import com.finbot.Beta.Dto.request.TransactionRequestDto;
+import com.finbot.Beta.Dto.response.ImportJobResponseDto;
+import com.finbot.Beta.Dto.response.InsightsResponseDto;
+import com.finbot.Beta.Dto.response.SpendingSummaryResponseDto;
+import com.finbot.Beta.Dto.response.TransactionBatchResponseDto;
+import com.finbot.Beta.Dto.response.TransactionFeedResponseDto;
 import com.finbot.Beta.Dto.response.TransactionResponseDto;
+import com.finbot.Beta.entity.TransactionType;
 import com.finbot.Beta.entity.User;
+import com.finbot.Beta.service.SpendingRollupService;
+import com.finbot.Beta.service.StatementImportService;
+import com.finbot.Beta.service.TransactionInsightsService;
 import com.finbot.Beta.service.TransactionService;
+import com.finbot.Beta.service.export.ExportFormat;
+import com.finbot.Beta.service.analytics.AnalyticsDimension;
+import com.finbot.Beta.service.analytics.AnalyticsQuery;
+import com.finbot.Beta.service.export.TransactionExport;
+import com.finbot.Beta.service.statement.StatementFormat;
+import com.finbot.Beta.service.support.SummaryGranularity;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
@@ -25,25 +48,69 @@ import java.util.UUID;
 public class TransactionController {
 
     private final TransactionService transactionService;
+    private final StatementImportService statementImportService;
+    private final SpendingRollupService spendingRollupService;
+    private final TransactionInsightsService transactionInsightsService;
 
     @PostMapping
     public ResponseEntity<TransactionResponseDto> createTransaction(
             @AuthenticationPrincipal User user,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
             @Valid @RequestBody TransactionRequestDto request) {
 
-        TransactionResponseDto response = transactionService.createTransaction(user, request);
+        TransactionResponseDto response = transactionService.createTransaction(user, request, idempotencyKey);
         return new ResponseEntity<>(response, HttpStatus.CREATED);
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<TransactionBatchResponseDto> createTransactions(
+            @AuthenticationPrincipal User user,
+            @Valid @RequestBody TransactionBatchRequestDto request) {
+
+        TransactionBatchResponseDto response = transactionService.createTransactions(user, request.getTransactions());
+        HttpStatus status = response.getFailureCount() == 0 ? HttpStatus.CREATED : HttpStatus.MULTI_STATUS;
+        return new ResponseEntity<>(response, status);
+    }
+
+    @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ImportJobResponseDto> importStatement(
+            @AuthenticationPrincipal User user,
+            @RequestParam UUID bankAccountId,
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(required = false) StatementFormat format) {
+
+        ImportJobResponseDto job = statementImportService.startImport(user, bankAccountId, file, format);
+        return new ResponseEntity<>(job, HttpStatus.ACCEPTED);
+    }
+
+    @GetMapping("/import/{jobId}")
+    public ResponseEntity<ImportJobResponseDto> getImportJob(
+            @AuthenticationPrincipal User user,
+            @PathVariable UUID jobId) {
+
+        ImportJobResponseDto job = statementImportService.getImportJob(user, jobId);
+        return ResponseEntity.ok(job);
+    }
+
     @GetMapping
     public ResponseEntity<Page<TransactionResponseDto>> getUserTransactions(
             @AuthenticationPrincipal User user,
-            @PageableDefault(size = 20, sort = "transactionDate,desc") Pageable pageable) {
+            @PageableDefault(size = 20, sort = "transactionDate", direction = Sort.Direction.DESC) Pageable pageable) {
 
         Page<TransactionResponseDto> transactions = transactionService.getUserTransactions(user, pageable);
         return ResponseEntity.ok(transactions);
     }
 
+    @GetMapping("/feed")
+    public ResponseEntity<TransactionFeedResponseDto> getTransactionFeed(
+            @AuthenticationPrincipal User user,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+
+        TransactionFeedResponseDto feed = transactionService.getTransactionFeed(user, cursor, size);
+        return ResponseEntity.ok(feed);
+    }
+
     @GetMapping("/account/{accountId}")
     public ResponseEntity<List<TransactionResponseDto>> getTransactionsByBankAccount(
             @AuthenticationPrincipal User user,
@@ -72,6 +139,73 @@ public class TransactionController {
         return ResponseEntity.ok(transactions);
     }
 
+    @GetMapping("/summary")
+    public ResponseEntity<SpendingSummaryResponseDto> getSpendingSummary(
+            @AuthenticationPrincipal User user,
+            @RequestParam(defaultValue = "MONTH") SummaryGranularity granularity,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(defaultValue = "DEBIT") TransactionType type,
+            @RequestParam(required = false) String category) {
+
+        SpendingSummaryResponseDto summary = spendingRollupService.getSummary(
+                user, granularity, startDate, endDate, type, category);
+        return ResponseEntity.ok(summary);
+    }
+
+    @PostMapping("/summary/rebuild")
+    public ResponseEntity<Void> rebuildSpendingSummary(@AuthenticationPrincipal User user) {
+        spendingRollupService.rebuild(user);
+        return ResponseEntity.noContent().build();
+    }
+
+    @GetMapping("/insights")
+    public ResponseEntity<InsightsResponseDto> getInsights(
+            @AuthenticationPrincipal User user,
+            @RequestParam(defaultValue = "CATEGORY") AnalyticsDimension groupBy,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false) TransactionType type,
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) UUID bankAccountId,
+            @RequestParam(defaultValue = "0") int limit) {
+
+        InsightsResponseDto insights = transactionInsightsService.getInsights(user,
+                new AnalyticsQuery(groupBy, startDate, endDate, type, category, bankAccountId, limit));
+        return ResponseEntity.ok(insights);
+    }
+
+    @GetMapping("/account/{accountId}/export")
+    public ResponseEntity<StreamingResponseBody> exportTransactionsByBankAccount(
+            @AuthenticationPrincipal User user,
+            @PathVariable UUID accountId,
+            @RequestParam(defaultValue = "NDJSON") ExportFormat format) {
+
+        TransactionExport export = transactionService.exportTransactionsByBankAccount(user, accountId, format);
+        return streamExport(export, format);
+    }
+
+    @GetMapping("/daterange/export")
+    public ResponseEntity<StreamingResponseBody> exportTransactionsByDateRange(
+            @AuthenticationPrincipal User user,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            @RequestParam(defaultValue = "NDJSON") ExportFormat format) {
+
+        TransactionExport export = transactionService.exportTransactionsByDateRange(user, startDate, endDate, format);
+        return streamExport(export, format);
+    }
+
+    @GetMapping("/category/{category}/export")
+    public ResponseEntity<StreamingResponseBody> exportTransactionsByCategory(
+            @AuthenticationPrincipal User user,
+            @PathVariable String category,
+            @RequestParam(defaultValue = "NDJSON") ExportFormat format) {
+
+        TransactionExport export = transactionService.exportTransactionsByCategory(user, category, format);
+        return streamExport(export, format);
+    }
+
     @GetMapping("/{transactionId}")
     public ResponseEntity<TransactionResponseDto> getTransaction(
             @AuthenticationPrincipal User user,
@@ -80,4 +214,14 @@ public class TransactionController {
         TransactionResponseDto transaction = transactionService.getTransaction(user, transactionId);
         return ResponseEntity.ok(transaction);
     }
+
+    private ResponseEntity<StreamingResponseBody> streamExport(TransactionExport export, ExportFormat format) {
+        ContentDisposition disposition = ContentDisposition.attachment()
+                .filename("transactions." + format.getFileExtension())
+                .build();
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_TYPE, format.getContentType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, disposition.toString())
+                .body(export::writeTo);
+    }
 }
@@ -33,6 +33,18 @@ public class UserController {
         return ResponseEntity.ok(authResponse);
     }
 
+    @PostMapping("/refresh")
+    public ResponseEntity<AuthResponseDto> refreshToken(@RequestBody RefreshTokenDto refreshTokenDto) {
+        AuthResponseDto authResponse = userService.refreshToken(refreshTokenDto.getRefreshToken());
+        return ResponseEntity.ok(authResponse);
+    }
+
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(@RequestBody RefreshTokenDto refreshTokenDto) {
+        userService.logout(refreshTokenDto.getRefreshToken());
+        return ResponseEntity.noContent().build();
+    }
+
     @PutMapping("/update/password/{userId}")
     public ResponseEntity<UserResponseDto> updateUserPassword(
             @PathVariable UUID userId,
@@ -31,7 +31,7 @@ public class BankAccount {
     @Column(nullable = false, length = 100)
     private String name; // Name of the bank account
 
-    @Column(nullable = false)
+    @Column(nullable = false, precision = 19, scale = 4)
     private BigDecimal balance = BigDecimal.ZERO; // Current balance of the bank account
 
     @Enumerated(EnumType.STRING)
@@ -54,4 +54,8 @@ public class BankAccount {
     @Column(name = "active", nullable = false, columnDefinition = "BOOLEAN DEFAULT TRUE")
     @Builder.Default
     private Boolean isActive = true; // Indicates if the bank account is active or not
+
+    @Version
+    @Column(nullable = false, columnDefinition = "BIGINT DEFAULT 0")
+    private Long version; // Optimistic lock version, bumped on every write
 }
\ No newline at end of file
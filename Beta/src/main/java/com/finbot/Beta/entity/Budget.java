@@ -38,11 +38,12 @@ public class Budget {
     @Column(nullable = false)
     private String category; // Category this budget applies to
 
-    @Column(nullable = false)
+    @Column(nullable = false, precision = 19, scale = 4)
     private BigDecimal amount; // Budget limit amount
 
+    @Enumerated(EnumType.STRING)
     @Column(nullable = false)
-    private String period; // DAILY, WEEKLY, MONTHLY, YEARLY
+    private BudgetPeriod period; // Reset interval; spend per period is kept in budget_period_spend
 
     @Column(name = "start_date", nullable = false)
     private LocalDate startDate; // Start date of the budget period
@@ -50,8 +51,8 @@ public class Budget {
     @Column(name = "end_date")
     private LocalDate endDate; // End date of the budget period (optional)
 
-    @Column(name = "current_spent", nullable = false)
-    private BigDecimal currentSpent = BigDecimal.ZERO; // Amount spent so far in this budget period
+    @Column(name = "current_spent", nullable = false, precision = 19, scale = 4)
+    private BigDecimal currentSpent = BigDecimal.ZERO; // Amount spent over the budget's whole lifetime
 
     @CreationTimestamp
     @Column(updatable = false)
@@ -62,4 +63,8 @@ public class Budget {
 
     @Column(name = "active", nullable = false)
     private Boolean isActive = true; // Indicates if the budget is active or not
+
+    @Version
+    @Column(nullable = false, columnDefinition = "BIGINT DEFAULT 0")
+    private Long version; // Optimistic lock version, bumped on every write
 }
\ No newline at end of file
@@ -0,0 +1,35 @@
+package com.finbot.Beta.entity;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+
+/**
+ * Budget reset interval. Periods are calendar aligned: weeks start on Monday (ISO), months on the
+ * 1st and years on January 1st, so every date falls in exactly one period of each kind.
+ */
+public enum BudgetPeriod {
+    DAILY,
+    WEEKLY,
+    MONTHLY,
+    YEARLY;
+
+    public LocalDate periodStart(LocalDate date) {
+        return switch (this) {
+            case DAILY -> date;
+            case WEEKLY -> date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case MONTHLY -> date.withDayOfMonth(1);
+            case YEARLY -> date.withDayOfYear(1);
+        };
+    }
+
+    // Inclusive last day of the period starting on periodStart
+    public LocalDate periodEnd(LocalDate periodStart) {
+        return switch (this) {
+            case DAILY -> periodStart;
+            case WEEKLY -> periodStart.plusDays(6);
+            case MONTHLY -> periodStart.plusMonths(1).minusDays(1);
+            case YEARLY -> periodStart.plusYears(1).minusDays(1);
+        };
+    }
+}
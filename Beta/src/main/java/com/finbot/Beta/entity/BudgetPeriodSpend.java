@@ -0,0 +1,30 @@
+package com.finbot.Beta.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+@Entity
+@Table(name = "budget_period_spend", indexes = {
+        @Index(name = "idx_budget_period_spend_end", columnList = "budget_id, period_end")
+})
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BudgetPeriodSpend {
+
+    @EmbeddedId
+    private BudgetPeriodSpendId id; // (budget, period, period start)
+
+    @Column(name = "period_end", nullable = false)
+    private LocalDate periodEnd; // Last day of the bucket, inclusive
+
+    @Column(nullable = false, precision = 19, scale = 4)
+    private BigDecimal spent; // Debits applied to the budget within the bucket
+}
@@ -0,0 +1,30 @@
+package com.finbot.Beta.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.UUID;
+
+@Data
+@Embeddable
+@NoArgsConstructor
+@AllArgsConstructor
+public class BudgetPeriodSpendId implements Serializable {
+
+    @Column(name = "budget_id", nullable = false)
+    private UUID budgetId; // Budget the spend counts against
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private BudgetPeriod period; // Period kind the bucket was cut with; a changed budget period starts new buckets
+
+    @Column(name = "period_start", nullable = false)
+    private LocalDate periodStart; // First day of the bucket
+}
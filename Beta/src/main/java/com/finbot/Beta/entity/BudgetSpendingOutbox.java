@@ -0,0 +1,45 @@
+package com.finbot.Beta.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@Entity
+@Table(name = "budget_spending_outbox", indexes = {
+        @Index(name = "idx_budget_outbox_created", columnList = "created_at")
+})
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BudgetSpendingOutbox {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id; // Unique identifier for the outbox entry
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user; // User whose budgets the spending applies to
+
+    @Column(nullable = false)
+    private String category; // Category of the debit
+
+    @Column(nullable = false, precision = 19, scale = 4)
+    private BigDecimal amount; // Amount to add to the matching budgets
+
+    @Column(name = "transaction_date", nullable = false)
+    private LocalDate transactionDate; // Day the debit happened
+
+    @CreationTimestamp
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt; // Timestamp when the entry was appended
+}
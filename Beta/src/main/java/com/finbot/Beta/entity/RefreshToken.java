@@ -0,0 +1,48 @@
+package com.finbot.Beta.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@Entity
+@Table(name = "refresh_tokens", indexes = {
+        @Index(name = "idx_refresh_token_hash", columnList = "token_hash", unique = true),
+        @Index(name = "idx_refresh_token_family", columnList = "family_id"),
+        @Index(name = "idx_refresh_token_expires", columnList = "expires_at")
+})
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RefreshToken {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id; // Unique identifier for the refresh token
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user; // User the token was issued to
+
+    @Column(name = "token_hash", nullable = false, length = 64)
+    private String tokenHash; // SHA-256 hex of the token; the token itself is never stored
+
+    @Column(name = "family_id", nullable = false)
+    private UUID familyId; // Shared by every token rotated from the same login
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt; // Token is rejected after this instant
+
+    @Column(name = "used_at")
+    private LocalDateTime usedAt; // Set when the token is rotated; a second use means it leaked
+
+    @CreationTimestamp
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt; // Timestamp when the token was issued
+}
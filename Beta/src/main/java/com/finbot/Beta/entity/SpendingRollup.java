@@ -0,0 +1,29 @@
+package com.finbot.Beta.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@Entity
+@Table(name = "spending_rollups", indexes = {
+        @Index(name = "idx_spending_rollup_user_date", columnList = "user_id, rollup_date")
+})
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SpendingRollup {
+
+    @EmbeddedId
+    private SpendingRollupId id; // (user, category, day, type)
+
+    @Column(name = "total_amount", nullable = false, precision = 19, scale = 4)
+    private BigDecimal totalAmount; // Sum of the transaction amounts
+
+    @Column(name = "transaction_count", nullable = false)
+    private long transactionCount; // Number of transactions summed
+}
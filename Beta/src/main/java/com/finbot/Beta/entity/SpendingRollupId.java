@@ -0,0 +1,33 @@
+package com.finbot.Beta.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.UUID;
+
+@Data
+@Embeddable
+@NoArgsConstructor
+@AllArgsConstructor
+public class SpendingRollupId implements Serializable {
+
+    @Column(name = "user_id", nullable = false)
+    private UUID userId; // Owner of the rolled-up transactions
+
+    @Column(nullable = false)
+    private String category; // Transaction category; "" for uncategorized, which blank categories share
+
+    @Column(name = "rollup_date", nullable = false)
+    private LocalDate rollupDate; // Calendar day of the transactions
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private TransactionType type; // CREDIT or DEBIT
+}
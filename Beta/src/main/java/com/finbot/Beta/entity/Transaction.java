@@ -17,7 +17,8 @@ import java.util.UUID;
 @Table(name = "transactions", indexes = {
         @Index(name = "idx_transaction_user", columnList = "user_id"),
         @Index(name = "idx_transaction_bank_account", columnList = "bank_account_id"),
-        @Index(name = "idx_transaction_date", columnList = "transaction_date")
+        @Index(name = "idx_transaction_date", columnList = "transaction_date"),
+        @Index(name = "idx_transaction_user_date_id", columnList = "user_id, transaction_date, id")
 })
 @NoArgsConstructor
 @AllArgsConstructor
@@ -36,13 +37,13 @@ public class Transaction {
     @JoinColumn(name = "bank_account_id", nullable = false)
     private BankAccount bankAccount; // Bank account associated with this transaction
 
-    @Column(nullable = false)
+    @Column(nullable = false, precision = 19, scale = 4)
     private BigDecimal amount; // Amount of the transaction
 
-    @Column(name = "previous_balance")
+    @Column(name = "previous_balance", precision = 19, scale = 4)
     private BigDecimal previousBalance; // Balance before the transaction
 
-    @Column(name = "new_balance")
+    @Column(name = "new_balance", precision = 19, scale = 4)
     private BigDecimal newBalance; // Balance after the transaction
 
     @Enumerated(EnumType.STRING)
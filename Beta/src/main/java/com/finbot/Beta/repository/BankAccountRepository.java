@@ -2,11 +2,18 @@ package com.finbot.Beta.repository;
 
 import com.finbot.Beta.entity.BankAccount;
 import com.finbot.Beta.entity.User;
+import com.finbot.Beta.repository.projection.AccountBalanceView;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -18,9 +25,47 @@ public interface BankAccountRepository extends JpaRepository<BankAccount, UUID>
     Optional<BankAccount> findByIdAndUser(UUID id, User user);
     Optional<BankAccount> findByIdAndUserAndIsActiveTrue(UUID id, User user);
 
+    boolean existsByIdAndUserAndIsActiveTrue(UUID id, User user);
+
+    // Locks the rows in id order so overlapping batches cannot deadlock each other
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM BankAccount b WHERE b.id IN :ids AND b.user = :user AND b.isActive = true ORDER BY b.id")
+    List<BankAccount> findAllForUpdate(@Param("ids") Collection<UUID> ids, @Param("user") User user);
+
+    // Every account of the user, inactive ones included, in the same id order as findAllForUpdate
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM BankAccount b WHERE b.user.id = :userId ORDER BY b.id")
+    List<BankAccount> lockAllByUserId(@Param("userId") UUID userId);
+
     @Query("SELECT b FROM BankAccount b WHERE b.id = :id AND b.user.id = :userId AND b.isActive = true")
     Optional<BankAccount> findByIdAndUserIdAndIsActiveTrue(@Param("id") UUID id, @Param("userId") UUID userId);
 
+    // Guarded single-statement balance mutations; the row lock taken by the UPDATE serialises concurrent writers.
+    // Bulk updates skip @UpdateTimestamp, so updatedAt is set here, and the persistence context is cleared so an
+    // account loaded earlier in the transaction is not read back with its old balance and version.
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE BankAccount b SET b.balance = b.balance + :amount, b.version = b.version + 1, " +
+            "b.updatedAt = CURRENT_TIMESTAMP " +
+            "WHERE b.id = :id AND b.user.id = :userId AND b.isActive = true")
+    int creditBalance(@Param("id") UUID id, @Param("userId") UUID userId, @Param("amount") BigDecimal amount);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE BankAccount b SET b.balance = b.balance - :amount, b.version = b.version + 1, " +
+            "b.updatedAt = CURRENT_TIMESTAMP " +
+            "WHERE b.id = :id AND b.user.id = :userId AND b.isActive = true AND b.balance >= :amount")
+    int debitBalance(@Param("id") UUID id, @Param("userId") UUID userId, @Param("amount") BigDecimal amount);
+
+    @Query("SELECT new com.finbot.Beta.repository.projection.AccountBalanceView(b.id, b.name, b.balance) " +
+            "FROM BankAccount b WHERE b.id = :id")
+    Optional<AccountBalanceView> findBalanceViewById(@Param("id") UUID id);
+
+    // Keyset pages of every account, for the ledger audit
+    @Query("SELECT b.id FROM BankAccount b ORDER BY b.id")
+    List<UUID> findIdsFirstPage(Pageable pageable);
+
+    @Query("SELECT b.id FROM BankAccount b WHERE b.id > :after ORDER BY b.id")
+    List<UUID> findIdsAfter(@Param("after") UUID after, Pageable pageable);
+
     // Check for duplicate accounts
     boolean existsByAccountNumberAndUserAndIsActiveTrue(String accountNumber, User user);
     boolean existsByNameAndUserAndIsActiveTrue(String name, User user);
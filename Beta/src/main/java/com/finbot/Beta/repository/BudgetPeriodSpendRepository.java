@@ -0,0 +1,42 @@
+package com.finbot.Beta.repository;
+
+import com.finbot.Beta.entity.BudgetPeriod;
+import com.finbot.Beta.entity.BudgetPeriodSpend;
+import com.finbot.Beta.entity.BudgetPeriodSpendId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface BudgetPeriodSpendRepository extends JpaRepository<BudgetPeriodSpend, BudgetPeriodSpendId> {
+
+    @Modifying
+    @Query("UPDATE BudgetPeriodSpend s SET s.spent = s.spent + :amount WHERE s.id = :id")
+    int increment(@Param("id") BudgetPeriodSpendId id, @Param("amount") BigDecimal amount);
+
+    // Compare-and-set, so an outbox increment applied since the read is never overwritten
+    @Modifying
+    @Query("UPDATE BudgetPeriodSpend s SET s.spent = :expected WHERE s.id = :id AND s.spent = :observed")
+    int correctSpent(
+            @Param("id") BudgetPeriodSpendId id,
+            @Param("observed") BigDecimal observed,
+            @Param("expected") BigDecimal expected);
+
+    @Query("SELECT s FROM BudgetPeriodSpend s WHERE s.id.budgetId IN :budgetIds")
+    List<BudgetPeriodSpend> findByBudgetIds(@Param("budgetIds") Collection<UUID> budgetIds);
+
+    @Query("SELECT s FROM BudgetPeriodSpend s WHERE s.id.budgetId = :budgetId AND s.id.period = :period " +
+            "AND s.id.periodStart <= :to AND s.periodEnd >= :from ORDER BY s.id.periodStart")
+    List<BudgetPeriodSpend> findHistory(@Param("budgetId") UUID budgetId,
+                                        @Param("period") BudgetPeriod period,
+                                        @Param("from") LocalDate from,
+                                        @Param("to") LocalDate to);
+}
@@ -1,13 +1,22 @@
 package com.finbot.Beta.repository;
 
 import com.finbot.Beta.entity.Budget;
+import com.finbot.Beta.entity.BudgetPeriod;
 import com.finbot.Beta.entity.User;
+import com.finbot.Beta.repository.projection.BudgetReconciliationRow;
+import com.finbot.Beta.repository.projection.BudgetStatusRow;
+import com.finbot.Beta.repository.projection.BudgetWithPeriodSpend;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -16,6 +25,20 @@ import java.util.UUID;
 public interface BudgetRepository extends JpaRepository<Budget, UUID> {
     List<Budget> findByUserAndIsActiveTrue(User user);
 
+    // Budgets with the spend of the period containing :today, read in the same statement
+    String SELECT_WITH_PERIOD_SPEND = "SELECT new com.finbot.Beta.repository.projection.BudgetWithPeriodSpend(b, s.spent) " +
+            "FROM Budget b LEFT JOIN BudgetPeriodSpend s ON s.id.budgetId = b.id AND s.id.period = b.period " +
+            "AND s.id.periodStart <= :today AND s.periodEnd >= :today ";
+
+    @Query(SELECT_WITH_PERIOD_SPEND + "WHERE b.user = :user AND b.isActive = true")
+    List<BudgetWithPeriodSpend> findActiveWithPeriodSpend(@Param("user") User user, @Param("today") LocalDate today);
+
+    @Query(SELECT_WITH_PERIOD_SPEND + "WHERE b.id = :id AND b.user = :user")
+    Optional<BudgetWithPeriodSpend> findWithPeriodSpend(
+            @Param("id") UUID id,
+            @Param("user") User user,
+            @Param("today") LocalDate today);
+
     @Query("SELECT b FROM Budget b WHERE b.user = :user AND b.category = :category " +
             "AND b.isActive = true AND :currentDate BETWEEN b.startDate AND COALESCE(b.endDate, :currentDate)")
     Optional<Budget> findActiveByUserAndCategory(
@@ -28,4 +51,88 @@ public interface BudgetRepository extends JpaRepository<Budget, UUID> {
     List<Budget> findAllActiveByUser(
             @Param("user") User user,
             @Param("currentDate") LocalDate currentDate);
-}
\ No newline at end of file
+
+    // Candidate budgets for a batch of outbox entries; matched to entries in memory
+    @Query("SELECT b FROM Budget b WHERE b.user.id IN :userIds AND b.isActive = true " +
+            "AND b.startDate <= :latest AND (b.endDate IS NULL OR b.endDate >= :earliest)")
+    List<Budget> findActiveForUsersBetween(
+            @Param("userIds") Collection<UUID> userIds,
+            @Param("earliest") LocalDate earliest,
+            @Param("latest") LocalDate latest);
+
+    @Modifying
+    @Query("UPDATE Budget b SET b.currentSpent = b.currentSpent + :amount, b.version = b.version + 1 WHERE b.id = :id")
+    int incrementCurrentSpent(@Param("id") UUID id, @Param("amount") BigDecimal amount);
+
+    // Actual spend for every active budget in one grouped statement: each budget is joined to the
+    // user's debits in its category that fall inside both its start/end window and its current period
+    @Query("SELECT new com.finbot.Beta.repository.projection.BudgetStatusRow(" +
+            "b.id, b.name, b.category, b.amount, b.period, b.startDate, b.endDate, COALESCE(SUM(t.amount), 0)) " +
+            "FROM Budget b LEFT JOIN Transaction t ON t.user = b.user AND t.category = b.category " +
+            "AND t.type = com.finbot.Beta.entity.TransactionType.DEBIT " +
+            "AND t.transactionDate >= CAST(b.startDate AS LocalDateTime) " +
+            "AND (b.endDate IS NULL OR t.transactionDate < CAST(b.endDate + 1 day AS LocalDateTime)) " +
+            "AND t.transactionDate >= CASE b.period " +
+            "WHEN com.finbot.Beta.entity.BudgetPeriod.DAILY THEN :dayStart " +
+            "WHEN com.finbot.Beta.entity.BudgetPeriod.WEEKLY THEN :weekStart " +
+            "WHEN com.finbot.Beta.entity.BudgetPeriod.MONTHLY THEN :monthStart ELSE :yearStart END " +
+            "AND t.transactionDate < CASE b.period " +
+            "WHEN com.finbot.Beta.entity.BudgetPeriod.DAILY THEN :dayEnd " +
+            "WHEN com.finbot.Beta.entity.BudgetPeriod.WEEKLY THEN :weekEnd " +
+            "WHEN com.finbot.Beta.entity.BudgetPeriod.MONTHLY THEN :monthEnd ELSE :yearEnd END " +
+            "WHERE b.user = :user AND b.isActive = true " +
+            "AND :currentDate BETWEEN b.startDate AND COALESCE(b.endDate, :currentDate) " +
+            "GROUP BY b.id, b.name, b.category, b.amount, b.period, b.startDate, b.endDate " +
+            "ORDER BY b.startDate, b.name")
+    List<BudgetStatusRow> findStatusByUser(
+            @Param("user") User user,
+            @Param("currentDate") LocalDate currentDate,
+            @Param("dayStart") LocalDateTime dayStart, @Param("dayEnd") LocalDateTime dayEnd,
+            @Param("weekStart") LocalDateTime weekStart, @Param("weekEnd") LocalDateTime weekEnd,
+            @Param("monthStart") LocalDateTime monthStart, @Param("monthEnd") LocalDateTime monthEnd,
+            @Param("yearStart") LocalDateTime yearStart, @Param("yearEnd") LocalDateTime yearEnd);
+
+    // Bounds of the period containing currentDate for each kind, as half-open datetime ranges
+    default List<BudgetStatusRow> findStatusByUser(User user, LocalDate currentDate) {
+        LocalDate week = BudgetPeriod.WEEKLY.periodStart(currentDate);
+        LocalDate month = BudgetPeriod.MONTHLY.periodStart(currentDate);
+        LocalDate year = BudgetPeriod.YEARLY.periodStart(currentDate);
+        return findStatusByUser(user, currentDate,
+                currentDate.atStartOfDay(), currentDate.plusDays(1).atStartOfDay(),
+                week.atStartOfDay(), BudgetPeriod.WEEKLY.periodEnd(week).plusDays(1).atStartOfDay(),
+                month.atStartOfDay(), BudgetPeriod.MONTHLY.periodEnd(month).plusDays(1).atStartOfDay(),
+                year.atStartOfDay(), BudgetPeriod.YEARLY.periodEnd(year).plusDays(1).atStartOfDay());
+    }
+
+    @Query("SELECT b FROM Budget b WHERE b.user.id IN :userIds AND b.isActive = true")
+    List<Budget> findActiveForUsers(@Param("userIds") Collection<UUID> userIds);
+
+    // Keyset-paged owners of active budgets, the unit the reconciliation job partitions on
+    @Query("SELECT DISTINCT b.user.id FROM Budget b WHERE b.isActive = true AND b.user.id > :after ORDER BY b.user.id")
+    List<UUID> findUserIdsWithActiveBudgetsAfter(@Param("after") UUID after, Pageable pageable);
+
+    @Query("SELECT DISTINCT b.user.id FROM Budget b WHERE b.isActive = true ORDER BY b.user.id")
+    List<UUID> findUserIdsWithActiveBudgets(Pageable pageable);
+
+    // Recomputes every active budget of a chunk of users in one statement. Pending outbox entries are
+    // matched the way BudgetSpendingAggregator will match them, on the day of the debit.
+    @Query("SELECT new com.finbot.Beta.repository.projection.BudgetReconciliationRow(b.id, b.currentSpent, " +
+            "(SELECT COALESCE(SUM(t.amount), 0) FROM Transaction t WHERE t.user = b.user AND t.category = b.category " +
+            "AND t.type = com.finbot.Beta.entity.TransactionType.DEBIT " +
+            "AND t.transactionDate >= CAST(b.startDate AS LocalDateTime) " +
+            "AND (b.endDate IS NULL OR t.transactionDate < CAST(b.endDate + 1 day AS LocalDateTime))), " +
+            "(SELECT COALESCE(SUM(o.amount), 0) FROM BudgetSpendingOutbox o WHERE o.user = b.user AND o.category = b.category " +
+            "AND o.transactionDate >= b.startDate " +
+            "AND (b.endDate IS NULL OR o.transactionDate <= b.endDate))) " +
+            "FROM Budget b WHERE b.user.id IN :userIds AND b.isActive = true")
+    List<BudgetReconciliationRow> findReconciliationRows(@Param("userIds") Collection<UUID> userIds);
+
+    // Compare-and-set, so an outbox increment applied since the read is never overwritten
+    @Modifying
+    @Query("UPDATE Budget b SET b.currentSpent = :expected, b.version = b.version + 1 " +
+            "WHERE b.id = :id AND b.currentSpent = :observed")
+    int correctCurrentSpent(
+            @Param("id") UUID id,
+            @Param("observed") BigDecimal observed,
+            @Param("expected") BigDecimal expected);
+}
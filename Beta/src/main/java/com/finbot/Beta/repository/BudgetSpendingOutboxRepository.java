@@ -0,0 +1,34 @@
+package com.finbot.Beta.repository;
+
+import com.finbot.Beta.entity.BudgetSpendingOutbox;
+import com.finbot.Beta.repository.projection.CategoryDayTotalRow;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface BudgetSpendingOutboxRepository extends JpaRepository<BudgetSpendingOutbox, UUID> {
+
+    // Oldest entries first; a lock timeout of -2 is Hibernate's SKIP LOCKED, so several nodes can drain in parallel
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT o FROM BudgetSpendingOutbox o ORDER BY o.createdAt")
+    List<BudgetSpendingOutbox> findNextBatch(Pageable pageable);
+
+    // Spending not yet applied to any budget, in the same shape as TransactionRepository.sumDailyDebitsByUsers
+    @Query("SELECT new com.finbot.Beta.repository.projection.CategoryDayTotalRow(" +
+            "o.user.id, o.category, o.transactionDate, SUM(o.amount)) " +
+            "FROM BudgetSpendingOutbox o WHERE o.user.id IN :userIds " +
+            "GROUP BY o.user.id, o.category, o.transactionDate")
+    List<CategoryDayTotalRow> sumPendingByUsers(@Param("userIds") Collection<UUID> userIds);
+}
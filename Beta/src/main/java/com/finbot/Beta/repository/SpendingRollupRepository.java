@@ -0,0 +1,37 @@
+package com.finbot.Beta.repository;
+
+import com.finbot.Beta.entity.SpendingRollup;
+import com.finbot.Beta.entity.SpendingRollupId;
+import com.finbot.Beta.entity.TransactionType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface SpendingRollupRepository extends JpaRepository<SpendingRollup, SpendingRollupId> {
+
+    // Relative update, so concurrent writers add to the row instead of overwriting each other
+    @Modifying
+    @Query("UPDATE SpendingRollup r SET r.totalAmount = r.totalAmount + :amount, " +
+            "r.transactionCount = r.transactionCount + :count WHERE r.id = :id")
+    int increment(@Param("id") SpendingRollupId id, @Param("amount") BigDecimal amount, @Param("count") long count);
+
+    @Query("SELECT r FROM SpendingRollup r WHERE r.id.userId = :userId " +
+            "AND r.id.rollupDate BETWEEN :startDate AND :endDate AND r.id.type = :type " +
+            "ORDER BY r.id.rollupDate")
+    List<SpendingRollup> findForSummary(@Param("userId") UUID userId,
+                                        @Param("startDate") LocalDate startDate,
+                                        @Param("endDate") LocalDate endDate,
+                                        @Param("type") TransactionType type);
+
+    @Modifying
+    @Query("DELETE FROM SpendingRollup r WHERE r.id.userId = :userId")
+    int deleteByUserId(@Param("userId") UUID userId);
+}
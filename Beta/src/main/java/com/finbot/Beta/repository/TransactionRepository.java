@@ -1,34 +1,100 @@
 package com.finbot.Beta.repository;
 
-import com.finbot.Beta.entity.BankAccount;
 import com.finbot.Beta.entity.Transaction;
 import com.finbot.Beta.entity.User;
+import com.finbot.Beta.repository.projection.CategoryDayTotalRow;
+import com.finbot.Beta.repository.projection.DailyTotalRow;
+import com.finbot.Beta.repository.projection.LedgerEntryRow;
+import com.finbot.Beta.repository.projection.TransactionFactRow;
+import com.finbot.Beta.repository.projection.TransactionRow;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 @Repository
 public interface TransactionRepository extends JpaRepository<Transaction, UUID> {
-    Page<Transaction> findByUserOrderByTransactionDateDesc(User user, Pageable pageable);
 
-    List<Transaction> findByUserAndBankAccount(User user, BankAccount bankAccount);
+    // All reads select TransactionRow directly: one statement per query, no lazy loads while mapping
+    String SELECT_ROW = "SELECT new com.finbot.Beta.repository.projection.TransactionRow(" +
+            "t.id, t.user.id, b.id, b.name, t.amount, t.type, t.category, t.description, " +
+            "t.transactionDate, t.previousBalance, t.newBalance, t.createdAt) " +
+            "FROM Transaction t JOIN t.bankAccount b ";
+
+    @Query(value = SELECT_ROW + "WHERE t.user = :user",
+            countQuery = "SELECT COUNT(t) FROM Transaction t WHERE t.user = :user")
+    Page<TransactionRow> findRowsByUser(@Param("user") User user, Pageable pageable);
+
+    @Query(SELECT_ROW + "WHERE t.id = :id AND t.user = :user")
+    Optional<TransactionRow> findRowByIdAndUser(@Param("id") UUID id, @Param("user") User user);
+
+    // Account ownership and status are part of the query, so an empty result needs a follow-up check only then
+    @Query(SELECT_ROW + "WHERE t.user = :user AND b.id = :bankAccountId AND b.user = :user AND b.isActive = true " +
+            "ORDER BY t.transactionDate DESC")
+    List<TransactionRow> findRowsByUserAndBankAccount(
+            @Param("user") User user,
+            @Param("bankAccountId") UUID bankAccountId);
+
+    @Query(SELECT_ROW + "WHERE t.user = :user AND t.transactionDate BETWEEN :startDate AND :endDate ORDER BY t.transactionDate DESC")
+    List<TransactionRow> findRowsByUserAndDateRange(
+            @Param("user") User user,
+            @Param("startDate") LocalDateTime startDate,
+            @Param("endDate") LocalDateTime endDate);
+
+    @Query(SELECT_ROW + "WHERE t.user = :user AND t.category = :category ORDER BY t.transactionDate DESC")
+    List<TransactionRow> findRowsByUserAndCategory(
+            @Param("user") User user,
+            @Param("category") String category);
+
+    // Keyset feed: ordered by (transactionDate, id) so the composite index serves both the seek and the sort,
+    // and a List return type means Spring Data never issues a COUNT query
+    @Query(SELECT_ROW + "WHERE t.user = :user ORDER BY t.transactionDate DESC, t.id DESC")
+    List<TransactionRow> findFeedFirstPage(@Param("user") User user, Pageable pageable);
+
+    // Expanded form of (transactionDate, id) < (:date, :id); MySQL does not range-scan row constructors reliably
+    @Query(SELECT_ROW + "WHERE t.user = :user " +
+            "AND (t.transactionDate < :transactionDate OR (t.transactionDate = :transactionDate AND t.id < :id)) " +
+            "ORDER BY t.transactionDate DESC, t.id DESC")
+    List<TransactionRow> findFeedPageAfter(
+            @Param("user") User user,
+            @Param("transactionDate") LocalDateTime transactionDate,
+            @Param("id") UUID id,
+            Pageable pageable);
+
+    // Export streams: rows arrive EXPORT_FETCH_SIZE at a time (MySQL needs useCursorFetch=true on the URL
+    // to honour it). Projections are never managed, so the persistence context stays empty however long the export
+    String EXPORT_FETCH_SIZE = "500";
 
-    @Query("SELECT t FROM Transaction t WHERE t.user = :user AND t.transactionDate BETWEEN :startDate AND :endDate ORDER BY t.transactionDate DESC")
-    List<Transaction> findByUserAndDateRange(
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE))
+    @Query(SELECT_ROW + "WHERE t.user = :user AND b.id = :bankAccountId ORDER BY t.transactionDate DESC")
+    Stream<TransactionRow> streamByUserAndBankAccount(
+            @Param("user") User user,
+            @Param("bankAccountId") UUID bankAccountId);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE))
+    @Query(SELECT_ROW + "WHERE t.user = :user AND t.transactionDate BETWEEN :startDate AND :endDate ORDER BY t.transactionDate DESC")
+    Stream<TransactionRow> streamByUserAndDateRange(
             @Param("user") User user,
             @Param("startDate") LocalDateTime startDate,
             @Param("endDate") LocalDateTime endDate);
 
-    @Query("SELECT t FROM Transaction t WHERE t.user = :user AND t.category = :category ORDER BY t.transactionDate DESC")
-    List<Transaction> findByUserAndCategory(
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE))
+    @Query(SELECT_ROW + "WHERE t.user = :user AND t.category = :category ORDER BY t.transactionDate DESC")
+    Stream<TransactionRow> streamByUserAndCategory(
             @Param("user") User user,
             @Param("category") String category);
 
@@ -39,4 +105,35 @@ public interface TransactionRepository extends JpaRepository<Transaction, UUID>
             @Param("category") String category,
             @Param("startDate") LocalDateTime startDate,
             @Param("endDate") LocalDateTime endDate);
-}
\ No newline at end of file
+
+    // Rebuild source for spending rollups: one row per category, day and type
+    @Query("SELECT new com.finbot.Beta.repository.projection.DailyTotalRow(" +
+            "t.category, CAST(t.transactionDate AS LocalDate), t.type, SUM(t.amount), COUNT(t)) " +
+            "FROM Transaction t WHERE t.user = :user " +
+            "GROUP BY t.category, CAST(t.transactionDate AS LocalDate), t.type")
+    List<DailyTotalRow> sumDailyTotalsByUser(@Param("user") User user);
+
+    // Reconciliation source for budget period buckets: categorized debits per user, category and day
+    @Query("SELECT new com.finbot.Beta.repository.projection.CategoryDayTotalRow(" +
+            "t.user.id, t.category, CAST(t.transactionDate AS LocalDate), SUM(t.amount)) " +
+            "FROM Transaction t WHERE t.user.id IN :userIds AND t.category IS NOT NULL " +
+            "AND t.type = com.finbot.Beta.entity.TransactionType.DEBIT " +
+            "GROUP BY t.user.id, t.category, CAST(t.transactionDate AS LocalDate)")
+    List<CategoryDayTotalRow> sumDailyDebitsByUsers(@Param("userIds") Collection<UUID> userIds);
+
+    // Ledger audit stream for one account, in the order the balance chain was written: single writes
+    // chain in commit order (createdAt), a batch chains its rows by transaction date
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE))
+    @Query("SELECT new com.finbot.Beta.repository.projection.LedgerEntryRow(" +
+            "t.id, t.amount, t.type, t.previousBalance, t.newBalance) " +
+            "FROM Transaction t WHERE t.bankAccount.id = :bankAccountId " +
+            "ORDER BY t.createdAt, t.transactionDate, t.id")
+    Stream<LedgerEntryRow> streamLedgerByBankAccount(@Param("bankAccountId") UUID bankAccountId);
+
+    // Analytics load for one user; only the columns the engine keeps, in no particular order
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE))
+    @Query("SELECT new com.finbot.Beta.repository.projection.TransactionFactRow(" +
+            "t.transactionDate, t.amount, t.type, t.category, t.bankAccount.id) " +
+            "FROM Transaction t WHERE t.user.id = :userId")
+    Stream<TransactionFactRow> streamFactsByUser(@Param("userId") UUID userId);
+}
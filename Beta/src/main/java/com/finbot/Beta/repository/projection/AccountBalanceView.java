@@ -0,0 +1,11 @@
+package com.finbot.Beta.repository.projection;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * Slim read of a bank account's name and balance, used right after a balance mutation
+ * so the write path does not have to load the whole entity.
+ */
+public record AccountBalanceView(UUID id, String name, BigDecimal balance) {
+}
@@ -0,0 +1,15 @@
+package com.finbot.Beta.repository.projection;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * A budget's stored current_spent next to what it should be: the debits in its category and window,
+ * and the part of those still waiting in the outbox that BudgetSpendingAggregator will add later.
+ */
+public record BudgetReconciliationRow(UUID id, BigDecimal currentSpent, BigDecimal recordedSpend, BigDecimal pendingSpend) {
+
+    public BigDecimal expectedSpent() {
+        return recordedSpend.subtract(pendingSpend);
+    }
+}
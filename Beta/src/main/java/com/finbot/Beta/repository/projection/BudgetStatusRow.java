@@ -0,0 +1,15 @@
+package com.finbot.Beta.repository.projection;
+
+import com.finbot.Beta.entity.BudgetPeriod;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * An active budget with the debits actually recorded in its category during its current period,
+ * within its date window, summed by the database in the same statement that reads the budget.
+ */
+public record BudgetStatusRow(UUID id, String name, String category, BigDecimal amount, BudgetPeriod period,
+                              LocalDate startDate, LocalDate endDate, BigDecimal spent) {
+}
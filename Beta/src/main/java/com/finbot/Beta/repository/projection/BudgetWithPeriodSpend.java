@@ -0,0 +1,11 @@
+package com.finbot.Beta.repository.projection;
+
+import com.finbot.Beta.entity.Budget;
+
+import java.math.BigDecimal;
+
+/**
+ * A budget together with the spend in its current period bucket, or null when nothing was spent yet.
+ */
+public record BudgetWithPeriodSpend(Budget budget, BigDecimal periodSpent) {
+}
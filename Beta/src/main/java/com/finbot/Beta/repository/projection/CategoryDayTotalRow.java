@@ -0,0 +1,11 @@
+package com.finbot.Beta.repository.projection;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Debits of one user in one category on one day; the source for recomputing budget period buckets.
+ */
+public record CategoryDayTotalRow(UUID userId, String category, LocalDate day, BigDecimal total) {
+}
@@ -0,0 +1,12 @@
+package com.finbot.Beta.repository.projection;
+
+import com.finbot.Beta.entity.TransactionType;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Transactions of one user summed per category, day and type; the source for rebuilding rollups.
+ */
+public record DailyTotalRow(String category, LocalDate day, TransactionType type, BigDecimal total, long count) {
+}
@@ -0,0 +1,14 @@
+package com.finbot.Beta.repository.projection;
+
+import com.finbot.Beta.entity.TransactionType;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * The columns the ledger audit needs from one transaction: enough to check its own arithmetic
+ * and its link to the transaction before it.
+ */
+public record LedgerEntryRow(UUID id, BigDecimal amount, TransactionType type,
+                             BigDecimal previousBalance, BigDecimal newBalance) {
+}
@@ -0,0 +1,14 @@
+package com.finbot.Beta.repository.projection;
+
+import com.finbot.Beta.entity.TransactionType;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * The columns the in-memory analytics engine keeps for one transaction.
+ */
+public record TransactionFactRow(LocalDateTime transactionDate, BigDecimal amount, TransactionType type,
+                                 String category, UUID bankAccountId) {
+}
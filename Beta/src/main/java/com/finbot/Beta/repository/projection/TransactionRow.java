@@ -0,0 +1,26 @@
+package com.finbot.Beta.repository.projection;
+
+import com.finbot.Beta.entity.TransactionType;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Read-side view of a transaction with exactly the columns the API returns, selected in one
+ * query with a single join to the bank account (the user id comes from the foreign key).
+ */
+public record TransactionRow(
+        UUID id,
+        UUID userId,
+        UUID bankAccountId,
+        String bankAccountName,
+        BigDecimal amount,
+        TransactionType type,
+        String category,
+        String description,
+        LocalDateTime transactionDate,
+        BigDecimal previousBalance,
+        BigDecimal newBalance,
+        LocalDateTime createdAt) {
+}
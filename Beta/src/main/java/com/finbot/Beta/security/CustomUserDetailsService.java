@@ -15,10 +15,12 @@ import java.util.UUID;
 public class CustomUserDetailsService implements UserDetailsService {
 
     private final UserRepository userRepository;
+    private final PrincipalCache principalCache;
 
     @Override
     public UserDetails loadUserByUsername(String userId) throws UsernameNotFoundException {
-        User user = userRepository.findById(UUID.fromString(userId))
+        // Served from the principal cache on every request after the first
+        User user = principalCache.get(UUID.fromString(userId), userRepository::findById)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found with id: " + userId));
 
         // Return CustomUserDetails which wraps the User entity
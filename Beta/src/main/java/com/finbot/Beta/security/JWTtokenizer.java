@@ -1,31 +1,146 @@
 package com.finbot.Beta.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.LocatorAdapter;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
 @Component
 public class JWTtokenizer {
 
+    // Principal attributes embedded when jwt.claims-principal.enabled is set
+    public static final String CLAIM_EMAIL = "email";
+    public static final String CLAIM_NAME = "name";
+    public static final String CLAIM_ACTIVE = "active";
+
     @Value("${jwt.secret:mySecretKeyForJWTTokenGenerationAndValidation12345678901234567890}")
     private String secret;
 
-    @Value("${jwt.expiration:86400000}") // 24 hours in milliseconds
+    @Value("${jwt.expiration:900000}") // 15 minutes in milliseconds; clients renew through the refresh token
     private Long expiration;
 
-    private SecretKey getSigningKey() {
-        byte[] keyBytes = secret.getBytes();
-        return Keys.hmacShaKeyFor(keyBytes);
+    // Signing keys as kid:secret pairs, e.g. "2025-06:old-secret,2025-09:new-secret"; empty means jwt.secret only
+    @Value("${jwt.keys:}")
+    private String keys;
+
+    // Key id new tokens are signed with; defaults to the last configured key
+    @Value("${jwt.active-kid:}")
+    private String activeKid;
+
+    @Value("${jwt.verified-cache.max-size:10000}")
+    private long verifiedCacheMaxSize;
+
+    // When enabled, login tokens carry email/name/active and the filter builds the principal from them
+    @Value("${jwt.claims-principal.enabled:false}")
+    private boolean claimsPrincipalEnabled;
+
+    private static final String DEFAULT_KID = "default";
+
+    // Built once; all immutable and thread-safe. Tokens carry the kid of the key that signed them, so
+    // rotating means adding a key, making it active, and dropping the old one after the token lifetime.
+    private Map<String, SecretKey> signingKeys;
+    private String signingKid;
+    private SecretKey signingKey;
+    private JwtParser jwtParser;
+
+    // Claims of tokens that already passed signature verification, keyed by SHA-256 of the token.
+    // Entries expire with the token itself, so a cached token is never accepted past its exp claim.
+    private Cache<String, Claims> verifiedTokens;
+
+    @PostConstruct
+    void init() {
+        signingKeys = parseKeys();
+        signingKid = activeKid != null && !activeKid.isBlank()
+                ? activeKid
+                : signingKeys.keySet().stream().reduce((first, second) -> second).orElseThrow();
+        signingKey = signingKeys.get(signingKid);
+        if (signingKey == null) {
+            throw new IllegalStateException("jwt.active-kid does not name a configured key: " + signingKid);
+        }
+        jwtParser = Jwts.parser()
+                .keyLocator(new LocatorAdapter<Key>() {
+                    @Override
+                    protected Key locate(JwsHeader header) {
+                        // Tokens issued before key ids were introduced carry none and were signed with the active key
+                        String kid = header.getKeyId() != null ? header.getKeyId() : signingKid;
+                        SecretKey key = signingKeys.get(kid);
+                        if (key == null) {
+                            throw new JwtException("Unknown signing key id");
+                        }
+                        return key;
+                    }
+                })
+                .build();
+        verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(verifiedCacheMaxSize)
+                .expireAfter(new Expiry<String, Claims>() {
+                    @Override
+                    public long expireAfterCreate(String key, Claims claims, long currentTime) {
+                        return remainingNanos(claims);
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, Claims claims, long currentTime, long currentDuration) {
+                        return remainingNanos(claims);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, Claims claims, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
+
+    /**
+     * Verifies signature and expiry and returns the claims, parsing the token at most once while it
+     * stays cached. Invalid tokens are never cached, so they cannot crowd out valid ones.
+     */
+    public Optional<Claims> verifyToken(String token) {
+        String key = hash(token);
+        Claims cached = verifiedTokens.getIfPresent(key);
+        if (cached != null) {
+            // Expiry is also enforced by the cache; this guards the gap before eviction runs
+            return isExpired(cached) ? Optional.empty() : Optional.of(cached);
+        }
+
+        try {
+            // The parser rejects bad signatures and expired tokens; tokens without an expiry are not accepted
+            Claims claims = jwtParser.parseSignedClaims(token).getPayload();
+            if (claims.getExpiration() == null) {
+                return Optional.empty();
+            }
+            verifiedTokens.put(key, claims);
+            return Optional.of(claims);
+        } catch (JwtException | IllegalArgumentException e) {
+            return Optional.empty();
+        }
     }
 
     // Extract user ID from token
@@ -46,11 +161,8 @@ public class JWTtokenizer {
 
     // Extract all claims from token
     private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        return verifyToken(token)
+                .orElseGet(() -> jwtParser.parseSignedClaims(token).getPayload()); // rethrows the parse failure
     }
 
     // Check if token is expired
@@ -69,29 +181,72 @@ public class JWTtokenizer {
         return createToken(extraClaims, userId);
     }
 
+    // Access token lifetime, reported to clients as expires_in
+    public long getExpirationSeconds() {
+        return expiration / 1000;
+    }
+
+    public boolean isClaimsPrincipalEnabled() {
+        return claimsPrincipalEnabled;
+    }
+
     // Create JWT token
     private String createToken(Map<String, Object> claims, String subject) {
         return Jwts.builder()
+                .header().keyId(signingKid).and()
                 .setClaims(claims)
                 .setSubject(subject)
                 .setIssuedAt(new Date(System.currentTimeMillis()))
                 .setExpiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+                .signWith(signingKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
     // Validate token against user details
     public Boolean validateToken(String token, UserDetails userDetails) {
-        final String userId = extractUserId(token);
-        return (userId.equals(userDetails.getUsername()) && !isTokenExpired(token));
+        return verifyToken(token)
+                .map(claims -> claims.getSubject().equals(userDetails.getUsername()))
+                .orElse(false);
     }
 
     // Validate token
     public Boolean validateToken(String token) {
+        return verifyToken(token).isPresent();
+    }
+
+    private Map<String, SecretKey> parseKeys() {
+        Map<String, SecretKey> parsed = new LinkedHashMap<>();
+        if (keys == null || keys.isBlank()) {
+            parsed.put(DEFAULT_KID, Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8)));
+            return Collections.unmodifiableMap(parsed);
+        }
+        for (String entry : keys.split(",")) {
+            int separator = entry.indexOf(':');
+            if (separator <= 0) {
+                throw new IllegalStateException("jwt.keys entries must be kid:secret");
+            }
+            parsed.put(entry.substring(0, separator).trim(),
+                    Keys.hmacShaKeyFor(entry.substring(separator + 1).trim().getBytes(StandardCharsets.UTF_8)));
+        }
+        return Collections.unmodifiableMap(parsed);
+    }
+
+    private boolean isExpired(Claims claims) {
+        return claims.getExpiration().getTime() <= System.currentTimeMillis();
+    }
+
+    private long remainingNanos(Claims claims) {
+        long remainingMillis = claims.getExpiration().getTime() - System.currentTimeMillis();
+        return TimeUnit.MILLISECONDS.toNanos(Math.max(0, remainingMillis));
+    }
+
+    private String hash(String token) {
         try {
-            return !isTokenExpired(token);
-        } catch (Exception e) {
-            return false;
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            // Every JVM is required to provide SHA-256
+            throw new IllegalStateException(e);
         }
     }
 }
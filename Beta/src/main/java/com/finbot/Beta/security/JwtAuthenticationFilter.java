@@ -1,5 +1,7 @@
 package com.finbot.Beta.security;
 
+import com.finbot.Beta.entity.User;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -17,6 +19,7 @@ import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.UUID;
 
 @Slf4j
 @Component
@@ -25,6 +28,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JWTtokenizer jwtTokenizer;
     private final CustomUserDetailsService userDetailsService;
+    private final TokenRevocationRegistry tokenRevocationRegistry;
 
     @Override
     protected void doFilterInternal(
@@ -42,17 +46,33 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             if (StringUtils.hasText(jwt)) {
                 log.debug("Attempting to validate JWT token");
 
-                // First validate the token structure and signature
-                if (jwtTokenizer.validateToken(jwt)) {
+                // Validate signature and expiry and read the claims in one pass (cached for repeat tokens)
+                Claims claims = jwtTokenizer.verifyToken(jwt).orElse(null);
+                if (claims != null) {
                     log.debug("JWT token is valid");
 
                     // Extract user ID from token
-                    String userId = jwtTokenizer.extractUserId(jwt);
+                    String userId = claims.getSubject();
                     log.debug("Extracted user ID from token: {}", userId);
 
-                    // Load user details
-                    UserDetails userDetails = userDetailsService.loadUserByUsername(userId);
-                    log.debug("User details loaded for userId: {}", userId);
+                    // Revoked tokens (password/email change, deleted user) are rejected without a lookup
+                    if (tokenRevocationRegistry.isRevoked(UUID.fromString(userId), claims.getIssuedAt())) {
+                        log.warn("JWT token revoked for user: {}", userId);
+                        filterChain.doFilter(request, response);
+                        return;
+                    }
+
+                    // Build the principal from the token when it carries it, otherwise load user details
+                    UserDetails userDetails = principalFromClaims(claims);
+                    if (userDetails == null) {
+                        userDetails = userDetailsService.loadUserByUsername(userId);
+                        log.debug("User details loaded for userId: {}", userId);
+                    }
+                    if (!userDetails.isEnabled()) {
+                        log.warn("User is inactive: {}", userId);
+                        filterChain.doFilter(request, response);
+                        return;
+                    }
 
                     // Create authentication object
                     UsernamePasswordAuthenticationToken authentication =
@@ -82,6 +102,20 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    // Only tokens issued in claims-principal mode carry the email claim; older tokens fall back to a lookup
+    private UserDetails principalFromClaims(Claims claims) {
+        if (!jwtTokenizer.isClaimsPrincipalEnabled() || claims.get(JWTtokenizer.CLAIM_EMAIL) == null) {
+            return null;
+        }
+        User user = User.builder()
+                .id(UUID.fromString(claims.getSubject()))
+                .email(claims.get(JWTtokenizer.CLAIM_EMAIL, String.class))
+                .name(claims.get(JWTtokenizer.CLAIM_NAME, String.class))
+                .isActive(!Boolean.FALSE.equals(claims.get(JWTtokenizer.CLAIM_ACTIVE, Boolean.class)))
+                .build();
+        return new CustomUserDetails(user);
+    }
+
     private String getJwtFromRequest(HttpServletRequest request) {
         String bearerToken = request.getHeader("Authorization");
         if (StringUtils.hasText(bearerToken) && bearerToken.startsWith("Bearer ")) {
@@ -0,0 +1,182 @@
+package com.finbot.Beta.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Counts failed logins per email and per client IP over a sliding window of security.lockout.duration
+ * seconds. An identity with security.lockout.attempts failures (security.lockout.ip-attempts for an IP)
+ * inside the window is locked until the oldest of those failures leaves it, and loginUser checks this
+ * before the user lookup and the BCrypt comparison, so a credential-stuffing flood costs no hashing.
+ *
+ * <p>Failures are always kept in memory; with security.lockout.redis.enabled they are also recorded in
+ * a Redis sorted set per identity, so a lockout holds across nodes. If Redis is unreachable the
+ * node-local windows still apply.
+ */
+@Slf4j
+@Component
+public class LoginAttemptTracker {
+
+    private static final String KEY_PREFIX = "login:failures:";
+
+    // Trims the window and returns how long the identity stays locked in ms, or -1 when it is not locked
+    private static final RedisScript<Long> LOCKED_FOR_SCRIPT = new DefaultRedisScript<>("""
+            local window_ms = tonumber(ARGV[1])
+            local threshold = tonumber(ARGV[2])
+            local time = redis.call('TIME')
+            local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+            redis.call('ZREMRANGEBYSCORE', KEYS[1], '-inf', now - window_ms)
+            local count = redis.call('ZCARD', KEYS[1])
+            if count < threshold then
+                return -1
+            end
+            local oldest = redis.call('ZRANGE', KEYS[1], count - threshold, count - threshold, 'WITHSCORES')
+            return tonumber(oldest[2]) + window_ms - now
+            """, Long.class);
+
+    private static final RedisScript<Long> RECORD_FAILURE_SCRIPT = new DefaultRedisScript<>("""
+            local window_ms = tonumber(ARGV[1])
+            local time = redis.call('TIME')
+            local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+            redis.call('ZADD', KEYS[1], now, ARGV[2])
+            redis.call('ZREMRANGEBYSCORE', KEYS[1], '-inf', now - window_ms)
+            redis.call('ZREMRANGEBYRANK', KEYS[1], 0, -(tonumber(ARGV[3]) + 1))
+            redis.call('PEXPIRE', KEYS[1], window_ms)
+            return redis.call('ZCARD', KEYS[1])
+            """, Long.class);
+
+    private final int emailThreshold;
+    private final int ipThreshold;
+    private final Duration window;
+    private final Cache<String, Deque<Long>> failures;
+    private final StringRedisTemplate redisTemplate;
+
+    public LoginAttemptTracker(
+            ObjectProvider<StringRedisTemplate> redisTemplate,
+            @Value("${security.lockout.attempts:5}") int emailThreshold,
+            @Value("${security.lockout.ip-attempts:50}") int ipThreshold,
+            @Value("${security.lockout.duration:900}") long windowSeconds,
+            @Value("${security.lockout.max-keys:100000}") long maxKeys,
+            @Value("${security.lockout.redis.enabled:false}") boolean redisEnabled) {
+        this.emailThreshold = emailThreshold;
+        this.ipThreshold = ipThreshold;
+        this.window = Duration.ofSeconds(windowSeconds);
+        // A key idle for a whole window has no failures left in it
+        this.failures = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterAccess(window)
+                .build();
+        this.redisTemplate = redisEnabled ? redisTemplate.getIfAvailable() : null;
+    }
+
+    /**
+     * Remaining lockout for the email or the IP, whichever is longer; empty when a login may proceed.
+     */
+    public Optional<Duration> lockedFor(String email, String clientIp) {
+        long remainingMillis = Math.max(
+                lockedForMillis(emailKey(email), emailThreshold),
+                clientIp != null ? lockedForMillis(ipKey(clientIp), ipThreshold) : -1);
+        return remainingMillis > 0 ? Optional.of(Duration.ofMillis(remainingMillis)) : Optional.empty();
+    }
+
+    public void recordFailure(String email, String clientIp) {
+        recordFailure(emailKey(email), emailThreshold);
+        if (clientIp != null) {
+            recordFailure(ipKey(clientIp), ipThreshold);
+        }
+    }
+
+    /**
+     * Clears the email's failures after a successful login. The IP window is left alone, so one valid
+     * account does not unlock an address that is cycling through others.
+     */
+    public void recordSuccess(String email) {
+        String key = emailKey(email);
+        failures.invalidate(key);
+        if (redisTemplate != null) {
+            try {
+                redisTemplate.delete(KEY_PREFIX + key);
+            } catch (DataAccessException e) {
+                log.warn("Could not clear shared login failures: {}", e.getMessage());
+            }
+        }
+    }
+
+    private long lockedForMillis(String key, int threshold) {
+        long remaining = -1;
+        Deque<Long> local = failures.getIfPresent(key);
+        if (local != null) {
+            synchronized (local) {
+                long now = System.currentTimeMillis();
+                trim(local, now);
+                if (local.size() >= threshold) {
+                    remaining = local.peekFirst() + window.toMillis() - now;
+                }
+            }
+        }
+        if (remaining > 0 || redisTemplate == null) {
+            return remaining;
+        }
+        try {
+            Long shared = redisTemplate.execute(LOCKED_FOR_SCRIPT, List.of(KEY_PREFIX + key),
+                    Long.toString(window.toMillis()), Integer.toString(threshold));
+            return shared != null ? shared : -1;
+        } catch (DataAccessException e) {
+            log.warn("Could not read shared login failures, using node-local lockout: {}", e.getMessage());
+            return remaining;
+        }
+    }
+
+    private void recordFailure(String key, int threshold) {
+        Deque<Long> local = failures.get(key, k -> new ArrayDeque<>());
+        synchronized (local) {
+            long now = System.currentTimeMillis();
+            trim(local, now);
+            local.addLast(now);
+            // Only the newest threshold failures decide the lockout
+            while (local.size() > threshold) {
+                local.pollFirst();
+            }
+        }
+        if (redisTemplate == null) {
+            return;
+        }
+        try {
+            redisTemplate.execute(RECORD_FAILURE_SCRIPT, List.of(KEY_PREFIX + key),
+                    Long.toString(window.toMillis()), UUID.randomUUID().toString(), Integer.toString(threshold));
+        } catch (DataAccessException e) {
+            log.warn("Could not record shared login failure: {}", e.getMessage());
+        }
+    }
+
+    private void trim(Deque<Long> timestamps, long now) {
+        long cutoff = now - window.toMillis();
+        while (!timestamps.isEmpty() && timestamps.peekFirst() <= cutoff) {
+            timestamps.pollFirst();
+        }
+    }
+
+    private static String emailKey(String email) {
+        return "email:" + (email == null ? "" : email.trim().toLowerCase(Locale.ROOT));
+    }
+
+    private static String ipKey(String clientIp) {
+        return "ip:" + clientIp;
+    }
+}
@@ -0,0 +1,48 @@
+package com.finbot.Beta.security;
+
+import com.finbot.Beta.entity.User;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * In-process cache of authenticated users, so resolving the principal for a request does not hit the
+ * users table. Writes through UserServiceImpl invalidate the affected entry; the TTL bounds how long
+ * another node can serve a stale copy. Hit/miss counts are published as cache.gets{cache=security.principal}.
+ */
+@Component
+public class PrincipalCache {
+
+    private final Cache<UUID, User> users;
+
+    public PrincipalCache(
+            MeterRegistry meterRegistry,
+            @Value("${security.principal-cache.max-size:10000}") long maxSize,
+            @Value("${security.principal-cache.ttl-seconds:300}") long ttlSeconds) {
+        this.users = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, users, "security.principal");
+    }
+
+    /**
+     * Returns the cached user or loads it; users that do not exist are not cached.
+     */
+    public Optional<User> get(UUID userId, Function<UUID, Optional<User>> loader) {
+        return Optional.ofNullable(users.get(userId, id -> loader.apply(id).orElse(null)));
+    }
+
+    public void invalidate(UUID userId) {
+        users.invalidate(userId);
+    }
+}
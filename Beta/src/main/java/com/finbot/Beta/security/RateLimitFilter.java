@@ -0,0 +1,84 @@
+package com.finbot.Beta.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.finbot.Beta.Dto.ErrorResponseDto;
+import io.jsonwebtoken.Claims;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+
+/**
+ * Rejects requests over the rate limit with 429 before authentication or any database work runs.
+ * Requests with a valid token are limited per user, all others per client IP, so users behind a
+ * shared address do not throttle each other. Every request also draws on its address's total, set
+ * well above the per-user limit, so one client cycling through tokens or accounts is still throttled.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final RateLimiter rateLimiter;
+    private final JWTtokenizer jwtTokenizer;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+
+        String address = request.getRemoteAddr();
+        String key;
+        if (rateLimiter.tryAcquireAddress(address)) {
+            key = resolveKey(request);
+            if (rateLimiter.tryAcquire(key)) {
+                filterChain.doFilter(request, response);
+                return;
+            }
+        } else {
+            key = RateLimiter.addressKey(address);
+        }
+
+        log.debug("Rate limit exceeded for {}", key);
+        ErrorResponseDto error = ErrorResponseDto.builder()
+                .message("RATE_LIMIT_EXCEEDED")
+                .details("Too many requests, try again later")
+                .status(HttpStatus.TOO_MANY_REQUESTS.value()) // 429
+                .timestamp(LocalDateTime.now())
+                .build();
+
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(rateLimiter.retryAfterSeconds(key)));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), error);
+    }
+
+    // Token verification is cached by JWTtokenizer, so this adds no signature check for repeat tokens
+    private String resolveKey(HttpServletRequest request) {
+        String bearerToken = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (StringUtils.hasText(bearerToken) && bearerToken.startsWith("Bearer ")) {
+            String subject = jwtTokenizer.verifyToken(bearerToken.substring(7))
+                    .map(Claims::getSubject)
+                    .orElse(null);
+            if (subject != null) {
+                return "user:" + subject;
+            }
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+}
@@ -0,0 +1,159 @@
+package com.finbot.Beta.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Enforces security.rate.limit.requests per security.rate.limit.duration seconds for each key, and
+ * security.rate.limit.address-requests over the same duration for each client address in total.
+ *
+ * <p>Every decision is made against a node-local {@link TokenBucket}, so the request path never waits
+ * on Redis. Every security.rate.limit.sync-interval-ms the tokens consumed on this node are applied to
+ * the shared bucket in Redis by one atomic script per key, and the local bucket adopts the shared
+ * level. Across nodes the limit can therefore be overshot by at most what the other nodes consume
+ * within one sync interval. Without Redis (disabled or unreachable) each node enforces the limit alone.
+ */
+@Slf4j
+@Component
+public class RateLimiter {
+
+    private static final String KEY_PREFIX = "ratelimit:";
+    private static final String ADDRESS_PREFIX = "addr:";
+
+    // Refills the shared bucket by elapsed server time, subtracts the tokens a node consumed and
+    // returns the remaining level. Uses Redis TIME so node clocks never need to agree.
+    private static final RedisScript<String> RECONCILE_SCRIPT = new DefaultRedisScript<>("""
+            local capacity = tonumber(ARGV[1])
+            local tokens_per_ms = tonumber(ARGV[2])
+            local consumed = tonumber(ARGV[3])
+            local ttl_ms = tonumber(ARGV[4])
+            local time = redis.call('TIME')
+            local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+            local state = redis.call('HMGET', KEYS[1], 'tokens', 'ts')
+            local tokens = tonumber(state[1]) or capacity
+            local ts = tonumber(state[2]) or now
+            tokens = math.min(capacity, tokens + math.max(0, now - ts) * tokens_per_ms)
+            tokens = math.max(0, tokens - consumed)
+            redis.call('HSET', KEYS[1], 'tokens', tostring(tokens), 'ts', now)
+            redis.call('PEXPIRE', KEYS[1], ttl_ms)
+            return tostring(tokens)
+            """, String.class);
+
+    private final long capacity;
+    private final long addressCapacity;
+    private final Duration refillPeriod;
+    private final Cache<String, TokenBucket> buckets;
+    private final StringRedisTemplate redisTemplate;
+    private final Counter rejected;
+    private volatile boolean redisAvailable = true;
+
+    public RateLimiter(
+            ObjectProvider<StringRedisTemplate> redisTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${security.rate.limit.requests:10}") long capacity,
+            @Value("${security.rate.limit.address-requests:100}") long addressCapacity,
+            @Value("${security.rate.limit.duration:60}") long durationSeconds,
+            @Value("${security.rate.limit.max-keys:100000}") long maxKeys,
+            @Value("${security.rate.limit.redis.enabled:false}") boolean redisEnabled) {
+        this.capacity = capacity;
+        this.addressCapacity = addressCapacity;
+        this.refillPeriod = Duration.ofSeconds(durationSeconds);
+        // An idle bucket is full again after one period, so dropping it then loses nothing
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterAccess(refillPeriod)
+                .build();
+        this.redisTemplate = redisEnabled ? redisTemplate.getIfAvailable() : null;
+        this.rejected = Counter.builder("security.rate_limit.rejected")
+                .description("Requests rejected by the rate limiter")
+                .register(meterRegistry);
+    }
+
+    public boolean tryAcquire(String key) {
+        return tryAcquire(key, capacity);
+    }
+
+    /**
+     * Charges the shared bucket of a client address, which every request from it draws on whoever
+     * it authenticates as.
+     */
+    public boolean tryAcquireAddress(String address) {
+        return tryAcquire(addressKey(address), addressCapacity);
+    }
+
+    public static String addressKey(String address) {
+        return ADDRESS_PREFIX + address;
+    }
+
+    /**
+     * Whole seconds until the key may send another request, for the Retry-After header.
+     */
+    public long retryAfterSeconds(String key) {
+        Duration wait = bucket(key).timeUntilNextToken();
+        return Math.max(1, (wait.toMillis() + 999) / 1000);
+    }
+
+    @Scheduled(fixedDelayString = "${security.rate.limit.sync-interval-ms:1000}")
+    public void reconcile() {
+        if (redisTemplate == null) {
+            return;
+        }
+        String ttlMillis = Long.toString(refillPeriod.toMillis() * 2);
+
+        for (Map.Entry<String, TokenBucket> entry : buckets.asMap().entrySet()) {
+            TokenBucket bucket = entry.getValue();
+            if (!bucket.hasUnsyncedConsumption()) {
+                continue;
+            }
+            long consumed = bucket.drainConsumed();
+            double tokensPerMilli = (double) bucket.capacity() / refillPeriod.toMillis();
+            try {
+                String shared = redisTemplate.execute(RECONCILE_SCRIPT, List.of(KEY_PREFIX + entry.getKey()),
+                        Long.toString(bucket.capacity()), Double.toString(tokensPerMilli), Long.toString(consumed), ttlMillis);
+                if (shared != null) {
+                    bucket.reconcile(Double.parseDouble(shared));
+                }
+                redisAvailable = true;
+            } catch (DataAccessException e) {
+                if (redisAvailable) {
+                    log.warn("Rate limit reconciliation failed, enforcing limits per node: {}", e.getMessage());
+                    redisAvailable = false;
+                }
+                // Keep the drained count so it reaches the shared bucket once Redis recovers
+                bucket.restoreConsumed(consumed);
+                return;
+            }
+        }
+    }
+
+    private boolean tryAcquire(String key, long limit) {
+        if (bucket(key, limit).tryConsume()) {
+            return true;
+        }
+        rejected.increment();
+        return false;
+    }
+
+    private TokenBucket bucket(String key) {
+        return bucket(key, key.startsWith(ADDRESS_PREFIX) ? addressCapacity : capacity);
+    }
+
+    private TokenBucket bucket(String key, long limit) {
+        return buckets.get(key, k -> new TokenBucket(limit, refillPeriod));
+    }
+}
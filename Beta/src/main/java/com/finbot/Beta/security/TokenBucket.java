@@ -0,0 +1,91 @@
+package com.finbot.Beta.security;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free token bucket: the state is an immutable snapshot swapped by CAS, so concurrent requests
+ * for the same key never block each other. Tokens consumed since the last reconciliation are counted
+ * separately so RateLimiter can report them to the shared bucket in Redis.
+ */
+final class TokenBucket {
+
+    private record State(double tokens, long refilledAt) {
+    }
+
+    private final long capacity;
+    private final double tokensPerNano;
+    private final AtomicReference<State> state;
+    private final LongAdder consumedSinceSync = new LongAdder();
+
+    TokenBucket(long capacity, Duration refillPeriod) {
+        this.capacity = capacity;
+        this.tokensPerNano = (double) capacity / refillPeriod.toNanos();
+        this.state = new AtomicReference<>(new State(capacity, System.nanoTime()));
+    }
+
+    boolean tryConsume() {
+        long now = System.nanoTime();
+        while (true) {
+            State current = state.get();
+            double available = refill(current, now);
+            if (available < 1) {
+                return false;
+            }
+            if (state.compareAndSet(current, new State(available - 1, now))) {
+                consumedSinceSync.increment();
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Time until the next token is available, zero if one is available now.
+     */
+    Duration timeUntilNextToken() {
+        double missing = 1 - refill(state.get(), System.nanoTime());
+        return missing <= 0 ? Duration.ZERO : Duration.ofNanos((long) Math.ceil(missing / tokensPerNano));
+    }
+
+    /**
+     * Returns and resets the number of tokens consumed locally since the previous call.
+     */
+    long drainConsumed() {
+        return consumedSinceSync.sumThenReset();
+    }
+
+    /**
+     * Puts back a drained count that could not be reported, so the next sync sends it again.
+     */
+    void restoreConsumed(long consumed) {
+        consumedSinceSync.add(consumed);
+    }
+
+    /**
+     * Adopts the shared bucket's level, minus whatever was consumed locally after the drain that produced it.
+     */
+    void reconcile(double sharedTokens) {
+        long now = System.nanoTime();
+        while (true) {
+            // Retry when a request consumed concurrently, so its token is subtracted rather than overwritten
+            State current = state.get();
+            double adjusted = Math.max(0, Math.min(capacity, sharedTokens - consumedSinceSync.sum()));
+            if (state.compareAndSet(current, new State(adjusted, now))) {
+                return;
+            }
+        }
+    }
+
+    long capacity() {
+        return capacity;
+    }
+
+    boolean hasUnsyncedConsumption() {
+        return consumedSinceSync.sum() > 0;
+    }
+
+    private double refill(State current, long now) {
+        return Math.min(capacity, current.tokens() + (now - current.refilledAt()) * tokensPerNano);
+    }
+}
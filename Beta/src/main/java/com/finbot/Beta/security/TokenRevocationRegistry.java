@@ -0,0 +1,115 @@
+package com.finbot.Beta.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.UUID;
+
+/**
+ * Per-user "tokens issued before" cut-offs, checked on every authenticated request without touching
+ * the database. A revocation invalidates every token of the user issued before the current second.
+ * JWT iat has second precision, so tokens issued in the same second as the revocation are accepted:
+ * that keeps the re-login that usually follows a logout or password change working, at the cost of
+ * a token minted within that one-second window surviving the revocation.
+ *
+ * <p>Entries only need to outlive the tokens they reject, so they expire after {@code jwt.expiration}
+ * and the set stays as small as the number of users revoked within one token lifetime. With
+ * {@code security.revocation.redis.enabled} each revocation is also stored in Redis and published on
+ * {@link #CHANNEL}; other nodes apply it through {@link #applyRemote(String)} and load the stored
+ * ones on startup. If Redis is unreachable, revocations stay node-local.
+ */
+@Slf4j
+@Component
+public class TokenRevocationRegistry {
+
+    public static final String CHANNEL = "auth:revocations";
+    private static final String KEY_PREFIX = "auth:revoked:";
+
+    private final Cache<UUID, Long> revokedBefore;
+    private final Duration retention;
+    private final StringRedisTemplate redisTemplate;
+
+    public TokenRevocationRegistry(
+            ObjectProvider<StringRedisTemplate> redisTemplate,
+            @Value("${jwt.expiration:86400000}") long tokenLifetimeMillis,
+            @Value("${security.revocation.redis.enabled:false}") boolean redisEnabled) {
+        this.retention = Duration.ofMillis(tokenLifetimeMillis);
+        this.revokedBefore = Caffeine.newBuilder()
+                .expireAfterWrite(retention)
+                .build();
+        this.redisTemplate = redisEnabled ? redisTemplate.getIfAvailable() : null;
+    }
+
+    @PostConstruct
+    void loadShared() {
+        if (redisTemplate == null) {
+            return;
+        }
+        try (Cursor<String> keys = redisTemplate.scan(ScanOptions.scanOptions().match(KEY_PREFIX + "*").count(500).build())) {
+            keys.forEachRemaining(key -> {
+                String epochSecond = redisTemplate.opsForValue().get(key);
+                if (epochSecond != null) {
+                    apply(UUID.fromString(key.substring(KEY_PREFIX.length())), Long.parseLong(epochSecond));
+                }
+            });
+        } catch (DataAccessException e) {
+            log.warn("Could not load shared token revocations, continuing with node-local ones: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Rejects every token of the user issued before the current second, on this node and, when
+     * enabled, on the others.
+     */
+    public void revoke(UUID userId) {
+        long epochSecond = System.currentTimeMillis() / 1000;
+        apply(userId, epochSecond);
+
+        if (redisTemplate == null) {
+            return;
+        }
+        try {
+            redisTemplate.opsForValue().set(KEY_PREFIX + userId, Long.toString(epochSecond), retention);
+            redisTemplate.convertAndSend(CHANNEL, userId + ":" + epochSecond);
+        } catch (DataAccessException e) {
+            log.warn("Could not publish token revocation for user {}: {}", userId, e.getMessage());
+        }
+    }
+
+    public boolean isRevoked(UUID userId, Date issuedAt) {
+        Long cutoff = revokedBefore.getIfPresent(userId);
+        if (cutoff == null) {
+            return false;
+        }
+        // Tokens without iat cannot prove they were issued after the revocation
+        return issuedAt == null || issuedAt.getTime() / 1000 < cutoff;
+    }
+
+    /**
+     * Applies a revocation published by another node, formatted as {@code <userId>:<epochSecond>}.
+     */
+    public void applyRemote(String message) {
+        int separator = message.lastIndexOf(':');
+        try {
+            apply(UUID.fromString(message.substring(0, separator)), Long.parseLong(message.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            log.warn("Ignoring malformed token revocation message: {}", message);
+        }
+    }
+
+    private void apply(UUID userId, long epochSecond) {
+        // Keep the latest cut-off when revocations race across nodes
+        revokedBefore.asMap().merge(userId, epochSecond, Math::max);
+    }
+}
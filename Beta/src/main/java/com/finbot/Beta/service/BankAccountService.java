@@ -2,7 +2,9 @@ package com.finbot.Beta.service;
 
 import com.finbot.Beta.Dto.request.BankAccountRequestDto;
 import com.finbot.Beta.Dto.response.BankAccountResponseDto;
+import com.finbot.Beta.entity.TransactionType;
 import com.finbot.Beta.entity.User;
+import com.finbot.Beta.repository.projection.AccountBalanceView;
 
 import java.math.BigDecimal;
 import java.util.List;
@@ -14,6 +16,6 @@ public interface BankAccountService {
     BankAccountResponseDto getBankAccount(User user, UUID accountId);
     BankAccountResponseDto updateBankAccount(User user, UUID accountId, BankAccountRequestDto request);
     void deleteBankAccount(User user, UUID accountId);
-    void updateBalance(UUID accountId, BigDecimal amount, String transactionType);
+    AccountBalanceView updateBalance(UUID userId, UUID accountId, BigDecimal amount, TransactionType transactionType);
 }
 
@@ -1,18 +1,23 @@
 package com.finbot.Beta.service;
 
 import com.finbot.Beta.Dto.request.BudgetRequestDto;
+import com.finbot.Beta.Dto.response.BudgetPeriodSpendDto;
 import com.finbot.Beta.Dto.response.BudgetResponseDto;
+import com.finbot.Beta.Dto.response.BudgetStatusDto;
 import com.finbot.Beta.entity.User;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.UUID;
 
 public interface BudgetService {
     BudgetResponseDto createBudget(User user, BudgetRequestDto request);
     List<BudgetResponseDto> getUserBudgets(User user);
+    List<BudgetStatusDto> getBudgetStatus(User user);
     BudgetResponseDto getBudget(User user, UUID budgetId);
+    List<BudgetPeriodSpendDto> getBudgetPeriods(User user, UUID budgetId, LocalDate from, LocalDate to);
     BudgetResponseDto updateBudget(User user, UUID budgetId, BudgetRequestDto request);
     void deleteBudget(User user, UUID budgetId);
-    void updateBudgetSpending(User user, String category, BigDecimal amount);
+    void enqueueBudgetSpending(User user, String category, BigDecimal amount, LocalDate transactionDate);
 }
@@ -0,0 +1,13 @@
+package com.finbot.Beta.service;
+
+import com.finbot.Beta.entity.User;
+import com.finbot.Beta.service.support.IssuedRefreshToken;
+
+import java.util.UUID;
+
+public interface RefreshTokenService {
+    IssuedRefreshToken issue(User user);
+    IssuedRefreshToken rotate(String refreshToken);
+    void revoke(String refreshToken);
+    void revokeAll(UUID userId);
+}
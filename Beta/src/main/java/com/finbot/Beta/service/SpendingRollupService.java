@@ -0,0 +1,19 @@
+package com.finbot.Beta.service;
+
+import com.finbot.Beta.Dto.response.SpendingSummaryResponseDto;
+import com.finbot.Beta.entity.SpendingRollupId;
+import com.finbot.Beta.entity.TransactionType;
+import com.finbot.Beta.entity.User;
+import com.finbot.Beta.service.support.SummaryGranularity;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
+
+public interface SpendingRollupService {
+    void prepare(Collection<SpendingRollupId> ids);
+    void record(User user, String category, LocalDate day, TransactionType type, BigDecimal amount, long count);
+    SpendingSummaryResponseDto getSummary(User user, SummaryGranularity granularity, LocalDate startDate,
+                                          LocalDate endDate, TransactionType type, String category);
+    int rebuild(User user);
+}
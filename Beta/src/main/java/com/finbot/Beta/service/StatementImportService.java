@@ -0,0 +1,13 @@
+package com.finbot.Beta.service;
+
+import com.finbot.Beta.Dto.response.ImportJobResponseDto;
+import com.finbot.Beta.entity.User;
+import com.finbot.Beta.service.statement.StatementFormat;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.util.UUID;
+
+public interface StatementImportService {
+    ImportJobResponseDto startImport(User user, UUID bankAccountId, MultipartFile file, StatementFormat format);
+    ImportJobResponseDto getImportJob(User user, UUID jobId);
+}
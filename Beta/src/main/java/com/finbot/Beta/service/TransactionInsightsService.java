@@ -0,0 +1,9 @@
+package com.finbot.Beta.service;
+
+import com.finbot.Beta.Dto.response.InsightsResponseDto;
+import com.finbot.Beta.entity.User;
+import com.finbot.Beta.service.analytics.AnalyticsQuery;
+
+public interface TransactionInsightsService {
+    InsightsResponseDto getInsights(User user, AnalyticsQuery query);
+}
@@ -1,8 +1,12 @@
 package com.finbot.Beta.service;
 
 import com.finbot.Beta.Dto.request.TransactionRequestDto;
+import com.finbot.Beta.Dto.response.TransactionBatchResponseDto;
+import com.finbot.Beta.Dto.response.TransactionFeedResponseDto;
 import com.finbot.Beta.Dto.response.TransactionResponseDto;
 import com.finbot.Beta.entity.User;
+import com.finbot.Beta.service.export.ExportFormat;
+import com.finbot.Beta.service.export.TransactionExport;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
@@ -12,9 +16,15 @@ import java.util.UUID;
 
 public interface TransactionService {
     TransactionResponseDto createTransaction(User user, TransactionRequestDto request);
+    TransactionResponseDto createTransaction(User user, TransactionRequestDto request, String idempotencyKey);
+    TransactionBatchResponseDto createTransactions(User user, List<TransactionRequestDto> requests);
     Page<TransactionResponseDto> getUserTransactions(User user, Pageable pageable);
+    TransactionFeedResponseDto getTransactionFeed(User user, String cursor, int size);
     List<TransactionResponseDto> getTransactionsByBankAccount(User user, UUID bankAccountId);
     List<TransactionResponseDto> getTransactionsByDateRange(User user, LocalDateTime startDate, LocalDateTime endDate);
     List<TransactionResponseDto> getTransactionsByCategory(User user, String category);
+    TransactionExport exportTransactionsByBankAccount(User user, UUID bankAccountId, ExportFormat format);
+    TransactionExport exportTransactionsByDateRange(User user, LocalDateTime startDate, LocalDateTime endDate, ExportFormat format);
+    TransactionExport exportTransactionsByCategory(User user, String category, ExportFormat format);
     TransactionResponseDto getTransaction(User user, UUID transactionId);
 }
@@ -11,6 +11,8 @@ import java.util.UUID;
 public interface UserService {
     UserResponseDto registerUser(SignupDto signupDto);
     AuthResponseDto loginUser(LoginDto loginDto);
+    AuthResponseDto refreshToken(String refreshToken);
+    void logout(String refreshToken);
     UserResponseDto updateAll(UUID userId, UpdatedUserDto updatedUserDto);
     UserResponseDto updateUserPassword(UUID userId, String newPassword);
     UserResponseDto updateUserEmail(UUID userId, String newEmail);
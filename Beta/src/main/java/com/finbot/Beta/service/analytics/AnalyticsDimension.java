@@ -0,0 +1,11 @@
+package com.finbot.Beta.service.analytics;
+
+/**
+ * What an analytics query groups by. WEEKDAY is the ISO day of week, MONTH a calendar month.
+ */
+public enum AnalyticsDimension {
+    CATEGORY,
+    WEEKDAY,
+    ACCOUNT,
+    MONTH
+}
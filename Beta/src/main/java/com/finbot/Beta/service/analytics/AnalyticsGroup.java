@@ -0,0 +1,9 @@
+package com.finbot.Beta.service.analytics;
+
+/**
+ * One group of an analytics result: the group key (category name, ISO weekday, account id or
+ * yyyy-MM month), the summed amount in {@link com.finbot.Beta.service.support.Money} units and the
+ * number of transactions.
+ */
+public record AnalyticsGroup(String key, long totalUnits, long count) {
+}
@@ -0,0 +1,14 @@
+package com.finbot.Beta.service.analytics;
+
+import com.finbot.Beta.entity.TransactionType;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * A group-by over one user's transactions. Null filters match everything; startDate and endDate
+ * are inclusive. limit keeps the groups with the largest totals, 0 keeps all of them.
+ */
+public record AnalyticsQuery(AnalyticsDimension groupBy, LocalDate startDate, LocalDate endDate,
+                             TransactionType type, String category, UUID bankAccountId, int limit) {
+}
@@ -0,0 +1,143 @@
+package com.finbot.Beta.service.analytics;
+
+import com.finbot.Beta.repository.TransactionRepository;
+import com.finbot.Beta.repository.projection.TransactionFactRow;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.Stream;
+
+/**
+ * Serves ad-hoc group-bys over a user's whole history from {@link TransactionColumns} kept in memory.
+ * A user's columns are loaded from one streamed query on first use, then kept current by appending
+ * each committed transaction, so repeat queries never touch the database. The cache is bounded by
+ * the total number of transactions it holds, analytics.max-rows, rather than by users, since one
+ * heavy user can outweigh thousands of light ones. Past that bound cold users are evicted, as is
+ * any user after analytics.idle-minutes without a query.
+ *
+ * <p>A load must not miss a write that commits while it streams. Writes are counted per stripe of
+ * users when they register and again when they complete; a load is only cached if no write on its
+ * stripe was in flight when it started and none registered before it was put in the cache. Anything
+ * committing after that finds the cached columns and appends to them.
+ */
+@Slf4j
+@Component
+public class TransactionAnalyticsEngine {
+
+    private static final int STRIPES = 64;
+
+    private final TransactionRepository transactionRepository;
+    private final TransactionTemplate readOnlyTemplate;
+    private final Cache<UUID, TransactionColumns> columns;
+    private final AtomicLongArray startedWrites = new AtomicLongArray(STRIPES);
+    private final AtomicLongArray finishedWrites = new AtomicLongArray(STRIPES);
+
+    public TransactionAnalyticsEngine(
+            TransactionRepository transactionRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${analytics.max-rows:2000000}") long maxRows,
+            @Value("${analytics.idle-minutes:30}") long idleMinutes) {
+        this.transactionRepository = transactionRepository;
+        this.readOnlyTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTemplate.setReadOnly(true);
+        this.columns = Caffeine.newBuilder()
+                .maximumWeight(maxRows)
+                // Re-weighed whenever appends replace the entry; an empty history still takes a slot
+                .weigher((UUID userId, TransactionColumns cached) -> Math.max(1, cached.size()))
+                .expireAfterAccess(Duration.ofMinutes(idleMinutes))
+                .build();
+    }
+
+    public List<AnalyticsGroup> query(UUID userId, AnalyticsQuery query) {
+        TransactionColumns cached = columns.getIfPresent(userId);
+        if (cached != null) {
+            return cached.query(query);
+        }
+
+        int stripe = stripe(userId);
+        long started = startedWrites.get(stripe);
+        boolean quiet = started == finishedWrites.get(stripe);
+        TransactionColumns loaded = load(userId);
+        if (!quiet) {
+            // A write was in flight, so the load may or may not include it; answer without caching
+            return loaded.query(query);
+        }
+        TransactionColumns current = columns.asMap().compute(userId, (id, existing) -> {
+            if (existing != null) {
+                return existing;
+            }
+            return startedWrites.get(stripe) == started ? loaded : null;
+        });
+        return (current != null ? current : loaded).query(query);
+    }
+
+    /**
+     * Appends the rows to the user's cached columns once the surrounding transaction commits. Must be
+     * called inside the transaction that inserts them.
+     */
+    public void recordAfterCommit(UUID userId, List<TransactionFactRow> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            // No commit to wait for; dropping the user's columns is always safe
+            columns.invalidate(userId);
+            return;
+        }
+        int stripe = stripe(userId);
+        startedWrites.incrementAndGet(stripe);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                columns.asMap().computeIfPresent(userId, (id, existing) -> {
+                    rows.forEach(row -> append(existing, row));
+                    return existing;
+                });
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                finishedWrites.incrementAndGet(stripe);
+            }
+        });
+    }
+
+    public void evict(UUID userId) {
+        columns.invalidate(userId);
+    }
+
+    public long cachedUsers() {
+        return columns.estimatedSize();
+    }
+
+    private TransactionColumns load(UUID userId) {
+        TransactionColumns loaded = new TransactionColumns();
+        readOnlyTemplate.executeWithoutResult(status -> {
+            try (Stream<TransactionFactRow> rows = transactionRepository.streamFactsByUser(userId)) {
+                rows.forEach(row -> append(loaded, row));
+            }
+        });
+        log.debug("Loaded {} transactions into analytics columns for user {}", loaded.size(), userId);
+        return loaded;
+    }
+
+    private static void append(TransactionColumns target, TransactionFactRow row) {
+        target.append(row.transactionDate().toLocalDate(), row.amount(), row.type(), row.category(),
+                row.bankAccountId());
+    }
+
+    private static int stripe(UUID userId) {
+        return Math.floorMod(userId.hashCode(), STRIPES);
+    }
+}
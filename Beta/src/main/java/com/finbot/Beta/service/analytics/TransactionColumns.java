@@ -0,0 +1,198 @@
+package com.finbot.Beta.service.analytics;
+
+import com.finbot.Beta.entity.TransactionType;
+import com.finbot.Beta.service.support.Money;
+
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * One user's transaction history held as parallel primitive columns: the epoch day, the amount in
+ * {@link Money} units, dictionary codes for category and bank account, and a bitset of debits. A scan
+ * touches only these arrays, so the group-by loop allocates nothing however many rows it reads.
+ *
+ * <p>Queries hold the read lock and appends the write lock; an append that outgrows the arrays
+ * doubles them.
+ */
+final class TransactionColumns {
+
+    private static final int INITIAL_CAPACITY = 64;
+    // Code for transactions without a category, blank ones included; real categories start at 1
+    private static final int NO_CATEGORY = 0;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private int size;
+    private int[] epochDays = new int[INITIAL_CAPACITY];
+    private long[] amounts = new long[INITIAL_CAPACITY];
+    private int[] categoryCodes = new int[INITIAL_CAPACITY];
+    private int[] accountCodes = new int[INITIAL_CAPACITY];
+    private final BitSet debits = new BitSet();
+
+    private final List<String> categories = new ArrayList<>(List.of(""));
+    private final Map<String, Integer> categoryIndex = new HashMap<>();
+    private final List<UUID> accounts = new ArrayList<>();
+    private final Map<UUID, Integer> accountIndex = new HashMap<>();
+
+    void append(LocalDate day, BigDecimal amount, TransactionType type, String category, UUID bankAccountId) {
+        lock.writeLock().lock();
+        try {
+            if (size == epochDays.length) {
+                int capacity = size * 2;
+                epochDays = Arrays.copyOf(epochDays, capacity);
+                amounts = Arrays.copyOf(amounts, capacity);
+                categoryCodes = Arrays.copyOf(categoryCodes, capacity);
+                accountCodes = Arrays.copyOf(accountCodes, capacity);
+            }
+            epochDays[size] = (int) day.toEpochDay();
+            amounts[size] = Money.of(amount).units();
+            categoryCodes[size] = category == null || category.isBlank() ? NO_CATEGORY : categoryIndex.computeIfAbsent(category, c -> {
+                categories.add(c);
+                return categories.size() - 1;
+            });
+            accountCodes[size] = accountIndex.computeIfAbsent(bankAccountId, a -> {
+                accounts.add(a);
+                return accounts.size() - 1;
+            });
+            debits.set(size, TransactionType.DEBIT == type);
+            size++;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    List<AnalyticsGroup> query(AnalyticsQuery query) {
+        lock.readLock().lock();
+        try {
+            int categoryFilter = -1;
+            if (query.category() != null) {
+                Integer code = categoryIndex.get(query.category());
+                if (code == null) {
+                    return List.of();
+                }
+                categoryFilter = code;
+            }
+            int accountFilter = -1;
+            if (query.bankAccountId() != null) {
+                Integer code = accountIndex.get(query.bankAccountId());
+                if (code == null) {
+                    return List.of();
+                }
+                accountFilter = code;
+            }
+            int fromDay = query.startDate() != null ? (int) query.startDate().toEpochDay() : Integer.MIN_VALUE;
+            int toDay = query.endDate() != null ? (int) query.endDate().toEpochDay() : Integer.MAX_VALUE;
+            int typeFilter = query.type() == null ? -1 : TransactionType.DEBIT == query.type() ? 1 : 0;
+
+            // Group slots are sized up front; months are offset from the earliest month in range
+            int monthBase = 0;
+            int slots = switch (query.groupBy()) {
+                case CATEGORY -> categories.size();
+                case ACCOUNT -> accounts.size();
+                case WEEKDAY -> 7;
+                case MONTH -> {
+                    int first = Integer.MAX_VALUE;
+                    int last = Integer.MIN_VALUE;
+                    for (int i = 0; i < size; i++) {
+                        int day = epochDays[i];
+                        if (day >= fromDay && day <= toDay) {
+                            first = Math.min(first, day);
+                            last = Math.max(last, day);
+                        }
+                    }
+                    if (first > last) {
+                        yield 0;
+                    }
+                    monthBase = monthIndex(first);
+                    yield monthIndex(last) - monthBase + 1;
+                }
+            };
+            long[] totals = new long[slots];
+            long[] counts = new long[slots];
+
+            for (int i = 0; i < size; i++) {
+                int day = epochDays[i];
+                if (day < fromDay || day > toDay
+                        || (categoryFilter >= 0 && categoryCodes[i] != categoryFilter)
+                        || (accountFilter >= 0 && accountCodes[i] != accountFilter)
+                        || (typeFilter >= 0 && debits.get(i) != (typeFilter == 1))) {
+                    continue;
+                }
+                int slot = switch (query.groupBy()) {
+                    case CATEGORY -> categoryCodes[i];
+                    case ACCOUNT -> accountCodes[i];
+                    case WEEKDAY -> Math.floorMod(day + 3, 7); // 1970-01-01 was a Thursday; Monday is 0
+                    case MONTH -> monthIndex(day) - monthBase;
+                };
+                totals[slot] += amounts[i];
+                counts[slot]++;
+            }
+
+            List<AnalyticsGroup> groups = new ArrayList<>();
+            for (int slot = 0; slot < slots; slot++) {
+                if (counts[slot] > 0) {
+                    groups.add(new AnalyticsGroup(key(query.groupBy(), slot, monthBase), totals[slot], counts[slot]));
+                }
+            }
+            if (query.limit() > 0) {
+                groups.sort(Comparator.comparingLong(AnalyticsGroup::totalUnits).reversed());
+                if (groups.size() > query.limit()) {
+                    return List.copyOf(groups.subList(0, query.limit()));
+                }
+            } else if (query.groupBy() == AnalyticsDimension.CATEGORY || query.groupBy() == AnalyticsDimension.ACCOUNT) {
+                // Dictionary codes follow first appearance; weekdays and months are already in order
+                groups.sort(Comparator.comparing(AnalyticsGroup::key, Comparator.nullsLast(Comparator.naturalOrder())));
+            }
+            return groups;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private String key(AnalyticsDimension dimension, int slot, int monthBase) {
+        return switch (dimension) {
+            case CATEGORY -> slot == NO_CATEGORY ? null : categories.get(slot);
+            case ACCOUNT -> accounts.get(slot).toString();
+            case WEEKDAY -> DayOfWeek.of(slot + 1).name();
+            case MONTH -> {
+                int month = monthBase + slot;
+                yield String.format("%04d-%02d", Math.floorDiv(month, 12), Math.floorMod(month, 12) + 1);
+            }
+        };
+    }
+
+    /**
+     * year * 12 + (month - 1) for an epoch day, computed with integer arithmetic only
+     * (Howard Hinnant's civil_from_days).
+     */
+    static int monthIndex(int epochDay) {
+        int z = epochDay + 719468;
+        int era = Math.floorDiv(z, 146097);
+        int dayOfEra = z - era * 146097;
+        int yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+        int dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        int mp = (5 * dayOfYear + 2) / 153;
+        int month = mp < 10 ? mp + 3 : mp - 9;
+        int year = yearOfEra + era * 400 + (month <= 2 ? 1 : 0);
+        return year * 12 + month - 1;
+    }
+}
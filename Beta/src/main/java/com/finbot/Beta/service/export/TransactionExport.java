@@ -0,0 +1,13 @@
+package com.finbot.Beta.service.export;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * A prepared export. Access checks have already passed when one is handed out; rows are only
+ * queried once {@link #writeTo(OutputStream)} runs, typically on the response-writing thread.
+ */
+@FunctionalInterface
+public interface TransactionExport {
+    void writeTo(OutputStream outputStream) throws IOException;
+}
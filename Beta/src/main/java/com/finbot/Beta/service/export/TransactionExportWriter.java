@@ -0,0 +1,101 @@
+package com.finbot.Beta.service.export;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.finbot.Beta.Dto.response.TransactionResponseDto;
+
+import java.io.BufferedWriter;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Writes transactions one row at a time as NDJSON (one JSON object per line) or CSV. Nothing is
+ * retained between rows, so output size is bounded only by the client.
+ */
+public class TransactionExportWriter implements Flushable {
+
+    private static final String CSV_HEADER = "id,transactionDate,type,amount,category,description,"
+            + "bankAccountId,bankAccountName,previousBalance,newBalance,createdAt";
+    private static final String FORMULA_PREFIXES = "=+-@\t\r";
+
+    private final ExportFormat format;
+    private final BufferedWriter writer;
+    private final ObjectWriter jsonWriter;
+    private boolean started;
+
+    public TransactionExportWriter(ExportFormat format, OutputStream outputStream, ObjectMapper objectMapper) {
+        this.format = format;
+        this.writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        this.jsonWriter = objectMapper.writerFor(TransactionResponseDto.class);
+    }
+
+    public void write(TransactionResponseDto transaction) throws IOException {
+        if (!started) {
+            started = true;
+            if (format == ExportFormat.CSV) {
+                writer.write(CSV_HEADER);
+                writer.newLine();
+            }
+        }
+
+        if (format == ExportFormat.NDJSON) {
+            writer.write(jsonWriter.writeValueAsString(transaction));
+        } else {
+            writer.write(String.join(",",
+                    csv(transaction.getId()),
+                    csv(transaction.getTransactionDate()),
+                    csv(transaction.getType()),
+                    csv(transaction.getAmount() != null ? transaction.getAmount().toPlainString() : null),
+                    csvText(transaction.getCategory()),
+                    csvText(transaction.getDescription()),
+                    csv(transaction.getBankAccountId()),
+                    csvText(transaction.getBankAccountName()),
+                    csv(transaction.getPreviousBalance() != null ? transaction.getPreviousBalance().toPlainString() : null),
+                    csv(transaction.getNewBalance() != null ? transaction.getNewBalance().toPlainString() : null),
+                    csv(transaction.getCreatedAt())));
+        }
+        writer.newLine();
+    }
+
+    /**
+     * Writes the CSV header for an empty export so the file is still well-formed.
+     */
+    public void finish() throws IOException {
+        if (!started && format == ExportFormat.CSV) {
+            writer.write(CSV_HEADER);
+            writer.newLine();
+        }
+        started = true;
+        writer.flush();
+    }
+
+    @Override
+    public void flush() throws IOException {
+        writer.flush();
+    }
+
+    /**
+     * Escapes a user-supplied cell, prefixing {@code '} when it starts with a character that
+     * spreadsheets would evaluate as a formula.
+     */
+    private String csvText(String value) {
+        if (value == null || value.isEmpty() || FORMULA_PREFIXES.indexOf(value.charAt(0)) < 0) {
+            return csv(value);
+        }
+        return csv("'" + value);
+    }
+
+    private String csv(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+}
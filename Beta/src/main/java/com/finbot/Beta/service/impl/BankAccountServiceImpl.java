@@ -9,11 +9,14 @@ import org.springframework.stereotype.Service;
 
 import com.finbot.Beta.Dto.request.BankAccountRequestDto;
 import com.finbot.Beta.Dto.response.BankAccountResponseDto;
+import com.finbot.Beta.Exceptions.InsufficientFundsException;
 import com.finbot.Beta.Exceptions.ResourceNotFoundException;
 import com.finbot.Beta.entity.BankAccount;
+import com.finbot.Beta.entity.TransactionType;
 import com.finbot.Beta.entity.User;
 import com.finbot.Beta.repository.BankAccountRepository;
 import com.finbot.Beta.repository.UserRepository;
+import com.finbot.Beta.repository.projection.AccountBalanceView;
 import com.finbot.Beta.service.BankAccountService;
 
 import org.springframework.transaction.annotation.Transactional;
@@ -98,24 +101,32 @@ public class BankAccountServiceImpl implements BankAccountService {
 
     @Override
     @Transactional
-    public void updateBalance(UUID accountId, BigDecimal amount, String transactionType) {
-        BankAccount account = bankAccountRepository.findById(accountId)
-                .orElseThrow(() -> new ResourceNotFoundException("Bank account not found"));
-
-        BigDecimal newBalance;
-        if ("CREDIT".equals(transactionType)) {
-            newBalance = account.getBalance().add(amount);
-        } else if ("DEBIT".equals(transactionType)) {
-            newBalance = account.getBalance().subtract(amount);
-            if (newBalance.compareTo(BigDecimal.ZERO) < 0) {
-                throw new IllegalArgumentException("Insufficient funds in account");
-            }
+    public AccountBalanceView updateBalance(UUID userId, UUID accountId, BigDecimal amount, TransactionType transactionType) {
+        int updated;
+        if (TransactionType.CREDIT == transactionType) {
+            updated = bankAccountRepository.creditBalance(accountId, userId, amount);
+        } else if (TransactionType.DEBIT == transactionType) {
+            updated = bankAccountRepository.debitBalance(accountId, userId, amount);
         } else {
             throw new IllegalArgumentException("Invalid transaction type");
         }
 
-        account.setBalance(newBalance);
-        bankAccountRepository.save(account);
+        if (updated == 0) {
+            // Only the failure path pays for a full read to explain why the guard did not match
+            BankAccount account = bankAccountRepository.findById(accountId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Bank account with ID " + accountId + " does not exist"));
+            if (!account.getUser().getId().equals(userId)) {
+                throw new ResourceNotFoundException("Bank account not found");
+            }
+            if (account.getIsActive() == null || !account.getIsActive()) {
+                throw new ResourceNotFoundException("Bank account is inactive");
+            }
+            throw new InsufficientFundsException("Insufficient funds in account");
+        }
+
+        // The row is still locked by our UPDATE, so this reads exactly the balance we produced
+        return bankAccountRepository.findBalanceViewById(accountId)
+                .orElseThrow(() -> new ResourceNotFoundException("Bank account not found"));
     }
 
     private BankAccountResponseDto mapToResponse(BankAccount bankAccount) {
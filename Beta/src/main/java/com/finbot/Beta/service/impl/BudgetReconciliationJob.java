@@ -0,0 +1,336 @@
+package com.finbot.Beta.service.impl;
+
+import com.finbot.Beta.entity.Budget;
+import com.finbot.Beta.entity.BudgetPeriodSpend;
+import com.finbot.Beta.entity.BudgetPeriodSpendId;
+import com.finbot.Beta.repository.BudgetPeriodSpendRepository;
+import com.finbot.Beta.repository.BudgetRepository;
+import com.finbot.Beta.repository.BudgetSpendingOutboxRepository;
+import com.finbot.Beta.repository.TransactionRepository;
+import com.finbot.Beta.repository.projection.BudgetReconciliationRow;
+import com.finbot.Beta.repository.projection.CategoryDayTotalRow;
+import com.finbot.Beta.service.support.BudgetPeriodLedger;
+import com.finbot.Beta.service.support.BudgetReconciliationReport;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+
+/**
+ * Repairs budget spend that drifted from the transactions it sums, for example after a budget's
+ * category or dates were edited: both the per-period buckets in budget_period_spend, which is what
+ * the API reports, and the lifetime current_spent counter the aggregator still maintains.
+ *
+ * <p>Owners of active budgets are read in keyset pages and split across a fork-join pool. Each leaf
+ * takes budget.reconciliation.chunk-size users, recomputes all their budgets from their debits minus
+ * the spending still waiting in the outbox, and rewrites only the values that differ, in its own
+ * transaction. That transaction is REPEATABLE READ so its several reads see one snapshot, and every
+ * rewrite is a compare-and-set against it. The parallelism should stay below the connection pool
+ * size, since every worker holds a connection while it runs.
+ */
+@Slf4j
+@Component
+public class BudgetReconciliationJob {
+
+    private static final int USER_PAGE_SIZE = 10_000;
+
+    private final BudgetRepository budgetRepository;
+    private final BudgetPeriodSpendRepository budgetPeriodSpendRepository;
+    private final TransactionRepository transactionRepository;
+    private final BudgetSpendingOutboxRepository budgetSpendingOutboxRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ForkJoinPool pool;
+    private final int chunkSize;
+    private final AtomicBoolean running = new AtomicBoolean();
+    private volatile BudgetReconciliationReport lastReport;
+
+    public BudgetReconciliationJob(
+            BudgetRepository budgetRepository,
+            BudgetPeriodSpendRepository budgetPeriodSpendRepository,
+            TransactionRepository transactionRepository,
+            BudgetSpendingOutboxRepository budgetSpendingOutboxRepository,
+            TransactionTemplate transactionTemplate,
+            @Value("${budget.reconciliation.parallelism:4}") int parallelism,
+            @Value("${budget.reconciliation.chunk-size:500}") int chunkSize) {
+        this.budgetRepository = budgetRepository;
+        this.budgetPeriodSpendRepository = budgetPeriodSpendRepository;
+        this.transactionRepository = transactionRepository;
+        this.budgetSpendingOutboxRepository = budgetSpendingOutboxRepository;
+        this.transactionTemplate = new TransactionTemplate(
+                transactionTemplate.getTransactionManager(), transactionTemplate);
+        this.transactionTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.pool = new ForkJoinPool(parallelism);
+        this.chunkSize = chunkSize;
+    }
+
+    // Hands the run to the job's own pool, so the single scheduler thread is not held for its duration
+    @Scheduled(cron = "${budget.reconciliation.cron:0 30 3 * * *}")
+    public void scheduledRun() {
+        if (!trigger()) {
+            log.info("Scheduled budget reconciliation skipped, a run is already in progress");
+        }
+    }
+
+    /**
+     * Starts a run in the background; false when one is already in progress.
+     */
+    public boolean trigger() {
+        if (!running.compareAndSet(false, true)) {
+            return false;
+        }
+        CompletableFuture.runAsync(() -> {
+            try {
+                log.info("Budget reconciliation finished: {}", run());
+            } catch (RuntimeException e) {
+                // Nothing joins this future, so a failure would otherwise go unreported
+                log.error("Budget reconciliation failed", e);
+            } finally {
+                running.set(false);
+            }
+        }, pool);
+        return true;
+    }
+
+    /**
+     * Runs a reconciliation on the calling thread; empty when another run is already in progress.
+     */
+    public Optional<BudgetReconciliationReport> reconcile() {
+        if (!running.compareAndSet(false, true)) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(run());
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private BudgetReconciliationReport run() {
+        LocalDateTime startedAt = LocalDateTime.now();
+        long started = System.nanoTime();
+        List<UUID> userIds = loadUserIds();
+        ChunkStats stats = pool.invoke(new ReconcileTask(userIds, 0, userIds.size()));
+        BudgetReconciliationReport report = stats.toReport(startedAt,
+                Duration.ofNanos(System.nanoTime() - started), userIds.size());
+        if (report.budgetsDrifted() > 0 || report.failedChunks() > 0) {
+            log.warn("Budget reconciliation corrected {} of {} drifted budgets ({} checked, total drift {}, {} failed chunks)",
+                    report.budgetsCorrected(), report.budgetsDrifted(), report.budgetsChecked(),
+                    report.totalAbsoluteDrift(), report.failedChunks());
+        }
+        lastReport = report;
+        return report;
+    }
+
+    public Optional<BudgetReconciliationReport> lastReport() {
+        return Optional.ofNullable(lastReport);
+    }
+
+    public boolean isRunning() {
+        return running.get();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    private List<UUID> loadUserIds() {
+        List<UUID> userIds = new ArrayList<>();
+        List<UUID> page = budgetRepository.findUserIdsWithActiveBudgets(PageRequest.ofSize(USER_PAGE_SIZE));
+        while (!page.isEmpty()) {
+            userIds.addAll(page);
+            if (page.size() < USER_PAGE_SIZE) {
+                break;
+            }
+            page = budgetRepository.findUserIdsWithActiveBudgetsAfter(page.get(page.size() - 1),
+                    PageRequest.ofSize(USER_PAGE_SIZE));
+        }
+        return userIds;
+    }
+
+    private ChunkStats reconcileChunk(List<UUID> userIds) {
+        try {
+            return transactionTemplate.execute(status -> {
+                ChunkStats stats = new ChunkStats();
+                Map<UUID, Map<BudgetPeriodSpendId, BigDecimal>> expectedPeriods = expectedPeriodSpend(userIds);
+                if (expectedPeriods.isEmpty()) {
+                    return stats;
+                }
+                Map<UUID, Map<BudgetPeriodSpendId, BudgetPeriodSpend>> storedPeriods = budgetPeriodSpendRepository
+                        .findByBudgetIds(expectedPeriods.keySet()).stream()
+                        .collect(Collectors.groupingBy(s -> s.getId().getBudgetId(),
+                                Collectors.toMap(BudgetPeriodSpend::getId, Function.identity())));
+
+                for (BudgetReconciliationRow row : budgetRepository.findReconciliationRows(userIds)) {
+                    stats.budgetsChecked++;
+                    int drifted = 0;
+                    int changedConcurrently = 0;
+                    BigDecimal expectedSpent = row.expectedSpent();
+                    if (stats.addDrift(row.currentSpent(), expectedSpent)) {
+                        drifted++;
+                        if (budgetRepository.correctCurrentSpent(row.id(), row.currentSpent(), expectedSpent) != 1) {
+                            changedConcurrently++;
+                        }
+                    }
+
+                    Map<BudgetPeriodSpendId, BigDecimal> expected = expectedPeriods.getOrDefault(row.id(), Map.of());
+                    Map<BudgetPeriodSpendId, BudgetPeriodSpend> stored = storedPeriods.getOrDefault(row.id(), Map.of());
+                    TreeSet<BudgetPeriodSpendId> bucketIds = new TreeSet<>(BudgetPeriodLedger.KEY_ORDER);
+                    bucketIds.addAll(expected.keySet());
+                    bucketIds.addAll(stored.keySet());
+                    for (BudgetPeriodSpendId id : bucketIds) {
+                        BudgetPeriodSpend bucket = stored.get(id);
+                        BigDecimal observed = bucket != null ? bucket.getSpent() : BigDecimal.ZERO;
+                        BigDecimal target = expected.getOrDefault(id, BigDecimal.ZERO);
+                        if (!stats.addDrift(observed, target)) {
+                            continue;
+                        }
+                        drifted++;
+                        stats.periodsDrifted++;
+                        if (bucket == null) {
+                            // If the aggregator created it since the snapshot, the insert fails the chunk
+                            // and the next run repairs it
+                            budgetPeriodSpendRepository.save(
+                                    new BudgetPeriodSpend(id, id.getPeriod().periodEnd(id.getPeriodStart()), target));
+                        } else if (budgetPeriodSpendRepository.correctSpent(id, observed, target) != 1) {
+                            changedConcurrently++;
+                        }
+                    }
+
+                    if (drifted > 0) {
+                        stats.budgetsDrifted++;
+                        if (changedConcurrently == 0) {
+                            stats.budgetsCorrected++;
+                        } else {
+                            stats.budgetsChangedConcurrently++;
+                        }
+                    }
+                }
+                return stats;
+            });
+        } catch (DataAccessException e) {
+            log.warn("Budget reconciliation chunk of {} users failed: {}", userIds.size(), e.getMessage());
+            ChunkStats failed = new ChunkStats();
+            failed.failedChunks = 1;
+            return failed;
+        }
+    }
+
+    /**
+     * What each active budget of the users should hold per period bucket: the debits it covers minus
+     * those still in the outbox, matched and bucketed exactly as BudgetSpendingAggregator does.
+     */
+    private Map<UUID, Map<BudgetPeriodSpendId, BigDecimal>> expectedPeriodSpend(List<UUID> userIds) {
+        Map<UUID, List<Budget>> budgetsByUser = budgetRepository.findActiveForUsers(userIds).stream()
+                .collect(Collectors.groupingBy(b -> b.getUser().getId()));
+        Map<UUID, Map<BudgetPeriodSpendId, BigDecimal>> expected = new HashMap<>();
+        budgetsByUser.values().forEach(budgets -> budgets.forEach(b -> expected.put(b.getId(), new HashMap<>())));
+        addToBuckets(expected, budgetsByUser, transactionRepository.sumDailyDebitsByUsers(userIds),
+                UnaryOperator.identity());
+        addToBuckets(expected, budgetsByUser, budgetSpendingOutboxRepository.sumPendingByUsers(userIds),
+                BigDecimal::negate);
+        return expected;
+    }
+
+    private static void addToBuckets(Map<UUID, Map<BudgetPeriodSpendId, BigDecimal>> expected,
+                                     Map<UUID, List<Budget>> budgetsByUser,
+                                     List<CategoryDayTotalRow> rows,
+                                     UnaryOperator<BigDecimal> sign) {
+        for (CategoryDayTotalRow row : rows) {
+            for (Budget budget : budgetsByUser.getOrDefault(row.userId(), List.of())) {
+                if (BudgetPeriodLedger.covers(budget, row.category(), row.day())) {
+                    expected.get(budget.getId()).merge(BudgetPeriodLedger.bucketOf(budget, row.day()),
+                            sign.apply(row.total()), BigDecimal::add);
+                }
+            }
+        }
+    }
+
+    private final class ReconcileTask extends RecursiveTask<ChunkStats> {
+
+        private final List<UUID> userIds;
+        private final int from;
+        private final int to;
+
+        private ReconcileTask(List<UUID> userIds, int from, int to) {
+            this.userIds = userIds;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected ChunkStats compute() {
+            if (to - from <= chunkSize) {
+                return from == to ? new ChunkStats() : reconcileChunk(userIds.subList(from, to));
+            }
+            int mid = (from + to) >>> 1;
+            ReconcileTask left = new ReconcileTask(userIds, from, mid);
+            left.fork();
+            ChunkStats right = new ReconcileTask(userIds, mid, to).compute();
+            return left.join().merge(right);
+        }
+    }
+
+    private static final class ChunkStats {
+        private long budgetsChecked;
+        private long budgetsDrifted;
+        private long budgetsCorrected;
+        private long budgetsChangedConcurrently;
+        private long periodsDrifted;
+        private BigDecimal totalAbsoluteDrift = BigDecimal.ZERO;
+        private BigDecimal maxAbsoluteDrift = BigDecimal.ZERO;
+        private int failedChunks;
+
+        // Adds the difference to the drift totals; false when there is none
+        private boolean addDrift(BigDecimal observed, BigDecimal expected) {
+            BigDecimal drift = expected.subtract(observed).abs();
+            if (drift.signum() == 0) {
+                return false;
+            }
+            totalAbsoluteDrift = totalAbsoluteDrift.add(drift);
+            maxAbsoluteDrift = maxAbsoluteDrift.max(drift);
+            return true;
+        }
+
+        private ChunkStats merge(ChunkStats other) {
+            budgetsChecked += other.budgetsChecked;
+            budgetsDrifted += other.budgetsDrifted;
+            budgetsCorrected += other.budgetsCorrected;
+            budgetsChangedConcurrently += other.budgetsChangedConcurrently;
+            periodsDrifted += other.periodsDrifted;
+            totalAbsoluteDrift = totalAbsoluteDrift.add(other.totalAbsoluteDrift);
+            maxAbsoluteDrift = maxAbsoluteDrift.max(other.maxAbsoluteDrift);
+            failedChunks += other.failedChunks;
+            return this;
+        }
+
+        private BudgetReconciliationReport toReport(LocalDateTime startedAt, Duration duration, long usersScanned) {
+            return new BudgetReconciliationReport(startedAt, duration, usersScanned, budgetsChecked, budgetsDrifted,
+                    budgetsCorrected, budgetsChangedConcurrently, periodsDrifted, totalAbsoluteDrift, maxAbsoluteDrift,
+                    failedChunks);
+        }
+    }
+}
@@ -1,28 +1,47 @@
 package com.finbot.Beta.service.impl;
 
 import com.finbot.Beta.Dto.request.BudgetRequestDto;
+import com.finbot.Beta.Dto.response.BudgetPeriodSpendDto;
 import com.finbot.Beta.Dto.response.BudgetResponseDto;
+import com.finbot.Beta.Dto.response.BudgetStatusDto;
+import com.finbot.Beta.Exceptions.InvalidQueryException;
 import com.finbot.Beta.Exceptions.ResourceNotFoundException;
 import com.finbot.Beta.entity.Budget;
+import com.finbot.Beta.entity.BudgetSpendingOutbox;
 import com.finbot.Beta.entity.User;
+import com.finbot.Beta.repository.BudgetPeriodSpendRepository;
 import com.finbot.Beta.repository.BudgetRepository;
+import com.finbot.Beta.repository.BudgetSpendingOutboxRepository;
+import com.finbot.Beta.repository.projection.BudgetStatusRow;
+import com.finbot.Beta.repository.projection.BudgetWithPeriodSpend;
 import com.finbot.Beta.service.BudgetService;
+import com.finbot.Beta.service.support.BudgetPeriodLedger;
+import com.finbot.Beta.service.support.Money;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 
 @Service
 @RequiredArgsConstructor
 public class BudgetServiceImpl implements BudgetService {
 
+    // Caps a DAILY history at about ten years of rows
+    private static final long MAX_HISTORY_DAYS = 3660;
+
     private final BudgetRepository budgetRepository;
+    private final BudgetSpendingOutboxRepository budgetSpendingOutboxRepository;
+    private final BudgetPeriodSpendRepository budgetPeriodSpendRepository;
+    private final BudgetPeriodLedger budgetPeriodLedger;
 
 
     @Override
@@ -40,28 +59,73 @@ public class BudgetServiceImpl implements BudgetService {
                 .isActive(true)
                 .build();
         Budget savedBudget = budgetRepository.save(budget);
-        return mapToResponse(savedBudget);
+        return mapToResponse(savedBudget, BigDecimal.ZERO);
     }
 
     @Override
     public List<BudgetResponseDto> getUserBudgets(User user) {
-        return budgetRepository.findByUserAndIsActiveTrue(user)
+        return budgetRepository.findActiveWithPeriodSpend(user, LocalDate.now())
                 .stream()
                 .map(this::mapToResponse)
                 .toList();
     }
 
+    @Override
+    public List<BudgetStatusDto> getBudgetStatus(User user) {
+        // One grouped query for all budgets instead of a sum per budget; independent of the outbox lag
+        return budgetRepository.findStatusByUser(user, LocalDate.now())
+                .stream()
+                .map(this::mapToStatus)
+                .toList();
+    }
+
     @Override
     public BudgetResponseDto getBudget(User user, UUID budgetId) {
+        // Scoped to the user in the query, so another user's budget is simply not found
+        return budgetRepository.findWithPeriodSpend(budgetId, user, LocalDate.now())
+                .map(this::mapToResponse)
+                .orElseThrow(() -> new ResourceNotFoundException("Budget not found"));
+    }
+
+    @Override
+    public List<BudgetPeriodSpendDto> getBudgetPeriods(User user, UUID budgetId, LocalDate from, LocalDate to) {
         Budget budget = budgetRepository.findById(budgetId)
                 .orElseThrow(() -> new ResourceNotFoundException("Budget not found"));
 
-        //verfiy if the budget belongs to the user
+        // Verify if the budget belongs to the user
         if (!budget.getUser().getId().equals(user.getId())) {
             throw new ResourceNotFoundException("Budget not found");
         }
 
-        return mapToResponse(budget);
+        LocalDate start = budget.getPeriod().periodStart(from != null ? from : budget.getStartDate());
+        LocalDate end = to != null ? to : LocalDate.now();
+        if (end.isBefore(start)) {
+            return List.of();
+        }
+        if (ChronoUnit.DAYS.between(start, end) > MAX_HISTORY_DAYS) {
+            throw new InvalidQueryException("History range must not exceed " + MAX_HISTORY_DAYS + " days");
+        }
+
+        Map<LocalDate, Money> spentByPeriod = budgetPeriodSpendRepository
+                .findHistory(budget.getId(), budget.getPeriod(), start, end).stream()
+                .collect(Collectors.toMap(s -> s.getId().getPeriodStart(), s -> Money.of(s.getSpent())));
+
+        // Periods without spend have no row; they are reported with zero so the series has no gaps
+        Money amount = Money.of(budget.getAmount());
+        List<BudgetPeriodSpendDto> periods = new ArrayList<>();
+        for (LocalDate periodStart = start; !periodStart.isAfter(end);
+             periodStart = budget.getPeriod().periodEnd(periodStart).plusDays(1)) {
+            Money spent = spentByPeriod.getOrDefault(periodStart, Money.ZERO);
+            periods.add(BudgetPeriodSpendDto.builder()
+                    .periodStart(periodStart)
+                    .periodEnd(budget.getPeriod().periodEnd(periodStart))
+                    .amount(budget.getAmount())
+                    .spent(spent.toBigDecimal())
+                    .remainingAmount(amount.minus(spent).toBigDecimal())
+                    .percentageUsed(percentageUsed(spent, amount))
+                    .build());
+        }
+        return periods;
     }
 
     @Override
@@ -83,7 +147,7 @@ public class BudgetServiceImpl implements BudgetService {
         budget.setEndDate(request.getEndDate());
 
         Budget updatedBudget = budgetRepository.save(budget);
-        return mapToResponse(updatedBudget);
+        return mapToResponse(updatedBudget, budgetPeriodLedger.spentInPeriod(updatedBudget, LocalDate.now()));
     }
 
     @Override
@@ -102,19 +166,42 @@ public class BudgetServiceImpl implements BudgetService {
     }
 
     @Override
-    public void updateBudgetSpending(User user, String category, BigDecimal amount) {
-        budgetRepository.findActiveByUserAndCategory(user, category, LocalDate.now())
-                .ifPresent(budget -> {
-                    budget.setCurrentSpent(budget.getCurrentSpent().add(amount));
-                    budgetRepository.save(budget);
-                });
+    public void enqueueBudgetSpending(User user, String category, BigDecimal amount, LocalDate transactionDate) {
+        // Appended in the caller's transaction; BudgetSpendingAggregator folds it into current_spent later
+        budgetSpendingOutboxRepository.save(BudgetSpendingOutbox.builder()
+                .user(user)
+                .category(category)
+                .amount(amount)
+                .transactionDate(transactionDate)
+                .build());
+    }
+
+    private BudgetStatusDto mapToStatus(BudgetStatusRow row) {
+        Money amount = Money.of(row.amount());
+        Money spent = Money.of(row.spent());
+        return BudgetStatusDto.builder()
+                .budgetId(row.id())
+                .name(row.name())
+                .category(row.category())
+                .amount(row.amount())
+                .period(row.period())
+                .startDate(row.startDate())
+                .endDate(row.endDate())
+                .spent(spent.toBigDecimal())
+                .remainingAmount(amount.minus(spent).toBigDecimal())
+                .percentageUsed(percentageUsed(spent, amount))
+                .build();
+    }
+
+    private BudgetResponseDto mapToResponse(BudgetWithPeriodSpend row) {
+        return mapToResponse(row.budget(), row.periodSpent() != null ? row.periodSpent() : BigDecimal.ZERO);
     }
 
-    private BudgetResponseDto mapToResponse(Budget budget) {
-        BigDecimal remainingAmount = budget.getAmount().subtract(budget.getCurrentSpent());
-        double percentageUsed = budget.getAmount().compareTo(BigDecimal.ZERO) > 0
-                ? budget.getCurrentSpent().divide(budget.getAmount(), 4, RoundingMode.HALF_UP).doubleValue() * 100
-                : 0.0;
+    // Remaining and percentage are measured against the current period, not the lifetime counter
+    private BudgetResponseDto mapToResponse(Budget budget, BigDecimal periodSpent) {
+        LocalDate periodStart = budget.getPeriod().periodStart(LocalDate.now());
+        Money amount = Money.of(budget.getAmount());
+        Money spent = Money.of(periodSpent);
 
         return BudgetResponseDto.builder()
                 .id(budget.getId())
@@ -125,12 +212,18 @@ public class BudgetServiceImpl implements BudgetService {
                 .period(budget.getPeriod())
                 .startDate(budget.getStartDate())
                 .endDate(budget.getEndDate())
-                .currentSpent(budget.getCurrentSpent())
-                .remainingAmount(remainingAmount)
-                .percentageUsed(percentageUsed)
+                .currentPeriodStart(periodStart)
+                .currentPeriodEnd(budget.getPeriod().periodEnd(periodStart))
+                .currentSpent(spent.toBigDecimal())
+                .remainingAmount(amount.minus(spent).toBigDecimal())
+                .percentageUsed(percentageUsed(spent, amount))
                 .createdAt(budget.getCreatedAt())
                 .updatedAt(budget.getUpdatedAt())
                 .isActive(budget.getIsActive())
                 .build();
     }
+
+    private double percentageUsed(Money spent, Money amount) {
+        return amount.isPositive() ? spent.basisPointsOf(amount) / 100.0 : 0.0;
+    }
 }
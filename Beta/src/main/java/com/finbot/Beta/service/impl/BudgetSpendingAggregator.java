@@ -0,0 +1,90 @@
+package com.finbot.Beta.service.impl;
+
+import com.finbot.Beta.entity.Budget;
+import com.finbot.Beta.entity.BudgetPeriodSpendId;
+import com.finbot.Beta.entity.BudgetSpendingOutbox;
+import com.finbot.Beta.repository.BudgetRepository;
+import com.finbot.Beta.repository.BudgetSpendingOutboxRepository;
+import com.finbot.Beta.service.support.BudgetPeriodLedger;
+import com.finbot.Beta.service.support.Money;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Drains the budget spending outbox: reads entries in batches, matches them to active budgets
+ * and applies a single current_spent increment per budget, then deletes the entries.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BudgetSpendingAggregator {
+
+    private final BudgetSpendingOutboxRepository budgetSpendingOutboxRepository;
+    private final BudgetRepository budgetRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final BudgetPeriodLedger budgetPeriodLedger;
+
+    @Value("${budget.outbox.batch-size:500}")
+    private int batchSize;
+
+    @Scheduled(fixedDelayString = "${budget.outbox.poll-interval-ms:1000}")
+    public void drain() {
+        Integer processed;
+        do {
+            processed = transactionTemplate.execute(status -> applyNextBatch());
+        } while (processed != null && processed == batchSize);
+    }
+
+    private int applyNextBatch() {
+        List<BudgetSpendingOutbox> entries = budgetSpendingOutboxRepository.findNextBatch(PageRequest.of(0, batchSize));
+        if (entries.isEmpty()) {
+            return 0;
+        }
+
+        // Budgets are matched on the day of the debit, the same day that picks its period bucket, so a
+        // backdated debit lands in the budget and period it belongs to rather than the ones open today
+        Set<UUID> userIds = entries.stream().map(e -> e.getUser().getId()).collect(Collectors.toSet());
+        LocalDate earliest = entries.stream().map(BudgetSpendingOutbox::getTransactionDate)
+                .min(Comparator.naturalOrder()).orElseThrow();
+        LocalDate latest = entries.stream().map(BudgetSpendingOutbox::getTransactionDate)
+                .max(Comparator.naturalOrder()).orElseThrow();
+        Map<UUID, List<Budget>> budgetsByUser = budgetRepository.findActiveForUsersBetween(userIds, earliest, latest).stream()
+                .collect(Collectors.groupingBy(b -> b.getUser().getId()));
+
+        Map<UUID, Money> incrementByBudget = new HashMap<>();
+        Map<BudgetPeriodSpendId, Money> incrementByPeriod = new HashMap<>();
+        for (BudgetSpendingOutbox entry : entries) {
+            LocalDate debitDay = entry.getTransactionDate();
+            Money amount = Money.of(entry.getAmount());
+            for (Budget budget : budgetsByUser.getOrDefault(entry.getUser().getId(), List.of())) {
+                if (BudgetPeriodLedger.covers(budget, entry.getCategory(), debitDay)) {
+                    incrementByBudget.merge(budget.getId(), amount, Money::plus);
+                    incrementByPeriod.merge(BudgetPeriodLedger.bucketOf(budget, debitDay),
+                            amount, Money::plus);
+                }
+            }
+        }
+
+        incrementByBudget.forEach((budgetId, amount) ->
+                budgetRepository.incrementCurrentSpent(budgetId, amount.toBigDecimal()));
+        // A bucket created concurrently by another node fails this batch; it is re-applied on the next poll
+        budgetPeriodLedger.add(incrementByPeriod);
+        budgetSpendingOutboxRepository.deleteAllInBatch(entries);
+        log.debug("Applied {} outbox entries to {} budgets", entries.size(), incrementByBudget.size());
+        return entries.size();
+    }
+}
@@ -0,0 +1,249 @@
+package com.finbot.Beta.service.impl;
+
+import com.finbot.Beta.entity.TransactionType;
+import com.finbot.Beta.repository.BankAccountRepository;
+import com.finbot.Beta.repository.TransactionRepository;
+import com.finbot.Beta.repository.projection.AccountBalanceView;
+import com.finbot.Beta.repository.projection.LedgerEntryRow;
+import com.finbot.Beta.service.support.LedgerAuditReport;
+import com.finbot.Beta.service.support.LedgerAuditReport.Discrepancy;
+import com.finbot.Beta.service.support.LedgerAuditReport.Kind;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+/**
+ * Verifies the previousBalance/newBalance chain of every bank account: each transaction must continue
+ * from the one before it, its own arithmetic must hold, and the last one must match the account balance.
+ *
+ * <p>Each account is audited in one read-only transaction that reads the balance and then streams the
+ * transactions through a server-side cursor, so the balance and the rows come from the same snapshot
+ * under REPEATABLE READ and memory stays flat however long the history is. Accounts run on
+ * ledger.audit.parallelism threads; at most twice that many are queued, so paging through the
+ * accounts never runs ahead of the workers.
+ */
+@Slf4j
+@Component
+public class LedgerAuditJob {
+
+    private static final int ACCOUNT_PAGE_SIZE = 1_000;
+
+    private final BankAccountRepository bankAccountRepository;
+    private final TransactionRepository transactionRepository;
+    private final TransactionTemplate readOnlyTemplate;
+    private final ThreadPoolExecutor executor;
+    private final int parallelism;
+    private final int maxReported;
+    private final AtomicBoolean running = new AtomicBoolean();
+    private volatile LedgerAuditReport lastReport;
+
+    public LedgerAuditJob(
+            BankAccountRepository bankAccountRepository,
+            TransactionRepository transactionRepository,
+            TransactionTemplate transactionTemplate,
+            @Value("${ledger.audit.parallelism:4}") int parallelism,
+            @Value("${ledger.audit.max-reported:100}") int maxReported) {
+        this.bankAccountRepository = bankAccountRepository;
+        this.transactionRepository = transactionRepository;
+        this.readOnlyTemplate = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        this.readOnlyTemplate.setReadOnly(true);
+        this.parallelism = Math.max(1, parallelism);
+        this.maxReported = maxReported;
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(this.parallelism, this.parallelism, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), runnable -> {
+                    Thread thread = new Thread(runnable, "ledger-audit-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    // Hands the run to the coordinator thread, so the single scheduler thread is not held for its duration
+    @Scheduled(cron = "${ledger.audit.cron:0 0 4 * * SUN}")
+    public void scheduledRun() {
+        if (!trigger()) {
+            log.info("Scheduled ledger audit skipped, a run is already in progress");
+        }
+    }
+
+    /**
+     * Starts a run in the background; false when one is already in progress.
+     */
+    public boolean trigger() {
+        if (!running.compareAndSet(false, true)) {
+            return false;
+        }
+        Thread.ofPlatform().name("ledger-audit-coordinator").daemon().start(() -> {
+            try {
+                LedgerAuditReport report = run();
+                log.info("Ledger audit finished: {} accounts, {} discrepancies",
+                        report.accountsAudited(), report.discrepancyCount());
+            } catch (RuntimeException e) {
+                log.error("Ledger audit failed", e);
+            } finally {
+                running.set(false);
+            }
+        });
+        return true;
+    }
+
+    /**
+     * Audits every account on the calling thread; empty when another run is already in progress.
+     */
+    public Optional<LedgerAuditReport> audit() {
+        if (!running.compareAndSet(false, true)) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(run());
+        } finally {
+            running.set(false);
+        }
+    }
+
+    public Optional<LedgerAuditReport> lastReport() {
+        return Optional.ofNullable(lastReport);
+    }
+
+    public boolean isRunning() {
+        return running.get();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private LedgerAuditReport run() {
+        LocalDateTime startedAt = LocalDateTime.now();
+        long started = System.nanoTime();
+        AuditStats stats = new AuditStats();
+        Semaphore slots = new Semaphore(parallelism * 2);
+
+        try {
+            List<UUID> page = bankAccountRepository.findIdsFirstPage(PageRequest.ofSize(ACCOUNT_PAGE_SIZE));
+            while (!page.isEmpty()) {
+                for (UUID accountId : page) {
+                    slots.acquire();
+                    executor.execute(() -> {
+                        try {
+                            auditAccount(accountId, stats);
+                        } finally {
+                            slots.release();
+                        }
+                    });
+                }
+                if (page.size() < ACCOUNT_PAGE_SIZE) {
+                    break;
+                }
+                page = bankAccountRepository.findIdsAfter(page.get(page.size() - 1), PageRequest.ofSize(ACCOUNT_PAGE_SIZE));
+            }
+            // Every slot back means every queued account has finished
+            slots.acquire(parallelism * 2);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Ledger audit interrupted", e);
+        }
+
+        LedgerAuditReport report = stats.toReport(startedAt, Duration.ofNanos(System.nanoTime() - started));
+        if (report.discrepancyCount() > 0 || report.failedAccounts() > 0) {
+            log.warn("Ledger audit found {} discrepancies in {} of {} accounts ({} accounts failed)",
+                    report.discrepancyCount(), report.accountsWithDiscrepancies(), report.accountsAudited(),
+                    report.failedAccounts());
+        }
+        lastReport = report;
+        return report;
+    }
+
+    private void auditAccount(UUID accountId, AuditStats stats) {
+        try {
+            readOnlyTemplate.executeWithoutResult(status -> {
+                Optional<AccountBalanceView> account = bankAccountRepository.findBalanceViewById(accountId);
+                if (account.isEmpty()) {
+                    return;
+                }
+                int found = 0;
+                long scanned = 0;
+                LedgerEntryRow previous = null;
+                try (Stream<LedgerEntryRow> rows = transactionRepository.streamLedgerByBankAccount(accountId)) {
+                    for (LedgerEntryRow row : (Iterable<LedgerEntryRow>) rows::iterator) {
+                        scanned++;
+                        if (previous != null && row.previousBalance().compareTo(previous.newBalance()) != 0) {
+                            stats.report(accountId, row.id(), Kind.BROKEN_CHAIN,
+                                    previous.newBalance(), row.previousBalance());
+                            found++;
+                        }
+                        BigDecimal expectedNew = TransactionType.CREDIT == row.type()
+                                ? row.previousBalance().add(row.amount())
+                                : row.previousBalance().subtract(row.amount());
+                        if (expectedNew.compareTo(row.newBalance()) != 0) {
+                            stats.report(accountId, row.id(), Kind.WRONG_ARITHMETIC,
+                                    expectedNew, row.newBalance());
+                            found++;
+                        }
+                        previous = row;
+                    }
+                }
+                if (previous != null && previous.newBalance().compareTo(account.get().balance()) != 0) {
+                    stats.report(accountId, null, Kind.BALANCE_MISMATCH,
+                            previous.newBalance(), account.get().balance());
+                    found++;
+                }
+                stats.accountsAudited.increment();
+                stats.transactionsScanned.add(scanned);
+                if (found > 0) {
+                    stats.accountsWithDiscrepancies.increment();
+                }
+            });
+        } catch (DataAccessException e) {
+            log.warn("Ledger audit of account {} failed: {}", accountId, e.getMessage());
+            stats.failedAccounts.increment();
+        }
+    }
+
+    private final class AuditStats {
+        private final LongAdder accountsAudited = new LongAdder();
+        private final LongAdder transactionsScanned = new LongAdder();
+        private final LongAdder accountsWithDiscrepancies = new LongAdder();
+        private final LongAdder discrepancyCount = new LongAdder();
+        private final LongAdder failedAccounts = new LongAdder();
+        private final AtomicInteger listed = new AtomicInteger();
+        private final Queue<Discrepancy> discrepancies = new ConcurrentLinkedQueue<>();
+
+        private void report(UUID accountId, UUID transactionId, Kind kind, BigDecimal expected, BigDecimal actual) {
+            discrepancyCount.increment();
+            if (listed.getAndIncrement() < maxReported) {
+                discrepancies.add(new Discrepancy(accountId, transactionId, kind, expected, actual));
+            }
+        }
+
+        private LedgerAuditReport toReport(LocalDateTime startedAt, Duration duration) {
+            return new LedgerAuditReport(startedAt, duration, accountsAudited.sum(), transactionsScanned.sum(),
+                    accountsWithDiscrepancies.sum(), discrepancyCount.sum(), failedAccounts.sum(),
+                    List.copyOf(discrepancies));
+        }
+    }
+}
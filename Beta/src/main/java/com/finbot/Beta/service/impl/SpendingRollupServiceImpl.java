@@ -0,0 +1,219 @@
+package com.finbot.Beta.service.impl;
+
+import com.finbot.Beta.Dto.response.SpendingBucketDto;
+import com.finbot.Beta.Dto.response.SpendingSummaryResponseDto;
+import com.finbot.Beta.Exceptions.InvalidQueryException;
+import com.finbot.Beta.entity.SpendingRollup;
+import com.finbot.Beta.entity.SpendingRollupId;
+import com.finbot.Beta.entity.TransactionType;
+import com.finbot.Beta.entity.User;
+import com.finbot.Beta.repository.BankAccountRepository;
+import com.finbot.Beta.repository.SpendingRollupRepository;
+import com.finbot.Beta.repository.TransactionRepository;
+import com.finbot.Beta.repository.projection.DailyTotalRow;
+import com.finbot.Beta.service.SpendingRollupService;
+import com.finbot.Beta.service.support.Money;
+import com.finbot.Beta.service.support.SummaryGranularity;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Keeps one spending_rollups row per (user, category, day, type), incremented in the same transaction
+ * as the transaction insert, so summaries read a handful of pre-aggregated rows instead of scanning
+ * the transactions table.
+ *
+ * <p>The increment is a relative UPDATE. Writers call {@link #prepare} before opening their write
+ * transaction, which creates missing rows with zero totals in a short transaction of its own, so two
+ * writers racing on a new day both end up incrementing the same committed row; the loser of the
+ * insert race just sees the unique-key violation and moves on. Doing this up front means no writer
+ * ever needs a second connection while it holds its own and the bank account row lock. Keys known
+ * to exist are cached, so the steady state is a single UPDATE per transaction.
+ */
+@Slf4j
+@Service
+public class SpendingRollupServiceImpl implements SpendingRollupService {
+
+    // Rollup key for transactions without a category. Blank categories land here too, so no category a
+    // client can send maps onto it; summaries report the bucket with a null category.
+    static final String UNCATEGORIZED = "";
+
+    // A summary over more days than this is refused rather than returning an unbounded bucket list
+    private static final long MAX_SUMMARY_DAYS = 3660;
+
+    private final SpendingRollupRepository spendingRollupRepository;
+    private final TransactionRepository transactionRepository;
+    private final BankAccountRepository bankAccountRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate rowCreator;
+    private final Cache<SpendingRollupId, Boolean> existingKeys;
+
+    public SpendingRollupServiceImpl(
+            SpendingRollupRepository spendingRollupRepository,
+            TransactionRepository transactionRepository,
+            BankAccountRepository bankAccountRepository,
+            EntityManager entityManager,
+            PlatformTransactionManager transactionManager,
+            @Value("${rollup.known-keys.max-size:100000}") long knownKeysMaxSize) {
+        this.spendingRollupRepository = spendingRollupRepository;
+        this.transactionRepository = transactionRepository;
+        this.bankAccountRepository = bankAccountRepository;
+        this.entityManager = entityManager;
+        this.rowCreator = new TransactionTemplate(transactionManager);
+        this.existingKeys = Caffeine.newBuilder()
+                .maximumSize(knownKeysMaxSize)
+                .build();
+    }
+
+    @Override
+    public void prepare(Collection<SpendingRollupId> ids) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("Spending rollups must be prepared before the write transaction starts");
+        }
+        ids.stream()
+                .distinct()
+                .filter(id -> existingKeys.getIfPresent(id) == null)
+                .sorted(SpendingRollupServiceImpl::compareIds)
+                .forEach(id -> {
+                    createEmptyRow(id);
+                    existingKeys.put(id, Boolean.TRUE);
+                });
+    }
+
+    @Override
+    @Transactional
+    public void record(User user, String category, LocalDate day, TransactionType type, BigDecimal amount, long count) {
+        SpendingRollupId id = new SpendingRollupId(user.getId(), normalize(category), day, type);
+        if (spendingRollupRepository.increment(id, amount, count) > 0) {
+            return;
+        }
+        // Not prepared, or removed by a rebuild since; insert it in the caller's transaction rather than
+        // taking another connection. A concurrent insert of the same key fails this write instead.
+        existingKeys.invalidate(id);
+        entityManager.persist(new SpendingRollup(id, amount, count));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public SpendingSummaryResponseDto getSummary(User user, SummaryGranularity granularity, LocalDate startDate,
+                                                 LocalDate endDate, TransactionType type, String category) {
+        if (endDate.isBefore(startDate)) {
+            throw new InvalidQueryException("endDate must not be before startDate");
+        }
+        if (ChronoUnit.DAYS.between(startDate, endDate) > MAX_SUMMARY_DAYS) {
+            throw new InvalidQueryException("Summary range must not exceed " + MAX_SUMMARY_DAYS + " days");
+        }
+
+        // Ordered by period, then category, which is the order the buckets are returned in
+        Map<LocalDate, Map<String, SpendingBucketDto>> buckets = new TreeMap<>();
+        BigDecimal grandTotal = BigDecimal.ZERO;
+        for (SpendingRollup rollup : spendingRollupRepository.findForSummary(user.getId(), startDate, endDate, type)) {
+            SpendingRollupId id = rollup.getId();
+            // Prepared for a write that then failed, e.g. on insufficient funds
+            if (rollup.getTransactionCount() == 0) {
+                continue;
+            }
+            if (category != null && !category.equals(id.getCategory())) {
+                continue;
+            }
+            LocalDate periodStart = granularity.bucketStart(id.getRollupDate());
+            SpendingBucketDto bucket = buckets.computeIfAbsent(periodStart, d -> new TreeMap<>())
+                    .computeIfAbsent(id.getCategory(), c -> SpendingBucketDto.builder()
+                            .periodStart(periodStart)
+                            .periodEnd(granularity.bucketEnd(periodStart))
+                            .category(UNCATEGORIZED.equals(c) ? null : c)
+                            .totalAmount(BigDecimal.ZERO)
+                            .build());
+            bucket.setTotalAmount(bucket.getTotalAmount().add(rollup.getTotalAmount()));
+            bucket.setTransactionCount(bucket.getTransactionCount() + rollup.getTransactionCount());
+            grandTotal = grandTotal.add(rollup.getTotalAmount());
+        }
+
+        List<SpendingBucketDto> ordered = new ArrayList<>();
+        buckets.values().forEach(byCategory -> ordered.addAll(byCategory.values()));
+        return SpendingSummaryResponseDto.builder()
+                .granularity(granularity)
+                .type(type)
+                .startDate(startDate)
+                .endDate(endDate)
+                .totalAmount(grandTotal)
+                .buckets(ordered)
+                .build();
+    }
+
+    @Override
+    @Transactional
+    public int rebuild(User user) {
+        // Every writer locks the account row it posts to before touching a rollup, so holding all of the
+        // user's accounts waits out in-flight writes and keeps new ones from landing between the delete
+        // and the re-insert; the transactions read below are then exactly what the rollups must sum to.
+        bankAccountRepository.lockAllByUserId(user.getId());
+        spendingRollupRepository.deleteByUserId(user.getId());
+        existingKeys.asMap().keySet().removeIf(id -> id.getUserId().equals(user.getId()));
+
+        // Uncategorized transactions come back as a null group; merge them like record() does
+        Map<SpendingRollupId, SpendingRollup> rows = new TreeMap<>(SpendingRollupServiceImpl::compareIds);
+        for (DailyTotalRow row : transactionRepository.sumDailyTotalsByUser(user)) {
+            SpendingRollupId id = new SpendingRollupId(user.getId(), normalize(row.category()), row.day(), row.type());
+            rows.merge(id, new SpendingRollup(id, row.total(), row.count()), SpendingRollupServiceImpl::combine);
+        }
+        // persist, not saveAll: the ids are assigned, so save() would merge and SELECT every row first
+        rows.values().forEach(entityManager::persist);
+        log.info("Rebuilt {} spending rollups for user {}", rows.size(), user.getId());
+        return rows.size();
+    }
+
+    private void createEmptyRow(SpendingRollupId id) {
+        try {
+            rowCreator.executeWithoutResult(status -> {
+                if (!spendingRollupRepository.existsById(id)) {
+                    entityManager.persist(new SpendingRollup(id, BigDecimal.ZERO, 0));
+                    entityManager.flush();
+                }
+            });
+        } catch (ConstraintViolationException | DataIntegrityViolationException e) {
+            // Another writer created the row first; incrementing it is all that is left to do
+            log.debug("Spending rollup {} created concurrently", id);
+        }
+    }
+
+    /**
+     * Order in which a batch should record its keys, so concurrent batches lock rollup rows in the
+     * same order and cannot deadlock on each other.
+     */
+    static int compareIds(SpendingRollupId a, SpendingRollupId b) {
+        int result = a.getCategory().compareTo(b.getCategory());
+        if (result == 0) {
+            result = a.getRollupDate().compareTo(b.getRollupDate());
+        }
+        return result != 0 ? result : a.getType().compareTo(b.getType());
+    }
+
+    static SpendingRollup combine(SpendingRollup into, SpendingRollup other) {
+        into.setTotalAmount(Money.of(into.getTotalAmount()).plus(Money.of(other.getTotalAmount())).toBigDecimal());
+        into.setTransactionCount(into.getTransactionCount() + other.getTransactionCount());
+        return into;
+    }
+
+    static String normalize(String category) {
+        return category != null && !category.isBlank() ? category : UNCATEGORIZED;
+    }
+}
@@ -0,0 +1,197 @@
+package com.finbot.Beta.service.impl;
+
+import com.finbot.Beta.Dto.request.TransactionRequestDto;
+import com.finbot.Beta.Dto.response.ImportJobResponseDto;
+import com.finbot.Beta.Dto.response.TransactionBatchItemResultDto;
+import com.finbot.Beta.Dto.response.TransactionBatchResponseDto;
+import com.finbot.Beta.Exceptions.ImportCapacityException;
+import com.finbot.Beta.Exceptions.InvalidStatementException;
+import com.finbot.Beta.Exceptions.ResourceNotFoundException;
+import com.finbot.Beta.entity.User;
+import com.finbot.Beta.service.StatementImportService;
+import com.finbot.Beta.service.TransactionService;
+import com.finbot.Beta.service.statement.ImportJob;
+import com.finbot.Beta.service.statement.StatementFormat;
+import com.finbot.Beta.service.statement.StatementParser;
+import com.finbot.Beta.service.statement.StatementRecord;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Imports uploaded bank statements in the background. The upload is spooled to a temp file, then
+ * a worker pulls rows from a streaming parser and hands them to the batch write path one chunk at
+ * a time; the next chunk is only read once the previous one has committed, so memory stays flat
+ * regardless of file size. A bounded worker pool and queue cap how many imports run at once.
+ */
+@Slf4j
+@Service
+public class StatementImportServiceImpl implements StatementImportService {
+
+    private final TransactionService transactionService;
+    private final int chunkSize;
+    private final long retentionMinutes;
+    private final ThreadPoolExecutor executor;
+    private final Map<UUID, ImportJob> jobs = new ConcurrentHashMap<>();
+
+    public StatementImportServiceImpl(
+            TransactionService transactionService,
+            @Value("${transactions.import.chunk-size:1000}") int chunkSize,
+            @Value("${transactions.import.max-concurrent-jobs:2}") int maxConcurrentJobs,
+            @Value("${transactions.import.queue-capacity:8}") int queueCapacity,
+            @Value("${transactions.import.job-retention-minutes:60}") long retentionMinutes) {
+        this.transactionService = transactionService;
+        this.chunkSize = Math.max(1, chunkSize);
+        this.retentionMinutes = retentionMinutes;
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(maxConcurrentJobs, maxConcurrentJobs, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueCapacity)), runnable -> {
+                    Thread thread = new Thread(runnable, "statement-import-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    @Override
+    public ImportJobResponseDto startImport(User user, UUID bankAccountId, MultipartFile file, StatementFormat format) {
+        if (file == null || file.isEmpty()) {
+            throw new InvalidStatementException("Statement file is required");
+        }
+        StatementFormat resolvedFormat = format != null ? format : StatementFormat.fromFileName(file.getOriginalFilename());
+        if (resolvedFormat == null) {
+            throw new InvalidStatementException("Unable to detect the statement format, pass format=CSV or format=OFX");
+        }
+
+        evictFinishedJobs();
+
+        // The multipart part is deleted when the request ends, so keep our own copy for the worker
+        Path spool;
+        try {
+            spool = Files.createTempFile("statement-import-", "." + resolvedFormat.name().toLowerCase());
+            file.transferTo(spool);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Failed to store uploaded statement", ex);
+        }
+
+        ImportJob job = new ImportJob(user.getId(), bankAccountId, file.getOriginalFilename(), resolvedFormat);
+        jobs.put(job.getId(), job);
+        try {
+            executor.execute(() -> runImport(job, user, spool));
+        } catch (RejectedExecutionException ex) {
+            jobs.remove(job.getId());
+            deleteQuietly(spool);
+            throw new ImportCapacityException("Too many statement imports in progress, please retry later");
+        }
+        return mapToResponse(job);
+    }
+
+    @Override
+    public ImportJobResponseDto getImportJob(User user, UUID jobId) {
+        ImportJob job = jobs.get(jobId);
+        if (job == null || !job.getUserId().equals(user.getId())) {
+            throw new ResourceNotFoundException("Import job not found");
+        }
+        return mapToResponse(job);
+    }
+
+    private void runImport(ImportJob job, User user, Path spool) {
+        job.start();
+        try (StatementParser parser = job.getFormat().open(
+                Files.newBufferedReader(spool, StandardCharsets.UTF_8), job.getBankAccountId())) {
+            List<TransactionRequestDto> chunk = new ArrayList<>(chunkSize);
+            List<Long> positions = new ArrayList<>(chunkSize);
+
+            StatementRecord record;
+            while ((record = parser.next()) != null) {
+                job.recordRead();
+                if (record.error() != null) {
+                    job.recordFailure(record.error());
+                    continue;
+                }
+                chunk.add(record.request());
+                positions.add(record.position());
+                if (chunk.size() == chunkSize) {
+                    applyChunk(job, user, chunk, positions);
+                }
+            }
+            if (!chunk.isEmpty()) {
+                applyChunk(job, user, chunk, positions);
+            }
+            job.complete();
+        } catch (Exception ex) {
+            // Chunks that already committed stay imported; the status reports where it stopped
+            log.warn("Statement import {} failed after {} rows", job.getId(), job.getRowsRead().get(), ex);
+            job.fail(ex.getMessage());
+        } finally {
+            deleteQuietly(spool);
+        }
+    }
+
+    private void applyChunk(ImportJob job, User user, List<TransactionRequestDto> chunk, List<Long> positions) {
+        TransactionBatchResponseDto response = transactionService.createTransactions(user, chunk);
+        job.recordImported(response.getSuccessCount());
+        for (TransactionBatchItemResultDto result : response.getResults()) {
+            if (!result.isSuccess()) {
+                job.recordFailure("Row " + positions.get(result.getIndex()) + ": " + result.getError());
+            }
+        }
+        chunk.clear();
+        positions.clear();
+    }
+
+    private void evictFinishedJobs() {
+        LocalDateTime cutoff = LocalDateTime.now().minusMinutes(retentionMinutes);
+        jobs.values().removeIf(job -> job.isFinished() && job.getFinishedAt().isBefore(cutoff));
+    }
+
+    private void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException ex) {
+            log.warn("Could not delete statement spool file {}", path, ex);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private ImportJobResponseDto mapToResponse(ImportJob job) {
+        return ImportJobResponseDto.builder()
+                .id(job.getId())
+                .bankAccountId(job.getBankAccountId())
+                .fileName(job.getFileName())
+                .format(job.getFormat().name())
+                .status(job.getStatus().name())
+                .rowsRead(job.getRowsRead().get())
+                .importedCount(job.getImportedCount().get())
+                .failedCount(job.getFailedCount().get())
+                .errors(job.getErrors())
+                .failureReason(job.getFailureReason())
+                .createdAt(job.getCreatedAt())
+                .startedAt(job.getStartedAt())
+                .finishedAt(job.getFinishedAt())
+                .build();
+    }
+}
@@ -0,0 +1,43 @@
+package com.finbot.Beta.service.impl;
+
+import com.finbot.Beta.Dto.response.InsightBucketDto;
+import com.finbot.Beta.Dto.response.InsightsResponseDto;
+import com.finbot.Beta.Exceptions.InvalidQueryException;
+import com.finbot.Beta.entity.User;
+import com.finbot.Beta.service.TransactionInsightsService;
+import com.finbot.Beta.service.analytics.AnalyticsQuery;
+import com.finbot.Beta.service.analytics.TransactionAnalyticsEngine;
+import com.finbot.Beta.service.support.Money;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+@Service
+@RequiredArgsConstructor
+public class TransactionInsightsServiceImpl implements TransactionInsightsService {
+
+    private final TransactionAnalyticsEngine analyticsEngine;
+
+    @Override
+    public InsightsResponseDto getInsights(User user, AnalyticsQuery query) {
+        if (query.startDate() != null && query.endDate() != null && query.endDate().isBefore(query.startDate())) {
+            throw new InvalidQueryException("endDate must not be before startDate");
+        }
+        if (query.limit() < 0) {
+            throw new InvalidQueryException("limit must not be negative");
+        }
+
+        return InsightsResponseDto.builder()
+                .groupBy(query.groupBy())
+                .type(query.type())
+                .startDate(query.startDate())
+                .endDate(query.endDate())
+                .buckets(analyticsEngine.query(user.getId(), query).stream()
+                        .map(group -> InsightBucketDto.builder()
+                                .key(group.key())
+                                .totalAmount(new Money(group.totalUnits()).toBigDecimal())
+                                .transactionCount(group.count())
+                                .build())
+                        .toList())
+                .build();
+    }
+}
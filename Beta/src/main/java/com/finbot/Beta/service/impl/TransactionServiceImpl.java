@@ -1,137 +1,373 @@
 package com.finbot.Beta.service.impl;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.finbot.Beta.Dto.request.TransactionRequestDto;
+import com.finbot.Beta.Dto.response.TransactionBatchItemResultDto;
+import com.finbot.Beta.Dto.response.TransactionBatchResponseDto;
+import com.finbot.Beta.Dto.response.TransactionFeedResponseDto;
 import com.finbot.Beta.Dto.response.TransactionResponseDto;
-import com.finbot.Beta.Exceptions.InsufficientFundsException;
 import com.finbot.Beta.Exceptions.ResourceNotFoundException;
 import com.finbot.Beta.entity.BankAccount;
+import com.finbot.Beta.entity.SpendingRollup;
+import com.finbot.Beta.entity.SpendingRollupId;
 import com.finbot.Beta.entity.Transaction;
 import com.finbot.Beta.entity.TransactionType;
 import com.finbot.Beta.entity.User;
 import com.finbot.Beta.repository.BankAccountRepository;
 import com.finbot.Beta.repository.TransactionRepository;
+import com.finbot.Beta.repository.projection.AccountBalanceView;
+import com.finbot.Beta.repository.projection.TransactionFactRow;
+import com.finbot.Beta.repository.projection.TransactionRow;
 import com.finbot.Beta.service.BankAccountService;
 import com.finbot.Beta.service.BudgetService;
+import com.finbot.Beta.service.SpendingRollupService;
 import com.finbot.Beta.service.TransactionService;
+import com.finbot.Beta.service.analytics.TransactionAnalyticsEngine;
+import com.finbot.Beta.service.export.ExportFormat;
+import com.finbot.Beta.service.export.TransactionExport;
+import com.finbot.Beta.service.export.TransactionExportWriter;
+import com.finbot.Beta.service.support.ContentionAwareRetryExecutor;
+import com.finbot.Beta.service.support.IdempotencyStore;
+import com.finbot.Beta.service.support.Money;
+import com.finbot.Beta.service.support.TransactionCursor;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.math.BigDecimal;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class TransactionServiceImpl implements TransactionService {
 
+    // Matches hibernate.jdbc.batch_size so every flush sends full JDBC batches
+    private static final int BATCH_FLUSH_SIZE = 50;
+
+    private static final int MAX_FEED_PAGE_SIZE = 100;
+
+    // Export output is pushed to the client every this many rows
+    private static final int EXPORT_FLUSH_INTERVAL = 500;
+
     private final TransactionRepository transactionRepository;
     private final BankAccountRepository bankAccountRepository;
     private final BankAccountService bankAccountService;
     private final BudgetService budgetService;
+    private final SpendingRollupService spendingRollupService;
+    private final TransactionAnalyticsEngine analyticsEngine;
+    private final EntityManager entityManager;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final ContentionAwareRetryExecutor retryExecutor;
+    private final IdempotencyStore idempotencyStore;
+    private final ObjectMapper objectMapper;
 
     @Override
-    @Transactional
     public TransactionResponseDto createTransaction(User user, TransactionRequestDto request) {
-        // Debug logging
-        System.out.println("User ID: " + user.getId());
-        System.out.println("Bank Account ID requested: " + request.getBankAccountId());
-
-        Optional<BankAccount> anyAccount = bankAccountRepository.findById(request.getBankAccountId());
-
-        if (anyAccount.isEmpty()) {
-            throw new ResourceNotFoundException("Bank account with ID " + request.getBankAccountId() + " does not exist");
-        }
-
-        BankAccount account = anyAccount.get();
-        if (!account.getUser().getId().equals(user.getId())) {
-            throw new ResourceNotFoundException("Bank account belongs to different user. Expected: " + user.getId() + ", Found: " + account.getUser().getId());
-        }
+        // Rollup rows are created before the account row is locked, so the write only increments them
+        spendingRollupService.prepare(List.of(rollupId(user, request)));
+        // Each attempt runs in its own transaction so a lost race is retried from a clean state
+        return retryExecutor.execute(request.getBankAccountId(), () ->
+                transactionTemplate.execute(status -> writeTransaction(user, request)));
+    }
 
-        if (account.getIsActive() == null || !account.getIsActive()) {
-            throw new ResourceNotFoundException("Bank account is inactive. isActive=" + account.getIsActive());
+    @Override
+    public TransactionResponseDto createTransaction(User user, TransactionRequestDto request, String idempotencyKey) {
+        if (idempotencyKey == null) {
+            return createTransaction(user, request);
         }
+        return idempotencyStore.execute(user.getId(), idempotencyKey, request, () -> createTransaction(user, request));
+    }
 
-        // Validate bank account
-        BankAccount bankAccount = bankAccountRepository.findByIdAndUserAndIsActiveTrue(request.getBankAccountId(), user)
-                .orElseThrow(() -> new ResourceNotFoundException("Bank account not found"));
+    private TransactionResponseDto writeTransaction(User user, TransactionRequestDto request) {
+        log.debug("Writing transaction for user {} on bank account {}", user.getId(), request.getBankAccountId());
 
-        BigDecimal previousBalance = bankAccount.getBalance();
-        BigDecimal newBalance;
+        // Single guarded UPDATE; fails with not-found or insufficient funds instead of racing other writers
+        AccountBalanceView balance = bankAccountService.updateBalance(
+                user.getId(), request.getBankAccountId(), request.getAmount(), request.getType());
 
-        //check for credit debit type and update the balance accordingly
-        if(TransactionType.CREDIT == request.getType()){
-            newBalance = previousBalance.add(request.getAmount());
-        }else if(TransactionType.DEBIT == request.getType()){
-            // Check if there are sufficient funds for debit transaction
-            if (previousBalance.compareTo(request.getAmount()) < 0) {
-                throw new InsufficientFundsException("Insufficient funds in account");
-            }
-            newBalance = previousBalance.subtract(request.getAmount());
-        }else{
-            throw new IllegalArgumentException("Transaction type must be either CREDIT or DEBIT");
-        }
+        Money amount = Money.of(request.getAmount());
+        Money newBalance = Money.of(balance.balance());
+        Money previousBalance = TransactionType.CREDIT == request.getType()
+                ? newBalance.minus(amount)
+                : newBalance.plus(amount);
 
         // Create transaction
         Transaction transaction = Transaction.builder()
                 .user(user)
-                .bankAccount(bankAccount)
+                .bankAccount(bankAccountRepository.getReferenceById(balance.id()))
                 .amount(request.getAmount())
                 .type(request.getType())
                 .category(request.getCategory())
                 .description(request.getDescription())
                 .transactionDate(request.getTransactionDate() != null ? request.getTransactionDate() : LocalDateTime.now())
-                .previousBalance(previousBalance)
-                .newBalance(newBalance)
+                .previousBalance(previousBalance.toBigDecimal())
+                .newBalance(newBalance.toBigDecimal())
                 .build();
 
         // Save transaction
         Transaction savedTransaction = transactionRepository.save(transaction);
 
-        // Update bank account balance
-        bankAccountService.updateBalance(bankAccount.getId(), request.getAmount(), request.getType().name());
+        // Same transaction as the insert, so the rollup can never drift from the rows it sums
+        spendingRollupService.record(user, request.getCategory(), savedTransaction.getTransactionDate().toLocalDate(),
+                request.getType(), request.getAmount(), 1);
+        analyticsEngine.recordAfterCommit(user.getId(), List.of(new TransactionFactRow(
+                savedTransaction.getTransactionDate(), request.getAmount(), request.getType(),
+                request.getCategory(), balance.id())));
 
-        // Update budget if it's a debit transaction with a category
+        // Budget spending is applied asynchronously from the outbox, keeping budget tables off this path
         if (TransactionType.DEBIT == request.getType() && request.getCategory() != null) {
-            budgetService.updateBudgetSpending(user, request.getCategory(), request.getAmount());
+            budgetService.enqueueBudgetSpending(user, request.getCategory(), request.getAmount(),
+                    savedTransaction.getTransactionDate().toLocalDate());
         }
 
         // Create response
         return TransactionResponseDto.builder()
                 .id(savedTransaction.getId())
                 .userId(user.getId())
-                .bankAccountId(bankAccount.getId())
-                .bankAccountName(bankAccount.getName())
+                .bankAccountId(balance.id())
+                .bankAccountName(balance.name())
                 .amount(savedTransaction.getAmount())
                 .type(savedTransaction.getType().name())
                 .category(savedTransaction.getCategory())
                 .description(savedTransaction.getDescription())
                 .transactionDate(savedTransaction.getTransactionDate())
-                .previousBalance(previousBalance)
-                .newBalance(newBalance)
+                .previousBalance(savedTransaction.getPreviousBalance())
+                .newBalance(savedTransaction.getNewBalance())
                 .createdAt(savedTransaction.getCreatedAt())
                 .build();
     }
 
+    @Override
+    public TransactionBatchResponseDto createTransactions(User user, List<TransactionRequestDto> requests) {
+        spendingRollupService.prepare(requests.stream()
+                .filter(request -> request != null && request.getType() != null)
+                .map(request -> rollupId(user, request))
+                .toList());
+        // Accounts are locked up front; retries only cover deadlocks and lock-wait timeouts
+        return retryExecutor.execute(null, () ->
+                transactionTemplate.execute(status -> writeTransactions(user, requests)));
+    }
+
+    private TransactionBatchResponseDto writeTransactions(User user, List<TransactionRequestDto> requests) {
+        TransactionBatchItemResultDto[] results = new TransactionBatchItemResultDto[requests.size()];
+
+        // Validate every item up front and group the valid ones by bank account
+        Map<UUID, List<Integer>> indexesByAccount = new LinkedHashMap<>();
+        for (int i = 0; i < requests.size(); i++) {
+            String error = validateBatchItem(requests.get(i));
+            if (error != null) {
+                results[i] = batchFailure(i, error);
+                continue;
+            }
+            indexesByAccount.computeIfAbsent(requests.get(i).getBankAccountId(), id -> new ArrayList<>()).add(i);
+        }
+
+        // One query for every account referenced by the batch, locking the rows whose balances we rewrite
+        Map<UUID, BankAccount> accounts = indexesByAccount.isEmpty()
+                ? Map.of()
+                : bankAccountRepository.findAllForUpdate(indexesByAccount.keySet(), user).stream()
+                        .collect(Collectors.toMap(BankAccount::getId, Function.identity()));
+
+        List<Transaction> pending = new ArrayList<>();
+        List<Integer> pendingIndexes = new ArrayList<>();
+        Map<String, Map<LocalDate, Money>> debitsByCategory = new HashMap<>();
+        Map<SpendingRollupId, SpendingRollup> rollups = new TreeMap<>(SpendingRollupServiceImpl::compareIds);
+
+        for (Map.Entry<UUID, List<Integer>> entry : indexesByAccount.entrySet()) {
+            BankAccount bankAccount = accounts.get(entry.getKey());
+            List<Integer> indexes = entry.getValue();
+            if (bankAccount == null) {
+                indexes.forEach(i -> results[i] = batchFailure(i, "Bank account not found"));
+                continue;
+            }
+
+            // Build the previousBalance/newBalance chain in date order, entirely in memory
+            indexes.sort(Comparator.comparing(i -> requests.get(i).getTransactionDate()));
+            Money balance = Money.of(bankAccount.getBalance());
+            for (int i : indexes) {
+                TransactionRequestDto request = requests.get(i);
+                Money amount = Money.of(request.getAmount());
+                Money newBalance;
+                if (TransactionType.CREDIT == request.getType()) {
+                    newBalance = balance.plus(amount);
+                } else {
+                    if (balance.isLessThan(amount)) {
+                        results[i] = batchFailure(i, "Insufficient funds in account");
+                        continue;
+                    }
+                    newBalance = balance.minus(amount);
+                    if (request.getCategory() != null) {
+                        debitsByCategory.computeIfAbsent(request.getCategory(), c -> new HashMap<>())
+                                .merge(request.getTransactionDate().toLocalDate(), amount, Money::plus);
+                    }
+                }
+
+                pending.add(Transaction.builder()
+                        .user(user)
+                        .bankAccount(bankAccount)
+                        .amount(request.getAmount())
+                        .type(request.getType())
+                        .category(request.getCategory())
+                        .description(request.getDescription())
+                        .transactionDate(request.getTransactionDate())
+                        .previousBalance(balance.toBigDecimal())
+                        .newBalance(newBalance.toBigDecimal())
+                        .build());
+                pendingIndexes.add(i);
+                SpendingRollupId rollupId = new SpendingRollupId(user.getId(),
+                        SpendingRollupServiceImpl.normalize(request.getCategory()),
+                        request.getTransactionDate().toLocalDate(), request.getType());
+                rollups.merge(rollupId, new SpendingRollup(rollupId, request.getAmount(), 1),
+                        SpendingRollupServiceImpl::combine);
+                balance = newBalance;
+            }
+
+            // Dirty-checked, so each account gets a single UPDATE on the first flush
+            bankAccount.setBalance(balance.toBigDecimal());
+        }
+
+        // One outbox entry per category and day instead of one budget update per row
+        debitsByCategory.forEach((category, byDate) -> byDate.forEach((date, amount) ->
+                budgetService.enqueueBudgetSpending(user, category, amount.toBigDecimal(), date)));
+
+        // One increment per rollup key, in a fixed key order so concurrent batches cannot deadlock
+        rollups.values().forEach(r -> spendingRollupService.record(user, r.getId().getCategory(),
+                r.getId().getRollupDate(), r.getId().getType(), r.getTotalAmount(), r.getTransactionCount()));
+        analyticsEngine.recordAfterCommit(user.getId(), pending.stream()
+                .map(t -> new TransactionFactRow(t.getTransactionDate(), t.getAmount(), t.getType(),
+                        t.getCategory(), t.getBankAccount().getId()))
+                .toList());
+
+        // Insert in chunks through JDBC batching, clearing the persistence context as we go
+        for (int from = 0; from < pending.size(); from += BATCH_FLUSH_SIZE) {
+            int to = Math.min(from + BATCH_FLUSH_SIZE, pending.size());
+            List<Transaction> chunk = pending.subList(from, to);
+            transactionRepository.saveAll(chunk);
+            entityManager.flush();
+            for (int j = from; j < to; j++) {
+                int index = pendingIndexes.get(j);
+                results[index] = TransactionBatchItemResultDto.builder()
+                        .index(index)
+                        .success(true)
+                        .transaction(mapToResponse(pending.get(j)))
+                        .build();
+            }
+            entityManager.clear();
+        }
+
+        int successCount = pending.size();
+        return TransactionBatchResponseDto.builder()
+                .totalCount(requests.size())
+                .successCount(successCount)
+                .failureCount(requests.size() - successCount)
+                .results(List.of(results))
+                .build();
+    }
+
+    private SpendingRollupId rollupId(User user, TransactionRequestDto request) {
+        LocalDate day = request.getTransactionDate() != null ? request.getTransactionDate().toLocalDate() : LocalDate.now();
+        return new SpendingRollupId(user.getId(), SpendingRollupServiceImpl.normalize(request.getCategory()), day,
+                request.getType());
+    }
+
+    private String validateBatchItem(TransactionRequestDto request) {
+        if (request == null) {
+            return "Transaction is required";
+        }
+        Set<ConstraintViolation<TransactionRequestDto>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            return violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining(", "));
+        }
+        if (request.getTransactionDate() == null) {
+            request.setTransactionDate(LocalDateTime.now());
+        }
+        return null;
+    }
+
+    private TransactionBatchItemResultDto batchFailure(int index, String error) {
+        return TransactionBatchItemResultDto.builder()
+                .index(index)
+                .success(false)
+                .error(error)
+                .build();
+    }
+
     @Override
     @Transactional(readOnly = true)
     public Page<TransactionResponseDto> getUserTransactions(User user, Pageable pageable) {
-        return transactionRepository.findByUserOrderByTransactionDateDesc(user, pageable)
+        return transactionRepository.findRowsByUser(user, pageable)
                 .map(this::mapToResponse);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public TransactionFeedResponseDto getTransactionFeed(User user, String cursor, int size) {
+        int pageSize = Math.min(Math.max(size, 1), MAX_FEED_PAGE_SIZE);
+        // One extra row tells us whether another page exists without counting
+        PageRequest limit = PageRequest.ofSize(pageSize + 1);
+
+        List<TransactionRow> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = transactionRepository.findFeedFirstPage(user, limit);
+        } else {
+            TransactionCursor position = TransactionCursor.decode(cursor);
+            rows = transactionRepository.findFeedPageAfter(user, position.transactionDate(), position.id(), limit);
+        }
+
+        boolean hasMore = rows.size() > pageSize;
+        List<TransactionRow> page = hasMore ? rows.subList(0, pageSize) : rows;
+        String nextCursor = null;
+        if (hasMore) {
+            TransactionRow last = page.get(page.size() - 1);
+            nextCursor = new TransactionCursor(last.transactionDate(), last.id()).encode();
+        }
+
+        return TransactionFeedResponseDto.builder()
+                .items(page.stream().map(this::mapToResponse).collect(Collectors.toList()))
+                .nextCursor(nextCursor)
+                .hasMore(hasMore)
+                .build();
+    }
+
     @Override
     @Transactional(readOnly = true)
     public List<TransactionResponseDto> getTransactionsByBankAccount(User user, UUID bankAccountId) {
-        BankAccount bankAccount = bankAccountRepository.findByIdAndUserAndIsActiveTrue(bankAccountId, user)
-                .orElseThrow(() -> new ResourceNotFoundException("Bank account not found"));
+        List<TransactionRow> rows = transactionRepository.findRowsByUserAndBankAccount(user, bankAccountId);
+
+        // The query already filters on the account; only an empty result can mean it does not exist
+        if (rows.isEmpty() && !bankAccountRepository.existsByIdAndUserAndIsActiveTrue(bankAccountId, user)) {
+            throw new ResourceNotFoundException("Bank account not found");
+        }
 
-        return transactionRepository.findByUserAndBankAccount(user, bankAccount).stream()
+        return rows.stream()
                 .map(this::mapToResponse)
                 .collect(Collectors.toList());
     }
@@ -139,7 +375,7 @@ public class TransactionServiceImpl implements TransactionService {
     @Override
     @Transactional(readOnly = true)
     public List<TransactionResponseDto> getTransactionsByDateRange(User user, LocalDateTime startDate, LocalDateTime endDate) {
-        return transactionRepository.findByUserAndDateRange(user, startDate, endDate).stream()
+        return transactionRepository.findRowsByUserAndDateRange(user, startDate, endDate).stream()
                 .map(this::mapToResponse)
                 .collect(Collectors.toList());
     }
@@ -147,23 +383,81 @@ public class TransactionServiceImpl implements TransactionService {
     @Override
     @Transactional(readOnly = true)
     public List<TransactionResponseDto> getTransactionsByCategory(User user, String category) {
-        return transactionRepository.findByUserAndCategory(user, category).stream()
+        return transactionRepository.findRowsByUserAndCategory(user, category).stream()
                 .map(this::mapToResponse)
                 .collect(Collectors.toList());
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public TransactionExport exportTransactionsByBankAccount(User user, UUID bankAccountId, ExportFormat format) {
+        // Checked up front so a missing account is a 404 rather than a truncated stream
+        if (!bankAccountRepository.existsByIdAndUserAndIsActiveTrue(bankAccountId, user)) {
+            throw new ResourceNotFoundException("Bank account not found");
+        }
+
+        return export(format, () -> transactionRepository.streamByUserAndBankAccount(user, bankAccountId));
+    }
+
+    @Override
+    public TransactionExport exportTransactionsByDateRange(User user, LocalDateTime startDate, LocalDateTime endDate, ExportFormat format) {
+        return export(format, () -> transactionRepository.streamByUserAndDateRange(user, startDate, endDate));
+    }
+
+    @Override
+    public TransactionExport exportTransactionsByCategory(User user, String category, ExportFormat format) {
+        return export(format, () -> transactionRepository.streamByUserAndCategory(user, category));
+    }
+
+    private TransactionExport export(ExportFormat format, Supplier<Stream<TransactionRow>> rows) {
+        return outputStream -> {
+            TransactionTemplate readOnly = new TransactionTemplate(transactionTemplate.getTransactionManager());
+            readOnly.setReadOnly(true);
+
+            // The stream holds an open cursor, so it is consumed and closed inside one read-only transaction
+            TransactionExportWriter writer = new TransactionExportWriter(format, outputStream, objectMapper);
+            readOnly.executeWithoutResult(status -> {
+                try (Stream<TransactionRow> transactions = rows.get()) {
+                    int written = 0;
+                    for (TransactionRow row : (Iterable<TransactionRow>) transactions::iterator) {
+                        writer.write(mapToResponse(row));
+                        if (++written % EXPORT_FLUSH_INTERVAL == 0) {
+                            writer.flush();
+                        }
+                    }
+                    writer.finish();
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            });
+        };
+    }
+
     @Override
     @Transactional(readOnly = true)
     public TransactionResponseDto getTransaction(User user, UUID transactionId) {
-        Transaction transaction = transactionRepository.findById(transactionId)
+        // Ownership is part of the lookup, so another user's transaction is simply not found
+        TransactionRow row = transactionRepository.findRowByIdAndUser(transactionId, user)
                 .orElseThrow(() -> new ResourceNotFoundException("Transaction not found"));
 
-        // Verify the transaction belongs to the user
-        if (!transaction.getUser().getId().equals(user.getId())) {
-            throw new ResourceNotFoundException("Transaction not found");
-        }
+        return mapToResponse(row);
+    }
 
-        return mapToResponse(transaction);
+    private TransactionResponseDto mapToResponse(TransactionRow row) {
+        return TransactionResponseDto.builder()
+                .id(row.id())
+                .userId(row.userId())
+                .bankAccountId(row.bankAccountId())
+                .bankAccountName(row.bankAccountName())
+                .amount(row.amount())
+                .type(row.type().name())
+                .category(row.category())
+                .description(row.description())
+                .transactionDate(row.transactionDate())
+                .previousBalance(row.previousBalance())
+                .newBalance(row.newBalance())
+                .createdAt(row.createdAt())
+                .build();
     }
 
     private TransactionResponseDto mapToResponse(Transaction transaction) {
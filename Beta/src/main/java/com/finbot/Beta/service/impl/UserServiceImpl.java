@@ -5,18 +5,31 @@ import com.finbot.Beta.Dto.LoginDto;
 import com.finbot.Beta.Dto.SignupDto;
 import com.finbot.Beta.Dto.UpdatedUserDto;
 import com.finbot.Beta.Dto.UserResponseDto;
+import com.finbot.Beta.Exceptions.InvalidRefreshTokenException;
+import com.finbot.Beta.Exceptions.LoginLockedException;
 import com.finbot.Beta.Exceptions.UserAlreadyExistsException;
 import com.finbot.Beta.Exceptions.UserNotFoundException;
 import com.finbot.Beta.entity.User;
 import com.finbot.Beta.repository.UserRepository;
 import com.finbot.Beta.security.JWTtokenizer;
+import com.finbot.Beta.security.LoginAttemptTracker;
+import com.finbot.Beta.security.PrincipalCache;
+import com.finbot.Beta.security.TokenRevocationRegistry;
+import com.finbot.Beta.service.RefreshTokenService;
 import com.finbot.Beta.service.UserService;
+import com.finbot.Beta.service.support.IssuedRefreshToken;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
 
+import java.time.Duration;
 import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
 
 @Service
@@ -26,6 +39,10 @@ public class UserServiceImpl implements UserService {
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final JWTtokenizer jwtTokenizer;
+    private final PrincipalCache principalCache;
+    private final TokenRevocationRegistry tokenRevocationRegistry;
+    private final LoginAttemptTracker loginAttemptTracker;
+    private final RefreshTokenService refreshTokenService;
 
     @Override
     public UserResponseDto registerUser(SignupDto signupDto) {
@@ -51,22 +68,52 @@ public class UserServiceImpl implements UserService {
 
     @Override
     public AuthResponseDto loginUser(LoginDto loginDto) {
+        // Locked emails and IPs are turned away before the user lookup and the BCrypt comparison
+        String clientIp = currentClientIp();
+        Optional<Duration> lockout = loginAttemptTracker.lockedFor(loginDto.getEmail(), clientIp);
+        if (lockout.isPresent()) {
+            long retryAfterSeconds = Math.max(1, lockout.get().toSeconds());
+            throw new LoginLockedException("Too many failed login attempts, try again in " + retryAfterSeconds + " seconds",
+                    retryAfterSeconds);
+        }
+
         User user = userRepository.findByEmail(loginDto.getEmail())
-                .orElseThrow(() -> new RuntimeException("Invalid email or password"));
+                .orElse(null);
+        if (user == null) {
+            loginAttemptTracker.recordFailure(loginDto.getEmail(), clientIp);
+            throw new RuntimeException("Invalid email or password");
+        }
 
         if (!passwordEncoder.matches(loginDto.getPassword(), user.getPassword())) {
+            loginAttemptTracker.recordFailure(loginDto.getEmail(), clientIp);
             throw new RuntimeException("Invalid password");
         }
+        loginAttemptTracker.recordSuccess(loginDto.getEmail());
 
-        // Generate JWT token
-        String token = jwtTokenizer.generateToken(user.getId().toString());
+        // Rehash with the current encoder settings while the raw password is at hand
+        if (passwordEncoder.upgradeEncoding(user.getPassword())) {
+            user.setPassword(passwordEncoder.encode(loginDto.getPassword()));
+            user = userRepository.save(user);
+            principalCache.invalidate(user.getId());
+        }
 
-        // Return authentication response with token
-        return AuthResponseDto.builder()
-                .token(token)
-                .tokenType("Bearer")
-                .user(toResponse(user))
-                .build();
+        return authResponse(refreshTokenService.issue(user));
+    }
+
+    @Override
+    public AuthResponseDto refreshToken(String refreshToken) {
+        if (refreshToken == null || refreshToken.isBlank()) {
+            throw new InvalidRefreshTokenException("Refresh token is required");
+        }
+        // No password check: the rotated refresh token is the proof of the earlier login
+        return authResponse(refreshTokenService.rotate(refreshToken));
+    }
+
+    @Override
+    public void logout(String refreshToken) {
+        if (refreshToken != null && !refreshToken.isBlank()) {
+            refreshTokenService.revoke(refreshToken);
+        }
     }
 
     @Override
@@ -74,12 +121,16 @@ public class UserServiceImpl implements UserService {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new UserNotFoundException("User not found"));
 
+        // Password or email changes invalidate issued tokens; a name change only shows up at the next login
+        boolean credentialsChanged = false;
+
         if (updatedUserDto.getName() != null && !updatedUserDto.getName().isEmpty()) {
             user.setName(updatedUserDto.getName());
         }
 
         if (updatedUserDto.getPassword() != null && !updatedUserDto.getPassword().isEmpty()) {
             user.setPassword(passwordEncoder.encode(updatedUserDto.getPassword()));
+            credentialsChanged = true;
         }
 
         if (updatedUserDto.getEmail() != null && !updatedUserDto.getEmail().isEmpty()) {
@@ -87,9 +138,15 @@ public class UserServiceImpl implements UserService {
                 throw new UserAlreadyExistsException("Email already exists, try a different one");
             }
             user.setEmail(updatedUserDto.getEmail());
+            credentialsChanged = true;
         }
 
         User updatedUser = userRepository.save(user);
+        principalCache.invalidate(userId);
+        if (credentialsChanged) {
+            tokenRevocationRegistry.revoke(userId);
+            refreshTokenService.revokeAll(userId);
+        }
         return toResponse(updatedUser);
     }
 
@@ -100,6 +157,9 @@ public class UserServiceImpl implements UserService {
 
         user.setPassword(passwordEncoder.encode(newPassword));
         User updatedUser = userRepository.save(user);
+        principalCache.invalidate(userId);
+        tokenRevocationRegistry.revoke(userId);
+        refreshTokenService.revokeAll(userId);
 
         return toResponse(updatedUser);
     }
@@ -115,6 +175,9 @@ public class UserServiceImpl implements UserService {
 
         user.setEmail(newEmail);
         User updatedUser = userRepository.save(user);
+        principalCache.invalidate(userId);
+        tokenRevocationRegistry.revoke(userId);
+        refreshTokenService.revokeAll(userId);
 
         return toResponse(updatedUser);
     }
@@ -124,10 +187,48 @@ public class UserServiceImpl implements UserService {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new UserNotFoundException("User not found"));
 
+        // Refresh tokens reference the user row, so they go first
+        refreshTokenService.revokeAll(userId);
         userRepository.delete(user);
+        principalCache.invalidate(userId);
+        tokenRevocationRegistry.revoke(userId);
         return toResponse(user);
     }
 
+    private AuthResponseDto authResponse(IssuedRefreshToken refresh) {
+        User user = refresh.user();
+
+        // Generate JWT token; in claims-principal mode it also carries what the filter needs to build the principal
+        String token = jwtTokenizer.isClaimsPrincipalEnabled()
+                ? jwtTokenizer.generateToken(user.getId().toString(), principalClaims(user))
+                : jwtTokenizer.generateToken(user.getId().toString());
+
+        // Return authentication response with the short-lived access token and the rotated refresh token
+        return AuthResponseDto.builder()
+                .token(token)
+                .tokenType("Bearer")
+                .expiresIn(jwtTokenizer.getExpirationSeconds())
+                .refreshToken(refresh.token())
+                .user(toResponse(user))
+                .build();
+    }
+
+    // Null outside a web request, e.g. in unit tests; the lockout then only tracks the email
+    private String currentClientIp() {
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes) {
+            return attributes.getRequest().getRemoteAddr();
+        }
+        return null;
+    }
+
+    private Map<String, Object> principalClaims(User user) {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put(JWTtokenizer.CLAIM_EMAIL, user.getEmail());
+        claims.put(JWTtokenizer.CLAIM_NAME, user.getName());
+        claims.put(JWTtokenizer.CLAIM_ACTIVE, user.getIsActive());
+        return claims;
+    }
+
     private UserResponseDto toResponse(User user) {
         return UserResponseDto.builder()
                 .id(user.getId().toString())
@@ -0,0 +1,187 @@
+package com.finbot.Beta.service.statement;
+
+import com.finbot.Beta.entity.TransactionType;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Reads RFC 4180 CSV one record at a time. The first record is a header naming the columns;
+ * {@code date} and {@code amount} are required, {@code type}, {@code category} and
+ * {@code description} (or {@code memo}) are optional.
+ */
+public class CsvStatementParser implements StatementParser {
+
+    // Guards against a stray quote swallowing the rest of the file into one field
+    private static final int MAX_FIELD_LENGTH = 4096;
+
+    private static final DateTimeFormatter SPACED_DATE_TIME = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm[:ss]");
+
+    private final BufferedReader reader;
+    private final UUID bankAccountId;
+    private Map<String, Integer> columns;
+    private long lineNumber;
+    private boolean endOfInput;
+
+    public CsvStatementParser(Reader reader, UUID bankAccountId) {
+        this.reader = reader instanceof BufferedReader buffered ? buffered : new BufferedReader(reader);
+        this.bankAccountId = bankAccountId;
+    }
+
+    @Override
+    public StatementRecord next() throws IOException {
+        if (columns == null) {
+            readHeader();
+        }
+        while (true) {
+            long position = lineNumber + 1;
+            List<String> fields = readRecord();
+            if (fields == null) {
+                return null;
+            }
+            if (fields.size() == 1 && fields.get(0).isBlank()) {
+                continue;
+            }
+            return toRecord(position, fields);
+        }
+    }
+
+    private void readHeader() throws IOException {
+        List<String> header = readRecord();
+        if (header == null) {
+            throw new IOException("CSV statement is empty");
+        }
+        columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            String name = header.get(i).trim().toLowerCase(Locale.ROOT);
+            if (i == 0 && name.startsWith("\uFEFF")) {
+                name = name.substring(1);
+            }
+            columns.putIfAbsent(name, i);
+        }
+        if (!columns.containsKey("date") || !columns.containsKey("amount")) {
+            throw new IOException("CSV header must contain 'date' and 'amount' columns");
+        }
+    }
+
+    private StatementRecord toRecord(long position, List<String> fields) {
+        String date = field(fields, "date");
+        String amount = field(fields, "amount");
+        if (date == null || date.isBlank() || amount == null || amount.isBlank()) {
+            return StatementRecord.failed(position, "Line " + position + ": date and amount are required");
+        }
+
+        try {
+            TransactionType type = null;
+            String typeValue = field(fields, "type");
+            if (typeValue != null && !typeValue.isBlank()) {
+                type = TransactionType.valueOf(typeValue.trim().toUpperCase(Locale.ROOT));
+            }
+            String description = field(fields, "description");
+            if (description == null) {
+                description = field(fields, "memo");
+            }
+            return StatementRecord.of(position, StatementRows.toRequest(bankAccountId, parseDate(date.trim()),
+                    StatementRows.parseAmount(amount), type, field(fields, "category"), description));
+        } catch (DateTimeParseException ex) {
+            return StatementRecord.failed(position, "Line " + position + ": invalid date '" + date + "'");
+        } catch (NumberFormatException ex) {
+            return StatementRecord.failed(position, "Line " + position + ": invalid amount '" + amount + "'");
+        } catch (IllegalArgumentException ex) {
+            return StatementRecord.failed(position, "Line " + position + ": type must be CREDIT or DEBIT");
+        }
+    }
+
+    private String field(List<String> fields, String column) {
+        Integer index = columns.get(column);
+        return index != null && index < fields.size() ? fields.get(index) : null;
+    }
+
+    private LocalDateTime parseDate(String value) {
+        if (value.length() == 10) {
+            return LocalDate.parse(value).atStartOfDay();
+        }
+        if (value.indexOf('T') > 0) {
+            return LocalDateTime.parse(value);
+        }
+        return LocalDateTime.parse(value, SPACED_DATE_TIME);
+    }
+
+    /**
+     * Reads one record, honouring quoted fields that contain commas, doubled quotes or line breaks.
+     */
+    private List<String> readRecord() throws IOException {
+        if (endOfInput) {
+            return null;
+        }
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        boolean sawInput = false;
+
+        while (true) {
+            int c = reader.read();
+            if (c == -1) {
+                endOfInput = true;
+                if (!sawInput) {
+                    return null;
+                }
+                fields.add(field.toString());
+                lineNumber++;
+                return fields;
+            }
+            sawInput = true;
+
+            if (quoted) {
+                if (c == '"') {
+                    reader.mark(1);
+                    if (reader.read() == '"') {
+                        append(field, '"');
+                    } else {
+                        reader.reset();
+                        quoted = false;
+                    }
+                } else {
+                    if (c == '\n') {
+                        lineNumber++;
+                    }
+                    append(field, (char) c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n') {
+                fields.add(field.toString());
+                lineNumber++;
+                return fields;
+            } else if (c != '\r') {
+                append(field, (char) c);
+            }
+        }
+    }
+
+    private void append(StringBuilder field, char c) throws IOException {
+        if (field.length() >= MAX_FIELD_LENGTH) {
+            throw new IOException("CSV field longer than " + MAX_FIELD_LENGTH + " characters near line " + (lineNumber + 1));
+        }
+        field.append(c);
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
@@ -0,0 +1,85 @@
+package com.finbot.Beta.service.statement;
+
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Progress of one statement import. Written by the import worker and read concurrently by the
+ * status endpoint, so counters are atomic and the error sample is copied on read.
+ */
+@Getter
+public class ImportJob {
+
+    // Enough to show what went wrong without growing with the file
+    private static final int MAX_REPORTED_ERRORS = 100;
+
+    private final UUID id = UUID.randomUUID();
+    private final UUID userId;
+    private final UUID bankAccountId;
+    private final String fileName;
+    private final StatementFormat format;
+    private final LocalDateTime createdAt = LocalDateTime.now();
+    private final AtomicLong rowsRead = new AtomicLong();
+    private final AtomicLong importedCount = new AtomicLong();
+    private final AtomicLong failedCount = new AtomicLong();
+    private final List<String> errors = new ArrayList<>();
+    private volatile ImportJobStatus status = ImportJobStatus.QUEUED;
+    private volatile String failureReason;
+    private volatile LocalDateTime startedAt;
+    private volatile LocalDateTime finishedAt;
+
+    public ImportJob(UUID userId, UUID bankAccountId, String fileName, StatementFormat format) {
+        this.userId = userId;
+        this.bankAccountId = bankAccountId;
+        this.fileName = fileName;
+        this.format = format;
+    }
+
+    public void start() {
+        startedAt = LocalDateTime.now();
+        status = ImportJobStatus.RUNNING;
+    }
+
+    public void complete() {
+        finishedAt = LocalDateTime.now();
+        status = ImportJobStatus.COMPLETED;
+    }
+
+    public void fail(String reason) {
+        failureReason = reason;
+        finishedAt = LocalDateTime.now();
+        status = ImportJobStatus.FAILED;
+    }
+
+    public void recordRead() {
+        rowsRead.incrementAndGet();
+    }
+
+    public void recordImported(long count) {
+        importedCount.addAndGet(count);
+    }
+
+    public void recordFailure(String error) {
+        failedCount.incrementAndGet();
+        synchronized (errors) {
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(error);
+            }
+        }
+    }
+
+    public List<String> getErrors() {
+        synchronized (errors) {
+            return List.copyOf(errors);
+        }
+    }
+
+    public boolean isFinished() {
+        return status == ImportJobStatus.COMPLETED || status == ImportJobStatus.FAILED;
+    }
+}
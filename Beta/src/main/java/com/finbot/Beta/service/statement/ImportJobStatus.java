@@ -0,0 +1,8 @@
+package com.finbot.Beta.service.statement;
+
+public enum ImportJobStatus {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
@@ -0,0 +1,143 @@
+package com.finbot.Beta.service.statement;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Streams {@code <STMTTRN>} blocks out of an OFX 1.x (SGML) or 2.x (XML) statement. Tags are
+ * tokenised as they are read, so only the transaction currently being assembled is held in memory.
+ */
+public class OfxStatementParser implements StatementParser {
+
+    private static final int MAX_TOKEN_LENGTH = 4096;
+
+    private static final DateTimeFormatter OFX_DATE_TIME = DateTimeFormatter.ofPattern("yyyyMMddHHmmss");
+
+    private final BufferedReader reader;
+    private final UUID bankAccountId;
+    private final StringBuilder token = new StringBuilder();
+    private long ordinal;
+
+    public OfxStatementParser(Reader reader, UUID bankAccountId) {
+        this.reader = reader instanceof BufferedReader buffered ? buffered : new BufferedReader(reader);
+        this.bankAccountId = bankAccountId;
+    }
+
+    @Override
+    public StatementRecord next() throws IOException {
+        Map<String, String> fields = null;
+        String element = null;
+
+        int c;
+        while ((c = reader.read()) != -1) {
+            if (c != '<') {
+                appendToken((char) c);
+                continue;
+            }
+
+            // Text before a tag is the value of the last opened element (SGML leaves have no end tag)
+            if (fields != null && element != null) {
+                String value = token.toString().trim();
+                if (!value.isEmpty()) {
+                    fields.put(element, unescape(value));
+                }
+            }
+            element = null;
+            token.setLength(0);
+
+            String tag = readTag();
+            if (tag.startsWith("?") || tag.startsWith("!")) {
+                continue;
+            }
+            if (tag.startsWith("/")) {
+                if (fields != null && tag.substring(1).equals("STMTTRN")) {
+                    return toRecord(++ordinal, fields);
+                }
+                continue;
+            }
+            if (tag.equals("STMTTRN")) {
+                fields = new HashMap<>();
+            } else if (fields != null) {
+                element = tag;
+            }
+        }
+        return null;
+    }
+
+    private String readTag() throws IOException {
+        int c;
+        while ((c = reader.read()) != -1 && c != '>') {
+            appendToken((char) c);
+        }
+        String tag = token.toString().trim().toUpperCase(Locale.ROOT);
+        token.setLength(0);
+        // Self-closing XML elements carry no value
+        return tag.endsWith("/") ? "/" + tag.substring(0, tag.length() - 1) : tag;
+    }
+
+    private void appendToken(char c) throws IOException {
+        if (token.length() >= MAX_TOKEN_LENGTH) {
+            throw new IOException("OFX token longer than " + MAX_TOKEN_LENGTH + " characters after transaction " + ordinal);
+        }
+        token.append(c);
+    }
+
+    private StatementRecord toRecord(long position, Map<String, String> fields) {
+        String posted = fields.get("DTPOSTED");
+        String amount = fields.get("TRNAMT");
+        if (posted == null || amount == null) {
+            return StatementRecord.failed(position, "Transaction " + position + ": DTPOSTED and TRNAMT are required");
+        }
+
+        try {
+            String description = fields.getOrDefault("NAME", fields.get("MEMO"));
+            return StatementRecord.of(position, StatementRows.toRequest(bankAccountId, parseDate(posted),
+                    StatementRows.parseAmount(amount), null, null, description));
+        } catch (DateTimeParseException | StringIndexOutOfBoundsException ex) {
+            return StatementRecord.failed(position, "Transaction " + position + ": invalid DTPOSTED '" + posted + "'");
+        } catch (NumberFormatException ex) {
+            return StatementRecord.failed(position, "Transaction " + position + ": invalid TRNAMT '" + amount + "'");
+        }
+    }
+
+    /**
+     * OFX dates are {@code YYYYMMDD[HHMMSS[.XXX]][[gmt offset:tz name]]}; the offset is ignored
+     * because transactions are stored in local time.
+     */
+    private LocalDateTime parseDate(String value) {
+        int end = 0;
+        while (end < value.length() && Character.isDigit(value.charAt(end))) {
+            end++;
+        }
+        String digits = value.substring(0, end);
+        if (digits.length() >= 14) {
+            return LocalDateTime.parse(digits.substring(0, 14), OFX_DATE_TIME);
+        }
+        return LocalDate.parse(digits.substring(0, 8), DateTimeFormatter.BASIC_ISO_DATE).atStartOfDay();
+    }
+
+    private String unescape(String value) {
+        if (value.indexOf('&') < 0) {
+            return value;
+        }
+        return value.replace("&lt;", "<")
+                .replace("&gt;", ">")
+                .replace("&quot;", "\"")
+                .replace("&apos;", "'")
+                .replace("&amp;", "&");
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
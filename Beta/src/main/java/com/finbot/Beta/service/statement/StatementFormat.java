@@ -0,0 +1,33 @@
+package com.finbot.Beta.service.statement;
+
+import java.io.Reader;
+import java.util.Locale;
+import java.util.UUID;
+
+public enum StatementFormat {
+    CSV,
+    OFX;
+
+    public StatementParser open(Reader reader, UUID bankAccountId) {
+        return this == CSV
+                ? new CsvStatementParser(reader, bankAccountId)
+                : new OfxStatementParser(reader, bankAccountId);
+    }
+
+    /**
+     * Infers the format from the uploaded file name, returning null when the extension is not recognised.
+     */
+    public static StatementFormat fromFileName(String fileName) {
+        if (fileName == null) {
+            return null;
+        }
+        String lower = fileName.toLowerCase(Locale.ROOT);
+        if (lower.endsWith(".csv")) {
+            return CSV;
+        }
+        if (lower.endsWith(".ofx") || lower.endsWith(".qfx")) {
+            return OFX;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,16 @@
+package com.finbot.Beta.service.statement;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Pull-based statement reader. Each call to {@link #next()} consumes just enough input for one
+ * record, so the caller decides how fast the file is read and nothing is buffered ahead of it.
+ */
+public interface StatementParser extends Closeable {
+
+    /**
+     * @return the next record, or null once the statement is exhausted
+     */
+    StatementRecord next() throws IOException;
+}
@@ -0,0 +1,20 @@
+package com.finbot.Beta.service.statement;
+
+import com.finbot.Beta.Dto.request.TransactionRequestDto;
+
+/**
+ * One parsed statement row. Exactly one of {@code request} and {@code error} is set; rows that
+ * cannot be parsed are reported instead of aborting the whole import.
+ *
+ * @param position line number (CSV) or transaction ordinal (OFX) used in error reports
+ */
+public record StatementRecord(long position, TransactionRequestDto request, String error) {
+
+    public static StatementRecord of(long position, TransactionRequestDto request) {
+        return new StatementRecord(position, request, null);
+    }
+
+    public static StatementRecord failed(long position, String error) {
+        return new StatementRecord(position, null, error);
+    }
+}
@@ -0,0 +1,49 @@
+package com.finbot.Beta.service.statement;
+
+import com.finbot.Beta.Dto.request.TransactionRequestDto;
+import com.finbot.Beta.entity.TransactionType;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Maps parsed statement fields onto a transaction request. A negative amount is a debit unless the
+ * statement states the type explicitly.
+ */
+final class StatementRows {
+
+    private static final int MAX_TEXT_LENGTH = 255;
+
+    private StatementRows() {
+    }
+
+    static TransactionRequestDto toRequest(UUID bankAccountId, LocalDateTime date, BigDecimal signedAmount,
+                                           TransactionType type, String category, String description) {
+        TransactionRequestDto request = new TransactionRequestDto();
+        request.setBankAccountId(bankAccountId);
+        request.setAmount(signedAmount.abs());
+        request.setType(type != null ? type : signedAmount.signum() < 0 ? TransactionType.DEBIT : TransactionType.CREDIT);
+        request.setCategory(text(category));
+        request.setDescription(text(description));
+        request.setTransactionDate(date);
+        return request;
+    }
+
+    static BigDecimal parseAmount(String value) {
+        String cleaned = value.trim().replace(",", "");
+        if (cleaned.startsWith("(") && cleaned.endsWith(")")) {
+            // Accounting notation for negative amounts
+            cleaned = "-" + cleaned.substring(1, cleaned.length() - 1);
+        }
+        return new BigDecimal(cleaned);
+    }
+
+    private static String text(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        String trimmed = value.trim();
+        return trimmed.length() > MAX_TEXT_LENGTH ? trimmed.substring(0, MAX_TEXT_LENGTH) : trimmed;
+    }
+}
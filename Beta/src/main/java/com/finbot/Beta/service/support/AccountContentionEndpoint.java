@@ -0,0 +1,26 @@
+package com.finbot.Beta.service.support;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Actuator view of per-account conflict rates: {@code GET /actuator/accountcontention}.
+ */
+@Component
+@Endpoint(id = "accountcontention")
+@RequiredArgsConstructor
+public class AccountContentionEndpoint {
+
+    private static final int TOP_ACCOUNTS = 50;
+
+    private final AccountContentionTracker contentionTracker;
+
+    @ReadOperation
+    public List<AccountContentionTracker.AccountContentionSnapshot> hottestAccounts() {
+        return contentionTracker.snapshot(TOP_ACCOUNTS);
+    }
+}
@@ -0,0 +1,93 @@
+package com.finbot.Beta.service.support;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps a decaying conflict rate per bank account, so operators can see which accounts are
+ * hitting deadlocks or lock-wait timeouts on the write path.
+ */
+@Component
+public class AccountContentionTracker {
+
+    private static final double SMOOTHING = 0.2;
+    private static final long IDLE_EVICTION_MILLIS = 10 * 60 * 1000L;
+
+    private final Map<UUID, AccountStats> stats = new ConcurrentHashMap<>();
+    private final int maxTrackedAccounts;
+
+    private final Counter conflicts;
+
+    public AccountContentionTracker(
+            MeterRegistry meterRegistry,
+            @Value("${transactions.contention.max-tracked-accounts:10000}") int maxTrackedAccounts) {
+        this.maxTrackedAccounts = maxTrackedAccounts;
+        this.conflicts = Counter.builder("transactions.write.conflicts")
+                .description("Deadlocks and lock-wait timeouts on the transaction write path")
+                .register(meterRegistry);
+    }
+
+    public void recordSuccess(UUID accountId) {
+        record(accountId, false);
+    }
+
+    public void recordConflict(UUID accountId) {
+        conflicts.increment();
+        record(accountId, true);
+    }
+
+    // Hottest accounts first, for the contention actuator endpoint
+    public List<AccountContentionSnapshot> snapshot(int limit) {
+        return stats.entrySet().stream()
+                .map(e -> e.getValue().toSnapshot(e.getKey()))
+                .sorted(Comparator.comparingDouble(AccountContentionSnapshot::conflictRate).reversed())
+                .limit(limit)
+                .toList();
+    }
+
+    private void record(UUID accountId, boolean conflict) {
+        if (accountId == null) {
+            return;
+        }
+        if (stats.size() >= maxTrackedAccounts && !stats.containsKey(accountId)) {
+            evictIdle();
+        }
+        stats.computeIfAbsent(accountId, id -> new AccountStats()).record(conflict);
+    }
+
+    private void evictIdle() {
+        long cutoff = System.currentTimeMillis() - IDLE_EVICTION_MILLIS;
+        stats.entrySet().removeIf(e -> e.getValue().lastUpdated < cutoff);
+    }
+
+    private static final class AccountStats {
+        private long attempts;
+        private long conflicts;
+        private double conflictRate;
+        private volatile long lastUpdated;
+
+        synchronized void record(boolean conflict) {
+            attempts++;
+            if (conflict) {
+                conflicts++;
+            }
+            conflictRate = conflictRate + SMOOTHING * ((conflict ? 1.0 : 0.0) - conflictRate);
+            lastUpdated = System.currentTimeMillis();
+        }
+
+        synchronized AccountContentionSnapshot toSnapshot(UUID accountId) {
+            return new AccountContentionSnapshot(accountId, attempts, conflicts, conflictRate);
+        }
+    }
+
+    public record AccountContentionSnapshot(UUID accountId, long attempts, long conflicts, double conflictRate) {
+    }
+}
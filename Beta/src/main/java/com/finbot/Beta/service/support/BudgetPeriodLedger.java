@@ -0,0 +1,70 @@
+package com.finbot.Beta.service.support;
+
+import com.finbot.Beta.entity.Budget;
+import com.finbot.Beta.entity.BudgetPeriodSpend;
+import com.finbot.Beta.entity.BudgetPeriodSpendId;
+import com.finbot.Beta.repository.BudgetPeriodSpendRepository;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.Map;
+
+/**
+ * Writes budget spend into per-period buckets. The bucket for a debit is derived from its date and
+ * the budget's period, so a new period simply starts a new row: nothing is reset at rollover and
+ * past periods stay queryable.
+ */
+@Component
+@RequiredArgsConstructor
+public class BudgetPeriodLedger {
+
+    // Keys are applied in this order so concurrent writers lock bucket rows consistently
+    public static final Comparator<BudgetPeriodSpendId> KEY_ORDER = Comparator
+            .comparing(BudgetPeriodSpendId::getBudgetId)
+            .thenComparing(BudgetPeriodSpendId::getPeriod)
+            .thenComparing(BudgetPeriodSpendId::getPeriodStart);
+
+    private final BudgetPeriodSpendRepository budgetPeriodSpendRepository;
+    private final EntityManager entityManager;
+
+    public static BudgetPeriodSpendId bucketOf(Budget budget, LocalDate date) {
+        return new BudgetPeriodSpendId(budget.getId(), budget.getPeriod(), budget.getPeriod().periodStart(date));
+    }
+
+    /**
+     * Whether a debit counts against the budget: same category, on a day within the budget's dates.
+     * The aggregator and the reconciliation job both match on this, so they agree on every bucket.
+     */
+    public static boolean covers(Budget budget, String category, LocalDate day) {
+        return budget.getCategory().equals(category)
+                && !budget.getStartDate().isAfter(day)
+                && (budget.getEndDate() == null || !budget.getEndDate().isBefore(day));
+    }
+
+    /**
+     * Adds the amounts to their buckets; must run inside the caller's transaction. A concurrent first
+     * write to the same bucket fails that transaction on the primary key, and the caller's retry then
+     * finds the row and increments it.
+     */
+    public void add(Map<BudgetPeriodSpendId, Money> amounts) {
+        amounts.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey(KEY_ORDER))
+                .forEach(e -> add(e.getKey(), e.getValue().toBigDecimal()));
+    }
+
+    public void add(BudgetPeriodSpendId id, BigDecimal amount) {
+        if (budgetPeriodSpendRepository.increment(id, amount) == 0) {
+            entityManager.persist(new BudgetPeriodSpend(id, id.getPeriod().periodEnd(id.getPeriodStart()), amount));
+        }
+    }
+
+    public BigDecimal spentInPeriod(Budget budget, LocalDate date) {
+        return budgetPeriodSpendRepository.findById(bucketOf(budget, date))
+                .map(BudgetPeriodSpend::getSpent)
+                .orElse(BigDecimal.ZERO);
+    }
+}
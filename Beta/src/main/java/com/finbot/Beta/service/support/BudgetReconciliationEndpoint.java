@@ -0,0 +1,37 @@
+package com.finbot.Beta.service.support;
+
+import com.finbot.Beta.service.impl.BudgetReconciliationJob;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Operator trigger for the budget reconciliation job: {@code POST /actuator/budgetreconciliation}
+ * starts a run in the background, {@code GET} shows whether one is running and the last report.
+ * Both require the operator account; see {@code SecurityConfig#actuatorFilterChain}.
+ */
+@Component
+@Endpoint(id = "budgetreconciliation")
+@RequiredArgsConstructor
+public class BudgetReconciliationEndpoint {
+
+    private final BudgetReconciliationJob reconciliationJob;
+
+    @ReadOperation
+    public Map<String, Object> status() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("running", reconciliationJob.isRunning());
+        status.put("lastReport", reconciliationJob.lastReport().orElse(null));
+        return status;
+    }
+
+    @WriteOperation
+    public Map<String, Object> trigger() {
+        return Map.of("started", reconciliationJob.trigger());
+    }
+}
@@ -0,0 +1,25 @@
+package com.finbot.Beta.service.support;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Outcome of one reconciliation run. A budget is drifted when its stored current_spent or any of its
+ * period buckets differs from the recomputed value; corrected ones were rewritten, while concurrently
+ * changed ones were left for the next run because a value moved between the read and the write.
+ * periodsDrifted counts the buckets, and the drift amounts cover the counters and buckets alike.
+ */
+public record BudgetReconciliationReport(
+        LocalDateTime startedAt,
+        Duration duration,
+        long usersScanned,
+        long budgetsChecked,
+        long budgetsDrifted,
+        long budgetsCorrected,
+        long budgetsChangedConcurrently,
+        long periodsDrifted,
+        BigDecimal totalAbsoluteDrift,
+        BigDecimal maxAbsoluteDrift,
+        int failedChunks) {
+}
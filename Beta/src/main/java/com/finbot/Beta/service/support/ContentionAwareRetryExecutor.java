@@ -0,0 +1,81 @@
+package com.finbot.Beta.service.support;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Runs a unit of work (normally its own database transaction) and retries it when it fails with a
+ * {@link ConcurrencyFailureException}. Balance writes are single guarded UPDATEs that queue on the row
+ * lock, so what reaches here in practice is a deadlock victim or a lock-wait timeout under heavy
+ * contention. Backoff is exponential with full jitter; outcomes are fed to the contention tracker.
+ */
+@Slf4j
+@Component
+public class ContentionAwareRetryExecutor {
+
+    private final AccountContentionTracker contentionTracker;
+    private final int maxAttempts;
+    private final long initialBackoffMillis;
+    private final long maxBackoffMillis;
+    private final Counter retries;
+    private final Counter exhausted;
+
+    public ContentionAwareRetryExecutor(
+            AccountContentionTracker contentionTracker,
+            MeterRegistry meterRegistry,
+            @Value("${transactions.retry.max-attempts:4}") int maxAttempts,
+            @Value("${transactions.retry.initial-backoff-ms:10}") long initialBackoffMillis,
+            @Value("${transactions.retry.max-backoff-ms:200}") long maxBackoffMillis) {
+        this.contentionTracker = contentionTracker;
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.initialBackoffMillis = initialBackoffMillis;
+        this.maxBackoffMillis = maxBackoffMillis;
+        this.retries = Counter.builder("transactions.write.retries")
+                .description("Transaction writes retried after a conflict")
+                .register(meterRegistry);
+        this.exhausted = Counter.builder("transactions.write.retries.exhausted")
+                .description("Transaction writes that still conflicted after the last attempt")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @param accountId account the work writes to, used for contention tracking (may be null)
+     */
+    public <T> T execute(UUID accountId, Supplier<T> work) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                T result = work.get();
+                contentionTracker.recordSuccess(accountId);
+                return result;
+            } catch (ConcurrencyFailureException ex) {
+                contentionTracker.recordConflict(accountId);
+                if (attempt >= maxAttempts) {
+                    exhausted.increment();
+                    throw ex;
+                }
+                retries.increment();
+                log.debug("Write conflict on account {} (attempt {}/{}): {}", accountId, attempt, maxAttempts, ex.getMessage());
+                backoff(attempt);
+            }
+        }
+    }
+
+    private void backoff(int attempt) {
+        long ceiling = Math.min(maxBackoffMillis, initialBackoffMillis << Math.min(attempt - 1, 20));
+        long sleep = ThreadLocalRandom.current().nextLong(ceiling + 1);
+        try {
+            Thread.sleep(sleep);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while backing off a conflicting write", e);
+        }
+    }
+}
@@ -0,0 +1,246 @@
+package com.finbot.Beta.service.support;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.finbot.Beta.Dto.response.TransactionResponseDto;
+import com.finbot.Beta.Exceptions.IdempotencyConflictException;
+import com.finbot.Beta.Exceptions.InvalidIdempotencyKeyException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Remembers the first response produced for an Idempotency-Key so client retries replay it
+ * instead of writing the transaction again.
+ *
+ * <p>Completed responses live in Redis for {@code idempotency.ttl-seconds} with a small Caffeine
+ * near-cache in front, each stored next to a SHA-256 fingerprint of the request body so a key
+ * reused with a different payload is rejected instead of replaying an unrelated response.
+ * Duplicates arriving while the first request is still running wait on it:
+ * on the same node through a shared future, across nodes by polling the Redis in-flight marker.
+ * If Redis is unreachable the store degrades to node-local protection.
+ */
+@Slf4j
+@Component
+public class IdempotencyStore {
+
+    private static final String KEY_PREFIX = "idempotency:transaction:";
+    private static final String IN_FLIGHT = "IN_FLIGHT:";
+    private static final int MAX_KEY_LENGTH = 255;
+    private static final long POLL_INTERVAL_MILLIS = 50;
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final Duration ttl;
+    private final Duration inFlightTtl;
+    private final long waitTimeoutMillis;
+    private final Cache<String, StoredResponse> nearCache;
+    private final Map<String, InFlightRequest> inFlight = new ConcurrentHashMap<>();
+
+    public IdempotencyStore(
+            StringRedisTemplate redisTemplate,
+            ObjectMapper objectMapper,
+            @Value("${idempotency.ttl-seconds:86400}") long ttlSeconds,
+            @Value("${idempotency.in-flight-ttl-seconds:30}") long inFlightTtlSeconds,
+            @Value("${idempotency.wait-timeout-ms:5000}") long waitTimeoutMillis,
+            @Value("${idempotency.near-cache.max-size:10000}") long nearCacheMaxSize,
+            @Value("${idempotency.near-cache.ttl-seconds:300}") long nearCacheTtlSeconds) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.ttl = Duration.ofSeconds(ttlSeconds);
+        this.inFlightTtl = Duration.ofSeconds(inFlightTtlSeconds);
+        this.waitTimeoutMillis = waitTimeoutMillis;
+        this.nearCache = Caffeine.newBuilder()
+                .maximumSize(nearCacheMaxSize)
+                .expireAfterWrite(Duration.ofSeconds(Math.min(nearCacheTtlSeconds, ttlSeconds)))
+                .build();
+    }
+
+    public TransactionResponseDto execute(UUID userId, String idempotencyKey, Object request,
+                                          Supplier<TransactionResponseDto> action) {
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new InvalidIdempotencyKeyException("Idempotency-Key must be between 1 and " + MAX_KEY_LENGTH + " characters");
+        }
+        String key = KEY_PREFIX + userId + ":" + idempotencyKey;
+        String fingerprint = fingerprint(request);
+
+        StoredResponse cached = nearCache.getIfPresent(key);
+        if (cached != null) {
+            return replay(cached, fingerprint);
+        }
+
+        // Same-node duplicates share the first caller's future
+        InFlightRequest mine = new InFlightRequest(fingerprint, new CompletableFuture<>());
+        InFlightRequest existing = inFlight.putIfAbsent(key, mine);
+        if (existing != null) {
+            requireSamePayload(existing.fingerprint(), fingerprint);
+            return await(existing.future());
+        }
+
+        try {
+            TransactionResponseDto result = executeOnce(key, fingerprint, action);
+            mine.future().complete(result);
+            return result;
+        } catch (RuntimeException ex) {
+            mine.future().completeExceptionally(ex);
+            throw ex;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    private TransactionResponseDto executeOnce(String key, String fingerprint, Supplier<TransactionResponseDto> action) {
+        boolean redisAvailable = true;
+        try {
+            String stored = redisTemplate.opsForValue().get(key);
+            if (stored != null && !stored.startsWith(IN_FLIGHT)) {
+                return replay(remember(key, deserialize(stored)), fingerprint);
+            }
+            Boolean claimed = redisTemplate.opsForValue().setIfAbsent(key, IN_FLIGHT + fingerprint, inFlightTtl);
+            if (!Boolean.TRUE.equals(claimed)) {
+                // Another node owns this key; wait for its result
+                return replay(remember(key, awaitRemote(key, fingerprint)), fingerprint);
+            }
+        } catch (DataAccessException ex) {
+            log.warn("Redis unavailable for idempotency key, falling back to node-local protection: {}", ex.getMessage());
+            redisAvailable = false;
+        }
+
+        TransactionResponseDto result;
+        try {
+            result = action.get();
+        } catch (RuntimeException ex) {
+            if (redisAvailable) {
+                // Release the marker so the client can retry a request that failed
+                releaseQuietly(key);
+            }
+            throw ex;
+        }
+
+        StoredResponse response = new StoredResponse(fingerprint, result);
+        if (redisAvailable) {
+            try {
+                redisTemplate.opsForValue().set(key, serialize(response), ttl);
+            } catch (DataAccessException ex) {
+                log.warn("Could not store idempotent response in Redis: {}", ex.getMessage());
+            }
+        }
+        return remember(key, response).response();
+    }
+
+    private StoredResponse awaitRemote(String key, String fingerprint) {
+        long deadline = System.currentTimeMillis() + waitTimeoutMillis;
+        while (System.currentTimeMillis() < deadline) {
+            String stored = redisTemplate.opsForValue().get(key);
+            if (stored == null) {
+                throw new IdempotencyConflictException("The original request for this Idempotency-Key failed, please retry");
+            }
+            if (!stored.startsWith(IN_FLIGHT)) {
+                return deserialize(stored);
+            }
+            // Reject a mismatched payload up front rather than after the owner finishes
+            requireSamePayload(stored.substring(IN_FLIGHT.length()), fingerprint);
+            sleep();
+        }
+        throw new IdempotencyConflictException("A request with this Idempotency-Key is still being processed");
+    }
+
+    private TransactionResponseDto await(CompletableFuture<TransactionResponseDto> future) {
+        try {
+            return future.get(waitTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(ex.getCause());
+        } catch (TimeoutException ex) {
+            throw new IdempotencyConflictException("A request with this Idempotency-Key is still being processed");
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for an in-flight request", ex);
+        }
+    }
+
+    private StoredResponse remember(String key, StoredResponse response) {
+        nearCache.put(key, response);
+        return response;
+    }
+
+    private TransactionResponseDto replay(StoredResponse stored, String fingerprint) {
+        requireSamePayload(stored.fingerprint(), fingerprint);
+        return stored.response();
+    }
+
+    private void requireSamePayload(String storedFingerprint, String fingerprint) {
+        if (!storedFingerprint.equals(fingerprint)) {
+            throw new IdempotencyConflictException("Idempotency-Key was already used with a different request body");
+        }
+    }
+
+    private String fingerprint(Object request) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(request));
+            return HexFormat.of().formatHex(digest);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not fingerprint idempotent request", e);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private void releaseQuietly(String key) {
+        try {
+            redisTemplate.delete(key);
+        } catch (DataAccessException ex) {
+            log.warn("Could not release idempotency marker, it will expire after {}: {}", inFlightTtl, ex.getMessage());
+        }
+    }
+
+    private String serialize(StoredResponse response) {
+        try {
+            return objectMapper.writeValueAsString(response);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize idempotent response", e);
+        }
+    }
+
+    private StoredResponse deserialize(String json) {
+        try {
+            return objectMapper.readValue(json, StoredResponse.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not read idempotent response", e);
+        }
+    }
+
+    private void sleep() {
+        try {
+            Thread.sleep(POLL_INTERVAL_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for an in-flight request", e);
+        }
+    }
+
+    private record StoredResponse(String fingerprint, TransactionResponseDto response) {
+    }
+
+    private record InFlightRequest(String fingerprint, CompletableFuture<TransactionResponseDto> future) {
+    }
+}
@@ -0,0 +1,11 @@
+package com.finbot.Beta.service.support;
+
+import com.finbot.Beta.entity.User;
+
+import java.time.LocalDateTime;
+
+/**
+ * A freshly issued refresh token. The raw value only exists here, on its way to the client.
+ */
+public record IssuedRefreshToken(String token, User user, LocalDateTime expiresAt) {
+}
@@ -0,0 +1,38 @@
+package com.finbot.Beta.service.support;
+
+import com.finbot.Beta.service.impl.LedgerAuditJob;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Operator trigger for the ledger audit: {@code POST /actuator/ledgeraudit} starts a run in the
+ * background, {@code GET} shows whether one is running and the last discrepancy report. The report
+ * carries account and transaction ids and balances of every user, so both require the operator
+ * account; see {@code SecurityConfig#actuatorFilterChain}.
+ */
+@Component
+@Endpoint(id = "ledgeraudit")
+@RequiredArgsConstructor
+public class LedgerAuditEndpoint {
+
+    private final LedgerAuditJob ledgerAuditJob;
+
+    @ReadOperation
+    public Map<String, Object> status() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("running", ledgerAuditJob.isRunning());
+        status.put("lastReport", ledgerAuditJob.lastReport().orElse(null));
+        return status;
+    }
+
+    @WriteOperation
+    public Map<String, Object> trigger() {
+        return Map.of("started", ledgerAuditJob.trigger());
+    }
+}
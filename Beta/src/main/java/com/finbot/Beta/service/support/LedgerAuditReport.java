@@ -0,0 +1,34 @@
+package com.finbot.Beta.service.support;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Outcome of one ledger audit run. Counts cover every discrepancy found; only the first
+ * ledger.audit.max-reported are listed individually.
+ */
+public record LedgerAuditReport(
+        LocalDateTime startedAt,
+        Duration duration,
+        long accountsAudited,
+        long transactionsScanned,
+        long accountsWithDiscrepancies,
+        long discrepancyCount,
+        long failedAccounts,
+        List<Discrepancy> discrepancies) {
+
+    public enum Kind {
+        BROKEN_CHAIN, // previousBalance differs from the prior transaction's newBalance
+        WRONG_ARITHMETIC, // newBalance is not previousBalance plus or minus the amount
+        BALANCE_MISMATCH // the last newBalance differs from the account's balance
+    }
+
+    /**
+     * One broken link. transactionId is null for BALANCE_MISMATCH, which concerns the account row.
+     */
+    public record Discrepancy(UUID accountId, UUID transactionId, Kind kind, BigDecimal expected, BigDecimal actual) {
+    }
+}
@@ -0,0 +1,80 @@
+package com.finbot.Beta.service.support;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * An amount of money held as a count of ten-thousandths, matching the DECIMAL(19,4) money columns.
+ * Addition, subtraction and comparison are plain long arithmetic, so balance and budget math on the
+ * request path allocates nothing beyond the record itself; an overflow throws instead of wrapping.
+ *
+ * <p>Amounts enter and leave as {@link BigDecimal} at the entity and DTO boundary, rounding half-up
+ * to four decimal places on the way in.
+ */
+public record Money(long units) implements Comparable<Money> {
+
+    public static final int SCALE = 4;
+    public static final Money ZERO = new Money(0);
+
+    private static final long BASIS_POINTS = 10_000;
+
+    public static Money of(BigDecimal amount) {
+        return new Money(amount.setScale(SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact());
+    }
+
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(units, SCALE);
+    }
+
+    public Money plus(Money other) {
+        return new Money(Math.addExact(units, other.units));
+    }
+
+    public Money minus(Money other) {
+        return new Money(Math.subtractExact(units, other.units));
+    }
+
+    public boolean isLessThan(Money other) {
+        return units < other.units;
+    }
+
+    public boolean isPositive() {
+        return units > 0;
+    }
+
+    /**
+     * This amount as a share of {@code whole} in basis points (1/100 of a percent), rounded half-up.
+     * {@code whole} must be positive.
+     */
+    public long basisPointsOf(Money whole) {
+        if (!whole.isPositive()) {
+            throw new IllegalArgumentException("whole must be positive");
+        }
+        long scaled;
+        try {
+            scaled = Math.multiplyExact(units, BASIS_POINTS);
+        } catch (ArithmeticException e) {
+            // Only amounts past 92 billion get here
+            return toBigDecimal().multiply(BigDecimal.valueOf(BASIS_POINTS))
+                    .divide(whole.toBigDecimal(), 0, RoundingMode.HALF_UP)
+                    .longValueExact();
+        }
+        long quotient = scaled / whole.units;
+        long remainder = Math.abs(scaled % whole.units);
+        // Half-up away from zero; compared as remainder >= whole - remainder to avoid overflow
+        if (remainder >= whole.units - remainder) {
+            quotient += Long.signum(scaled);
+        }
+        return quotient;
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        return Long.compare(units, other.units);
+    }
+
+    @Override
+    public String toString() {
+        return toBigDecimal().toPlainString();
+    }
+}
@@ -0,0 +1,33 @@
+package com.finbot.Beta.service.support;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+
+/**
+ * Bucket sizes for spending summaries; weeks start on Monday (ISO).
+ */
+public enum SummaryGranularity {
+    DAY,
+    WEEK,
+    MONTH,
+    YEAR;
+
+    public LocalDate bucketStart(LocalDate day) {
+        return switch (this) {
+            case DAY -> day;
+            case WEEK -> day.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case MONTH -> day.withDayOfMonth(1);
+            case YEAR -> day.withDayOfYear(1);
+        };
+    }
+
+    public LocalDate bucketEnd(LocalDate bucketStart) {
+        return switch (this) {
+            case DAY -> bucketStart;
+            case WEEK -> bucketStart.plusDays(6);
+            case MONTH -> bucketStart.plusMonths(1).minusDays(1);
+            case YEAR -> bucketStart.plusYears(1).minusDays(1);
+        };
+    }
+}
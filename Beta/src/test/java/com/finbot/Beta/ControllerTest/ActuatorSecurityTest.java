@@ -0,0 +1,85 @@
+package com.finbot.Beta.ControllerTest;
+
+import com.finbot.Beta.entity.User;
+import com.finbot.Beta.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ActiveProfiles("test")
+@SpringBootTest
+@AutoConfigureMockMvc
+public class ActuatorSecurityTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User userEntity;
+
+    @BeforeEach
+    void setup() {
+        userEntity = userRepository.save(User.builder()
+                .name("Actuator User")
+                .email("actuator-" + UUID.randomUUID() + "@example.com")
+                .password("encoded")
+                .registeredOn(LocalDate.now())
+                .build());
+    }
+
+    @Test
+    void testHealthIsPublic() throws Exception {
+        // Mail and Redis are unreachable here, so health may report DOWN; it must not ask for credentials
+        int status = mockMvc.perform(get("/actuator/health")).andReturn().getResponse().getStatus();
+        assertTrue(status != 401 && status != 403, "health answered " + status);
+    }
+
+    @Test
+    void testApplicationUsersCannotReadOperatorEndpoints() throws Exception {
+        mockMvc.perform(get("/actuator/accountcontention")).andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/actuator/accountcontention").with(user(userEntity))).andExpect(status().isForbidden());
+        mockMvc.perform(get("/actuator/accountcontention").with(httpBasic("operator", "wrong")))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void testApplicationUsersCannotTriggerBudgetReconciliation() throws Exception {
+        mockMvc.perform(post("/actuator/budgetreconciliation")).andExpect(status().isUnauthorized());
+        mockMvc.perform(post("/actuator/budgetreconciliation").with(user(userEntity))).andExpect(status().isForbidden());
+        mockMvc.perform(get("/actuator/budgetreconciliation").with(user(userEntity))).andExpect(status().isForbidden());
+    }
+
+    @Test
+    void testApplicationUsersCannotReadLedgerAudit() throws Exception {
+        // The report lists other users' account and transaction ids with their balances
+        mockMvc.perform(get("/actuator/ledgeraudit")).andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/actuator/ledgeraudit").with(user(userEntity))).andExpect(status().isForbidden());
+        mockMvc.perform(post("/actuator/ledgeraudit").with(user(userEntity))).andExpect(status().isForbidden());
+    }
+
+    @Test
+    void testOperatorCanReadOperatorEndpoints() throws Exception {
+        mockMvc.perform(get("/actuator/accountcontention").with(httpBasic("operator", "operator-secret")))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/actuator/budgetreconciliation").with(httpBasic("operator", "operator-secret")))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/actuator/ledgeraudit").with(httpBasic("operator", "operator-secret")))
+                .andExpect(status().isOk());
+    }
+}
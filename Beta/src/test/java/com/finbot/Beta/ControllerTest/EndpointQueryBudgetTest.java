@@ -0,0 +1,186 @@
+package com.finbot.Beta.ControllerTest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.finbot.Beta.Dto.request.TransactionRequestDto;
+import com.finbot.Beta.Dto.response.TransactionResponseDto;
+import com.finbot.Beta.entity.AccountType;
+import com.finbot.Beta.entity.BankAccount;
+import com.finbot.Beta.entity.Budget;
+import com.finbot.Beta.entity.BudgetPeriod;
+import com.finbot.Beta.entity.TransactionType;
+import com.finbot.Beta.entity.User;
+import com.finbot.Beta.repository.BankAccountRepository;
+import com.finbot.Beta.repository.BudgetRepository;
+import com.finbot.Beta.repository.UserRepository;
+import com.finbot.Beta.service.TransactionService;
+import com.finbot.Beta.support.StatementBudget;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Per-endpoint SQL statement budgets. Each request is recorded through SqlStatementRecorder; a change
+ * that adds a query to one of these endpoints fails here with the offending SQL listed.
+ */
+@ActiveProfiles("test")
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class EndpointQueryBudgetTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private BankAccountRepository bankAccountRepository;
+
+    @Autowired
+    private BudgetRepository budgetRepository;
+
+    private User userEntity;
+    private List<BankAccount> accounts;
+    private TransactionResponseDto transaction;
+    private Budget budget;
+
+    @BeforeAll
+    void setup() {
+        userEntity = userRepository.save(User.builder()
+                .name("Budget User")
+                .email("budget-" + UUID.randomUUID() + "@example.com")
+                .password("encoded")
+                .registeredOn(LocalDate.now())
+                .build());
+
+        accounts = new ArrayList<>();
+        List<TransactionRequestDto> requests = new ArrayList<>();
+        for (int a = 0; a < 3; a++) {
+            BankAccount account = bankAccountRepository.save(BankAccount.builder()
+                    .user(userEntity)
+                    .name("Account " + a)
+                    .balance(new BigDecimal("500.00"))
+                    .accountType(AccountType.CHECKING)
+                    .build());
+            accounts.add(account);
+            for (int i = 0; i < 10; i++) {
+                requests.add(TransactionRequestDto.builder()
+                        .bankAccountId(account.getId())
+                        .amount(BigDecimal.ONE)
+                        .type(TransactionType.DEBIT)
+                        .category("groceries")
+                        .transactionDate(LocalDateTime.of(2024, 6, 1, 8, 0).plusHours(a * 10 + i))
+                        .build());
+            }
+        }
+        transaction = transactionService.createTransactions(userEntity, requests).getResults().get(0).getTransaction();
+
+        for (int i = 0; i < 3; i++) {
+            Budget saved = budgetRepository.save(Budget.builder()
+                    .user(userEntity)
+                    .name("Budget " + i)
+                    .category("category-" + i)
+                    .amount(new BigDecimal("100.00"))
+                    .period(BudgetPeriod.MONTHLY)
+                    .currentSpent(BigDecimal.ZERO)
+                    .startDate(LocalDate.now().minusDays(1))
+                    .isActive(true)
+                    .build());
+            if (budget == null) {
+                budget = saved;
+            }
+        }
+    }
+
+    @Test
+    void testTransactionReadEndpointsStayWithinBudget() throws Exception {
+        // Content plus at most one COUNT for the paged listing; every other read is a single statement
+        assertBudget("GET /api/transactions", 2, get("/api/transactions").param("size", "50"));
+        assertBudget("GET /api/transactions/feed", 1, get("/api/transactions/feed"));
+        assertBudget("GET /api/transactions/account/{id}", 1, get("/api/transactions/account/{id}", accounts.get(1).getId()));
+        assertBudget("GET /api/transactions/category/{category}", 1, get("/api/transactions/category/{category}", "groceries"));
+        assertBudget("GET /api/transactions/daterange", 1, get("/api/transactions/daterange")
+                .param("startDate", "2024-01-01T00:00:00")
+                .param("endDate", "2024-12-31T00:00:00"));
+        assertBudget("GET /api/transactions/{id}", 1, get("/api/transactions/{id}", transaction.getId()));
+    }
+
+    @Test
+    void testTransactionWriteStaysWithinBudget() throws Exception {
+        TransactionRequestDto request = TransactionRequestDto.builder()
+                .bankAccountId(accounts.get(2).getId())
+                .amount(new BigDecimal("2.50"))
+                .type(TransactionType.DEBIT)
+                .category("groceries")
+                .transactionDate(LocalDateTime.of(2024, 7, 1, 12, 0))
+                .build();
+
+        // Guarded balance UPDATE, balance read-back, transaction INSERT, rollup UPDATE, budget outbox INSERT;
+        // the first write to a rollup day also checks for the row and inserts it
+        StatementBudget.assertWithin("POST /api/transactions (new rollup day)", 7, () -> postTransaction(request));
+        StatementBudget.assertWithin("POST /api/transactions", 5, () -> postTransaction(request));
+    }
+
+    @Test
+    void testSpendingSummaryStaysWithinBudget() throws Exception {
+        // Rollup rows only; the transactions table is never scanned
+        assertBudget("GET /api/transactions/summary", 1, get("/api/transactions/summary")
+                .param("granularity", "MONTH")
+                .param("startDate", "2024-01-01")
+                .param("endDate", "2024-12-31"));
+    }
+
+    @Test
+    void testInsightsStayWithinBudget() throws Exception {
+        // Even a cold user costs one streamed load; later queries are answered from memory
+        assertBudget("GET /api/transactions/insights", 1, get("/api/transactions/insights")
+                .param("groupBy", "WEEKDAY"));
+    }
+
+    private void postTransaction(TransactionRequestDto request) throws Exception {
+        mockMvc.perform(post("/api/transactions")
+                        .with(user(userEntity))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated());
+    }
+
+    @Test
+    void testBudgetReadEndpointsStayWithinBudget() throws Exception {
+        assertBudget("GET /api/budgets", 1, get("/api/budgets"));
+        assertBudget("GET /api/budgets/{id}", 1, get("/api/budgets/{id}", budget.getId()));
+        // Actual spend for every budget comes from one grouped join, not a sum per budget
+        assertBudget("GET /api/budgets/status", 1, get("/api/budgets/status"));
+    }
+
+    private void assertBudget(String name, int budget, MockHttpServletRequestBuilder request) throws Exception {
+        StatementBudget.assertWithin(name, budget, () -> mockMvc.perform(request.with(user(userEntity)))
+                .andExpect(status().isOk()));
+    }
+}
@@ -0,0 +1,131 @@
+package com.finbot.Beta.ControllerTest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.finbot.Beta.Dto.request.TransactionBatchRequestDto;
+import com.finbot.Beta.Dto.request.TransactionRequestDto;
+import com.finbot.Beta.entity.AccountType;
+import com.finbot.Beta.entity.BankAccount;
+import com.finbot.Beta.entity.TransactionType;
+import com.finbot.Beta.entity.User;
+import com.finbot.Beta.repository.BankAccountRepository;
+import com.finbot.Beta.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ActiveProfiles("test")
+@SpringBootTest
+@AutoConfigureMockMvc
+public class TransactionControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private BankAccountRepository bankAccountRepository;
+
+    private User userEntity;
+    private BankAccount account;
+
+    @BeforeEach
+    void setup() {
+        userEntity = userRepository.save(User.builder()
+                .name("Controller User")
+                .email("controller-" + UUID.randomUUID() + "@example.com")
+                .password("encoded")
+                .registeredOn(LocalDate.now())
+                .build());
+        account = bankAccountRepository.save(BankAccount.builder()
+                .user(userEntity)
+                .name("Main")
+                .balance(new BigDecimal("50.00"))
+                .accountType(AccountType.CHECKING)
+                .build());
+    }
+
+    @Test
+    void testBatchWithoutFailuresReturns201() throws Exception {
+        postBatch(List.of(request("10.00"), request("15.00")))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.successCount").value(2))
+                .andExpect(jsonPath("$.failureCount").value(0));
+    }
+
+    @Test
+    void testBatchWithFailuresReturns207() throws Exception {
+        postBatch(List.of(request("10.00"), request("80.00")))
+                .andExpect(status().isMultiStatus())
+                .andExpect(jsonPath("$.successCount").value(1))
+                .andExpect(jsonPath("$.failureCount").value(1))
+                .andExpect(jsonPath("$.results[1].success").value(false))
+                .andExpect(jsonPath("$.results[1].error").value("Insufficient funds in account"));
+    }
+
+    @Test
+    void testEmptyBatchIsRejected() throws Exception {
+        postBatch(List.of())
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.details").value("At least one transaction is required"));
+    }
+
+    @Test
+    void testInvertedSummaryRangeIsRejected() throws Exception {
+        mockMvc.perform(get("/api/transactions/summary")
+                        .with(user(userEntity))
+                        .param("startDate", "2024-02-01")
+                        .param("endDate", "2024-01-01"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("INVALID_QUERY"))
+                .andExpect(jsonPath("$.details").value("endDate must not be before startDate"));
+    }
+
+    @Test
+    void testNegativeInsightsLimitIsRejected() throws Exception {
+        mockMvc.perform(get("/api/transactions/insights")
+                        .with(user(userEntity))
+                        .param("limit", "-1"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("INVALID_QUERY"))
+                .andExpect(jsonPath("$.details").value("limit must not be negative"));
+    }
+
+    private ResultActions postBatch(List<TransactionRequestDto> transactions) throws Exception {
+        return mockMvc.perform(post("/api/transactions/batch")
+                .with(user(userEntity))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new TransactionBatchRequestDto(transactions))));
+    }
+
+    private TransactionRequestDto request(String amount) {
+        return TransactionRequestDto.builder()
+                .bankAccountId(account.getId())
+                .amount(new BigDecimal(amount))
+                .type(TransactionType.DEBIT)
+                .transactionDate(LocalDateTime.of(2024, 4, 1, 9, 0))
+                .build();
+    }
+}
@@ -0,0 +1,109 @@
+package com.finbot.Beta.benchmark;
+
+import com.finbot.Beta.service.support.Money;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the batch balance chain and the budget percentage math written with BigDecimal, as they
+ * were, against the same code on {@link Money}. Not part of the test run; after
+ * {@code mvn test-compile}, run {@link #main} from the IDE or {@code org.openjdk.jmh.Main} on the
+ * test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MoneyArithmeticBenchmark {
+
+    private static final int ROWS = 1_000;
+
+    private BigDecimal[] decimalAmounts;
+    private Money[] moneyAmounts;
+    private boolean[] credits;
+    private BigDecimal decimalBudget;
+    private Money moneyBudget;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        decimalAmounts = new BigDecimal[ROWS];
+        moneyAmounts = new Money[ROWS];
+        credits = new boolean[ROWS];
+        for (int i = 0; i < ROWS; i++) {
+            decimalAmounts[i] = BigDecimal.valueOf(1 + random.nextInt(50_000), 2);
+            moneyAmounts[i] = Money.of(decimalAmounts[i]);
+            credits[i] = random.nextBoolean();
+        }
+        decimalBudget = new BigDecimal("2500.00");
+        moneyBudget = Money.of(decimalBudget);
+    }
+
+    @Benchmark
+    public BigDecimal balanceChainBigDecimal() {
+        BigDecimal balance = new BigDecimal("1000.00");
+        for (int i = 0; i < ROWS; i++) {
+            if (credits[i]) {
+                balance = balance.add(decimalAmounts[i]);
+            } else if (balance.compareTo(decimalAmounts[i]) >= 0) {
+                balance = balance.subtract(decimalAmounts[i]);
+            }
+        }
+        return balance;
+    }
+
+    @Benchmark
+    public Money balanceChainMoney() {
+        Money balance = Money.of(new BigDecimal("1000.00"));
+        for (int i = 0; i < ROWS; i++) {
+            if (credits[i]) {
+                balance = balance.plus(moneyAmounts[i]);
+            } else if (!balance.isLessThan(moneyAmounts[i])) {
+                balance = balance.minus(moneyAmounts[i]);
+            }
+        }
+        return balance;
+    }
+
+    @Benchmark
+    public double budgetPercentageBigDecimal() {
+        double sum = 0;
+        for (int i = 0; i < ROWS; i++) {
+            sum += decimalAmounts[i].divide(decimalBudget, 4, RoundingMode.HALF_UP).doubleValue() * 100;
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public double budgetPercentageMoney() {
+        double sum = 0;
+        for (int i = 0; i < ROWS; i++) {
+            sum += moneyAmounts[i].basisPointsOf(moneyBudget) / 100.0;
+        }
+        return sum;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(MoneyArithmeticBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,73 @@
+package com.finbot.Beta.config;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DebugTraceFilterTest {
+
+    private final LoggerContext loggerContext = (LoggerContext) LoggerFactory.getILoggerFactory();
+    private final Logger appLogger = LoggerFactory.getLogger("com.finbot.Beta.service.SomeService");
+    private final Logger frameworkLogger = LoggerFactory.getLogger("org.springframework.web.SomeComponent");
+    private DebugTraceTurboFilter turboFilter;
+
+    @BeforeEach
+    void setup() {
+        turboFilter = new DebugTraceTurboFilter();
+        turboFilter.start();
+        loggerContext.addTurboFilter(turboFilter);
+        loggerContext.getLogger("com.finbot.Beta.service.SomeService").setLevel(Level.INFO);
+        loggerContext.getLogger("org.springframework.web.SomeComponent").setLevel(Level.INFO);
+    }
+
+    @AfterEach
+    void tearDown() {
+        loggerContext.getTurboFilterList().remove(turboFilter);
+        MDC.clear();
+    }
+
+    @Test
+    void testMatchingHeaderEnablesDebugForThatRequestOnly() throws Exception {
+        AtomicBoolean debugInsideRequest = new AtomicBoolean();
+        AtomicBoolean frameworkDebugInsideRequest = new AtomicBoolean();
+
+        perform(new DebugTraceFilter("s3cret"), "s3cret", () -> {
+            debugInsideRequest.set(appLogger.isDebugEnabled());
+            frameworkDebugInsideRequest.set(frameworkLogger.isDebugEnabled());
+        });
+
+        assertTrue(debugInsideRequest.get());
+        assertFalse(frameworkDebugInsideRequest.get());
+        assertFalse(appLogger.isDebugEnabled());
+        assertNull(MDC.get(DebugTraceTurboFilter.MDC_KEY));
+    }
+
+    @Test
+    void testWrongOrUnconfiguredTokenIsIgnored() throws Exception {
+        AtomicBoolean wrongToken = new AtomicBoolean(true);
+        AtomicBoolean noToken = new AtomicBoolean(true);
+
+        perform(new DebugTraceFilter("s3cret"), "guess", () -> wrongToken.set(appLogger.isDebugEnabled()));
+        perform(new DebugTraceFilter(""), "", () -> noToken.set(appLogger.isDebugEnabled()));
+
+        assertFalse(wrongToken.get());
+        assertFalse(noToken.get());
+    }
+
+    private void perform(DebugTraceFilter filter, String header, Runnable insideRequest) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/transactions");
+        request.addHeader(DebugTraceFilter.HEADER, header);
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> insideRequest.run());
+    }
+}
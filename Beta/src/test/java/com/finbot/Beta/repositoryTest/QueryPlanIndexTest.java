@@ -0,0 +1,133 @@
+package com.finbot.Beta.repositoryTest;
+
+import com.finbot.Beta.entity.AccountType;
+import com.finbot.Beta.entity.BankAccount;
+import com.finbot.Beta.entity.User;
+import com.finbot.Beta.repository.BankAccountRepository;
+import com.finbot.Beta.repository.BudgetRepository;
+import com.finbot.Beta.repository.TransactionRepository;
+import com.finbot.Beta.repository.UserRepository;
+import com.finbot.Beta.support.QueryPlans;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static com.finbot.Beta.support.QueryPlans.assertUsesIndex;
+
+/**
+ * Guards the index usage of the custom TransactionRepository and BudgetRepository queries.
+ * Each query is executed once to capture the SQL Hibernate generates, then EXPLAINed in H2.
+ * H2 has no statistics on these tables and prefers the narrowest matching index, so user-scoped
+ * queries accept either user index; what must never appear is a table scan.
+ */
+@ActiveProfiles("test")
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class QueryPlanIndexTest {
+
+    private static final String TRANSACTIONS = "transactions";
+    private static final String BUDGETS = "budgets";
+    private static final String TRANSACTION_USER = "IDX_TRANSACTION_USER";
+    private static final String TRANSACTION_USER_DATE_ID = "IDX_TRANSACTION_USER_DATE_ID";
+    private static final String BUDGET_USER = "IDX_BUDGET_USER";
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private BudgetRepository budgetRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private BankAccountRepository bankAccountRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private User user;
+    private BankAccount account;
+    private final LocalDateTime from = LocalDateTime.of(2024, 1, 1, 0, 0);
+    private final LocalDateTime to = LocalDateTime.of(2024, 12, 31, 0, 0);
+
+    @BeforeAll
+    void setup() {
+        user = userRepository.save(User.builder()
+                .name("Plan User")
+                .email("plan-" + UUID.randomUUID() + "@example.com")
+                .password("encoded")
+                .registeredOn(LocalDate.now())
+                .build());
+        account = bankAccountRepository.save(BankAccount.builder()
+                .user(user)
+                .name("Plan")
+                .balance(BigDecimal.ZERO)
+                .accountType(AccountType.CHECKING)
+                .build());
+    }
+
+    @Test
+    void testTransactionListingsUseUserIndex() throws Exception {
+        assertUsesIndex(plan(() -> transactionRepository.findRowsByUser(user, PageRequest.of(0, 20)).getContent()),
+                TRANSACTIONS, TRANSACTION_USER, TRANSACTION_USER_DATE_ID);
+        assertUsesIndex(plan(() -> transactionRepository.findRowsByUserAndBankAccount(user, account.getId())),
+                TRANSACTIONS, TRANSACTION_USER, TRANSACTION_USER_DATE_ID, "IDX_TRANSACTION_BANK_ACCOUNT");
+        assertUsesIndex(plan(() -> transactionRepository.findRowsByUserAndCategory(user, "groceries")),
+                TRANSACTIONS, TRANSACTION_USER, TRANSACTION_USER_DATE_ID);
+        assertUsesIndex(plan(() -> transactionRepository.sumExpensesByUserAndCategoryAndDateRange(user, "groceries", from, to)),
+                TRANSACTIONS, TRANSACTION_USER, TRANSACTION_USER_DATE_ID, "IDX_TRANSACTION_DATE");
+    }
+
+    @Test
+    void testDateOrderedQueriesUseIndexes() throws Exception {
+        assertUsesIndex(plan(() -> transactionRepository.findRowsByUserAndDateRange(user, from, to)),
+                TRANSACTIONS, TRANSACTION_USER, TRANSACTION_USER_DATE_ID, "IDX_TRANSACTION_DATE");
+        assertUsesIndex(plan(() -> transactionRepository.findFeedFirstPage(user, PageRequest.ofSize(21))),
+                TRANSACTIONS, TRANSACTION_USER, TRANSACTION_USER_DATE_ID);
+        assertUsesIndex(plan(() -> transactionRepository.findFeedPageAfter(user, to, UUID.randomUUID(), PageRequest.ofSize(21))),
+                TRANSACTIONS, TRANSACTION_USER, TRANSACTION_USER_DATE_ID);
+    }
+
+    @Test
+    void testSingleTransactionLookupUsesPrimaryKey() throws Exception {
+        assertUsesIndex(plan(() -> transactionRepository.findRowByIdAndUser(UUID.randomUUID(), user)),
+                TRANSACTIONS, "PRIMARY_KEY");
+    }
+
+    @Test
+    void testBudgetQueriesUseUserIndex() throws Exception {
+        assertUsesIndex(plan(() -> budgetRepository.findActiveByUserAndCategory(user, "groceries", LocalDate.now())),
+                BUDGETS, BUDGET_USER, "IDX_BUDGET_CATEGORY");
+        assertUsesIndex(plan(() -> budgetRepository.findAllActiveByUser(user, LocalDate.now())),
+                BUDGETS, BUDGET_USER);
+        assertUsesIndex(plan(() -> budgetRepository.findActiveForUsersBetween(List.of(user.getId()), LocalDate.now(), LocalDate.now())),
+                BUDGETS, BUDGET_USER);
+    }
+
+    @Test
+    void testBudgetStatusJoinUsesIndexes() throws Exception {
+        String plan = plan(() -> budgetRepository.findStatusByUser(user, LocalDate.now()));
+        assertUsesIndex(plan, BUDGETS, BUDGET_USER, "IDX_BUDGET_CATEGORY");
+        assertUsesIndex(plan, TRANSACTIONS, TRANSACTION_USER, TRANSACTION_USER_DATE_ID);
+    }
+
+    private String plan(Runnable repositoryCall) throws Exception {
+        return QueryPlans.explain(jdbcTemplate, () -> transactionTemplate.executeWithoutResult(status -> repositoryCall.run()));
+    }
+}
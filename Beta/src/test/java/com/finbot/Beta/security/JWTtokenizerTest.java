@@ -0,0 +1,110 @@
+package com.finbot.Beta.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JWTtokenizerTest {
+
+    private static final String SECRET = "testSecretKeyForJWTTokenGenerationAndValidation1234567890";
+
+    private JWTtokenizer jwtTokenizer;
+
+    @BeforeEach
+    void setup() {
+        jwtTokenizer = tokenizer(60_000L);
+    }
+
+    @Test
+    void testVerifyReturnsClaimsAndCachesThem() {
+        String token = jwtTokenizer.generateToken("user-1");
+
+        Optional<Claims> first = jwtTokenizer.verifyToken(token);
+        Optional<Claims> second = jwtTokenizer.verifyToken(token);
+
+        assertTrue(first.isPresent());
+        assertEquals("user-1", first.get().getSubject());
+        // Served from the cache: no second parse
+        assertSame(first.get(), second.get());
+        assertEquals("user-1", jwtTokenizer.extractUserId(token));
+        assertTrue(jwtTokenizer.validateToken(token));
+    }
+
+    @Test
+    void testTamperedTokenIsRejected() {
+        String token = jwtTokenizer.generateToken("user-1");
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+
+        assertTrue(jwtTokenizer.verifyToken(tampered).isEmpty());
+        assertFalse(jwtTokenizer.validateToken(tampered));
+        assertFalse(jwtTokenizer.validateToken("not-a-jwt"));
+    }
+
+    @Test
+    void testTokenSignedWithAnotherKeyIsRejected() {
+        String foreign = Jwts.builder()
+                .setSubject("user-1")
+                .setExpiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(Keys.hmacShaKeyFor("anotherSecretKeyThatIsLongEnoughForHmacSha256Signing".getBytes(StandardCharsets.UTF_8)),
+                        SignatureAlgorithm.HS256)
+                .compact();
+
+        assertTrue(jwtTokenizer.verifyToken(foreign).isEmpty());
+    }
+
+    @Test
+    void testCachedTokenStopsVerifyingOnceExpired() throws InterruptedException {
+        JWTtokenizer shortLived = tokenizer(1_000L);
+        String token = shortLived.generateToken("user-1");
+        assertTrue(shortLived.verifyToken(token).isPresent());
+
+        Thread.sleep(1_100);
+
+        assertTrue(shortLived.verifyToken(token).isEmpty());
+        assertFalse(shortLived.validateToken(token));
+    }
+
+    @Test
+    void testRotatedKeysVerifyOldTokensAndSignWithActiveKid() {
+        JWTtokenizer beforeRotation = tokenizer(60_000L, "k1:firstSecretKeyThatIsLongEnoughForHmacSha256Signing", "");
+        String oldToken = beforeRotation.generateToken("user-1");
+
+        JWTtokenizer duringRotation = tokenizer(60_000L,
+                "k1:firstSecretKeyThatIsLongEnoughForHmacSha256Signing,k2:secondSecretKeyThatIsLongEnoughForHmacSha256Sign", "k2");
+        String newToken = duringRotation.generateToken("user-1");
+
+        assertTrue(duringRotation.verifyToken(oldToken).isPresent());
+        assertTrue(duringRotation.verifyToken(newToken).isPresent());
+        assertFalse(beforeRotation.verifyToken(newToken).isPresent());
+
+        // Once k1 is retired its tokens are rejected
+        JWTtokenizer afterRotation = tokenizer(60_000L, "k2:secondSecretKeyThatIsLongEnoughForHmacSha256Sign", "");
+        assertTrue(afterRotation.verifyToken(newToken).isPresent());
+        assertTrue(afterRotation.verifyToken(oldToken).isEmpty());
+    }
+
+    private JWTtokenizer tokenizer(long expirationMillis) {
+        return tokenizer(expirationMillis, "", "");
+    }
+
+    private JWTtokenizer tokenizer(long expirationMillis, String keys, String activeKid) {
+        JWTtokenizer tokenizer = new JWTtokenizer();
+        ReflectionTestUtils.setField(tokenizer, "keys", keys);
+        ReflectionTestUtils.setField(tokenizer, "activeKid", activeKid);
+        ReflectionTestUtils.setField(tokenizer, "secret", SECRET);
+        ReflectionTestUtils.setField(tokenizer, "expiration", expirationMillis);
+        ReflectionTestUtils.setField(tokenizer, "verifiedCacheMaxSize", 100L);
+        tokenizer.init();
+        return tokenizer;
+    }
+}
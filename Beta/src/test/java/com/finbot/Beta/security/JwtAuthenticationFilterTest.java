@@ -0,0 +1,118 @@
+package com.finbot.Beta.security;
+
+import com.finbot.Beta.entity.User;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+public class JwtAuthenticationFilterTest {
+
+    private static final String SECRET = "testSecretKeyForJWTTokenGenerationAndValidation1234567890";
+
+    private final UUID userId = UUID.fromString("11111111-1111-1111-1111-111111111111");
+
+    private JWTtokenizer jwtTokenizer;
+    private CustomUserDetailsService userDetailsService;
+    private TokenRevocationRegistry revocationRegistry;
+    private JwtAuthenticationFilter filter;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setup() {
+        jwtTokenizer = new JWTtokenizer();
+        ReflectionTestUtils.setField(jwtTokenizer, "secret", SECRET);
+        ReflectionTestUtils.setField(jwtTokenizer, "expiration", 60_000L);
+        ReflectionTestUtils.setField(jwtTokenizer, "verifiedCacheMaxSize", 100L);
+        ReflectionTestUtils.setField(jwtTokenizer, "claimsPrincipalEnabled", true);
+        jwtTokenizer.init();
+
+        userDetailsService = mock(CustomUserDetailsService.class);
+        revocationRegistry = new TokenRevocationRegistry(mock(ObjectProvider.class), 60_000L, false);
+        filter = new JwtAuthenticationFilter(jwtTokenizer, userDetailsService, revocationRegistry);
+    }
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void testClaimsTokenAuthenticatesWithoutUserLookup() throws Exception {
+        Authentication authentication = authenticate(claimsToken(true));
+
+        assertNotNull(authentication);
+        CustomUserDetails principal = (CustomUserDetails) authentication.getPrincipal();
+        assertEquals(userId, principal.getId());
+        assertEquals("test@example.com", principal.getEmail());
+        assertEquals("Test User", principal.getName());
+        verify(userDetailsService, never()).loadUserByUsername(anyString());
+    }
+
+    @Test
+    void testRevokedTokenIsRejected() throws Exception {
+        String token = claimsToken(true);
+        // iat has second precision; revoke in a later second than the token was issued
+        Thread.sleep(1000 - System.currentTimeMillis() % 1000 + 10);
+        revocationRegistry.revoke(userId);
+
+        assertNull(authenticate(token));
+    }
+
+    @Test
+    void testTokenIssuedRightAfterRevocationIsAccepted() throws Exception {
+        revocationRegistry.revoke(userId);
+
+        assertNotNull(authenticate(claimsToken(true)));
+    }
+
+    @Test
+    void testOlderRemoteRevocationDoesNotRejectNewerToken() throws Exception {
+        revocationRegistry.applyRemote(userId + ":" + (System.currentTimeMillis() / 1000 - 60));
+
+        assertNotNull(authenticate(claimsToken(true)));
+    }
+
+    @Test
+    void testInactiveClaimIsRejected() throws Exception {
+        assertNull(authenticate(claimsToken(false)));
+    }
+
+    @Test
+    void testSubjectOnlyTokenFallsBackToUserLookup() throws Exception {
+        User user = User.builder().id(userId).name("Test User").email("test@example.com").password("encoded").build();
+        when(userDetailsService.loadUserByUsername(userId.toString())).thenReturn(new CustomUserDetails(user));
+
+        assertNotNull(authenticate(jwtTokenizer.generateToken(userId.toString())));
+        verify(userDetailsService).loadUserByUsername(userId.toString());
+    }
+
+    private String claimsToken(boolean active) {
+        return jwtTokenizer.generateToken(userId.toString(), new HashMap<>(Map.of(
+                JWTtokenizer.CLAIM_EMAIL, "test@example.com",
+                JWTtokenizer.CLAIM_NAME, "Test User",
+                JWTtokenizer.CLAIM_ACTIVE, active)));
+    }
+
+    private Authentication authenticate(String token) throws Exception {
+        SecurityContextHolder.clearContext();
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/transactions");
+        request.addHeader("Authorization", "Bearer " + token);
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+}
@@ -0,0 +1,72 @@
+package com.finbot.Beta.security;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+public class LoginAttemptTrackerTest {
+
+    private LoginAttemptTracker tracker;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setup() {
+        tracker = new LoginAttemptTracker(mock(ObjectProvider.class), 3, 5, 900, 1000, false);
+    }
+
+    @Test
+    void testEmailLocksAfterThresholdWithinWindow() {
+        tracker.recordFailure("victim@example.com", "10.0.0.1");
+        tracker.recordFailure("victim@example.com", "10.0.0.2");
+        assertTrue(tracker.lockedFor("victim@example.com", "10.0.0.3").isEmpty());
+
+        tracker.recordFailure("Victim@Example.com ", "10.0.0.4");
+
+        Duration remaining = tracker.lockedFor("victim@example.com", "10.0.0.5").orElseThrow();
+        assertTrue(remaining.compareTo(Duration.ofSeconds(890)) > 0 && remaining.compareTo(Duration.ofSeconds(900)) <= 0);
+        assertTrue(tracker.lockedFor("other@example.com", "10.0.0.5").isEmpty());
+    }
+
+    @Test
+    void testIpLocksAcrossDifferentEmails() {
+        for (int i = 0; i < 5; i++) {
+            tracker.recordFailure("user" + i + "@example.com", "10.0.0.1");
+        }
+
+        assertTrue(tracker.lockedFor("fresh@example.com", "10.0.0.1").isPresent());
+        assertTrue(tracker.lockedFor("fresh@example.com", "10.0.0.2").isEmpty());
+    }
+
+    @Test
+    void testSuccessClearsEmailButNotIp() {
+        for (int i = 0; i < 2; i++) {
+            tracker.recordFailure("user@example.com", "10.0.0.1");
+        }
+        tracker.recordSuccess("user@example.com");
+        tracker.recordFailure("user@example.com", "10.0.0.1");
+        assertTrue(tracker.lockedFor("user@example.com", null).isEmpty());
+
+        for (int i = 0; i < 2; i++) {
+            tracker.recordFailure("another@example.com", "10.0.0.1");
+        }
+        assertTrue(tracker.lockedFor("another@example.com", "10.0.0.1").isPresent());
+    }
+
+    @Test
+    void testFailuresOutsideWindowExpire() throws InterruptedException {
+        @SuppressWarnings("unchecked")
+        LoginAttemptTracker shortWindow = new LoginAttemptTracker(mock(ObjectProvider.class), 2, 10, 1, 1000, false);
+        shortWindow.recordFailure("user@example.com", null);
+        shortWindow.recordFailure("user@example.com", null);
+        assertTrue(shortWindow.lockedFor("user@example.com", null).isPresent());
+
+        Thread.sleep(1_100);
+
+        assertTrue(shortWindow.lockedFor("user@example.com", null).isEmpty());
+    }
+}
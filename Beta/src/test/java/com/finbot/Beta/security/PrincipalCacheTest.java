@@ -0,0 +1,61 @@
+package com.finbot.Beta.security;
+
+import com.finbot.Beta.entity.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PrincipalCacheTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private PrincipalCache principalCache;
+    private UUID userId;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        principalCache = new PrincipalCache(meterRegistry, 100, 300);
+        userId = UUID.fromString("11111111-1111-1111-1111-111111111111");
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    void testRepeatLookupsDoNotReload() {
+        for (int i = 0; i < 5; i++) {
+            assertTrue(principalCache.get(userId, this::load).isPresent());
+        }
+
+        assertEquals(1, loads.get());
+        assertEquals(4.0, meterRegistry.get("cache.gets").tag("cache", "security.principal").tag("result", "hit").functionCounter().count());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "security.principal").tag("result", "miss").functionCounter().count());
+    }
+
+    @Test
+    void testInvalidateForcesReload() {
+        principalCache.get(userId, this::load);
+        principalCache.invalidate(userId);
+        principalCache.get(userId, this::load);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void testMissingUserIsNotCached() {
+        assertTrue(principalCache.get(userId, id -> { loads.incrementAndGet(); return Optional.empty(); }).isEmpty());
+        assertTrue(principalCache.get(userId, this::load).isPresent());
+
+        assertEquals(2, loads.get());
+    }
+
+    private Optional<User> load(UUID id) {
+        loads.incrementAndGet();
+        return Optional.of(User.builder().id(id).name("Cached").email("cached@example.com").password("encoded").build());
+    }
+}
@@ -0,0 +1,166 @@
+package com.finbot.Beta.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class RateLimiterTest {
+
+    private StringRedisTemplate redisTemplate;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setup() {
+        redisTemplate = mock(StringRedisTemplate.class);
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void testBucketRejectsOnceExhaustedPerKey() {
+        RateLimiter limiter = limiter(3, false);
+
+        for (int i = 0; i < 3; i++) {
+            assertTrue(limiter.tryAcquire("user:a"));
+        }
+        assertFalse(limiter.tryAcquire("user:a"));
+        // Other keys have their own bucket
+        assertTrue(limiter.tryAcquire("ip:10.0.0.1"));
+
+        assertEquals(1.0, meterRegistry.get("security.rate_limit.rejected").counter().count());
+        assertTrue(limiter.retryAfterSeconds("user:a") >= 1);
+    }
+
+    @Test
+    void testReconcileReportsConsumptionAndAdoptsSharedLevel() {
+        RateLimiter limiter = limiter(5, true);
+        limiter.tryAcquire("user:a");
+        limiter.tryAcquire("user:a");
+        // Other nodes already used up the shared bucket
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(), any(), any(), any())).thenReturn("0");
+
+        limiter.reconcile();
+
+        verify(redisTemplate).execute(any(RedisScript.class), eq(List.of("ratelimit:user:a")),
+                eq("5"), any(), eq("2"), any());
+        assertFalse(limiter.tryAcquire("user:a"));
+
+        // Nothing consumed since the last sync, so nothing is sent
+        limiter.reconcile();
+        verifyNoMoreInteractions(redisTemplate);
+    }
+
+    @Test
+    void testRedisFailureKeepsLocalLimits() {
+        RateLimiter limiter = limiter(2, true);
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(), any(), any(), any()))
+                .thenThrow(new RedisConnectionFailureException("down"));
+
+        assertTrue(limiter.tryAcquire("user:a"));
+        limiter.reconcile();
+
+        assertTrue(limiter.tryAcquire("user:a"));
+        assertFalse(limiter.tryAcquire("user:a"));
+    }
+
+    @Test
+    void testConsumptionIsReportedAfterRedisRecovers() {
+        RateLimiter limiter = limiter(5, true);
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(), any(), any(), any()))
+                .thenThrow(new RedisConnectionFailureException("down"))
+                .thenReturn("3");
+
+        limiter.tryAcquire("user:a");
+        limiter.reconcile();
+        limiter.tryAcquire("user:a");
+        limiter.reconcile();
+
+        // The failed sync's token is sent again together with the new one
+        verify(redisTemplate).execute(any(RedisScript.class), eq(List.of("ratelimit:user:a")),
+                eq("5"), any(), eq("1"), any());
+        verify(redisTemplate).execute(any(RedisScript.class), eq(List.of("ratelimit:user:a")),
+                eq("5"), any(), eq("2"), any());
+    }
+
+    @Test
+    void testFilterRespondsWith429AndRetryAfter() throws Exception {
+        JWTtokenizer jwtTokenizer = tokenizer();
+        RateLimitFilter filter = new RateLimitFilter(limiter(1, false), jwtTokenizer,
+                new ObjectMapper().registerModule(new JavaTimeModule()));
+
+        String token = jwtTokenizer.generateToken("user-1");
+        assertEquals(200, perform(filter, token).getStatus());
+
+        MockHttpServletResponse limited = perform(filter, token);
+        assertEquals(429, limited.getStatus());
+        assertNotNull(limited.getHeader("Retry-After"));
+        assertTrue(limited.getContentAsString().contains("RATE_LIMIT_EXCEEDED"));
+
+        // Anonymous requests from the same address are counted separately from the user
+        assertEquals(200, perform(filter, null).getStatus());
+    }
+
+    @Test
+    void testAddressCyclingThroughUsersIsThrottled() throws Exception {
+        JWTtokenizer jwtTokenizer = tokenizer();
+        RateLimiter limiter = limiter(10, 2, false);
+        RateLimitFilter filter = new RateLimitFilter(limiter, jwtTokenizer,
+                new ObjectMapper().registerModule(new JavaTimeModule()));
+
+        assertEquals(200, perform(filter, jwtTokenizer.generateToken("user-1")).getStatus());
+        assertEquals(200, perform(filter, jwtTokenizer.generateToken("user-2")).getStatus());
+        // A fresh user's own bucket is full, but the address has used its total
+        MockHttpServletResponse limited = perform(filter, jwtTokenizer.generateToken("user-3"));
+        assertEquals(429, limited.getStatus());
+        assertNotNull(limited.getHeader("Retry-After"));
+        assertEquals(429, perform(filter, null).getStatus());
+    }
+
+    private JWTtokenizer tokenizer() {
+        JWTtokenizer jwtTokenizer = new JWTtokenizer();
+        ReflectionTestUtils.setField(jwtTokenizer, "secret", "testSecretKeyForJWTTokenGenerationAndValidation1234567890");
+        ReflectionTestUtils.setField(jwtTokenizer, "expiration", 60_000L);
+        ReflectionTestUtils.setField(jwtTokenizer, "verifiedCacheMaxSize", 100L);
+        jwtTokenizer.init();
+        return jwtTokenizer;
+    }
+
+    private MockHttpServletResponse perform(RateLimitFilter filter, String token) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/transactions");
+        request.setRemoteAddr("10.0.0.1");
+        if (token != null) {
+            request.addHeader("Authorization", "Bearer " + token);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+
+    private RateLimiter limiter(long requests, boolean redisEnabled) {
+        return limiter(requests, 100, redisEnabled);
+    }
+
+    @SuppressWarnings("unchecked")
+    private RateLimiter limiter(long requests, long addressRequests, boolean redisEnabled) {
+        ObjectProvider<StringRedisTemplate> provider = mock(ObjectProvider.class);
+        when(provider.getIfAvailable()).thenReturn(redisTemplate);
+        return new RateLimiter(provider, meterRegistry, requests, addressRequests, 60, 1000, redisEnabled);
+    }
+}
@@ -0,0 +1,176 @@
+package com.finbot.Beta.servicesTest;
+
+import com.finbot.Beta.Dto.request.TransactionRequestDto;
+import com.finbot.Beta.Dto.response.TransactionResponseDto;
+import com.finbot.Beta.Exceptions.InsufficientFundsException;
+import com.finbot.Beta.entity.AccountType;
+import com.finbot.Beta.entity.BankAccount;
+import com.finbot.Beta.entity.TransactionType;
+import com.finbot.Beta.entity.User;
+import com.finbot.Beta.repository.BankAccountRepository;
+import com.finbot.Beta.repository.UserRepository;
+import com.finbot.Beta.service.BankAccountService;
+import com.finbot.Beta.service.TransactionService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@ActiveProfiles("test")
+@SpringBootTest
+public class BankAccountBalanceConcurrencyTest {
+
+    private static final int THREADS = 16;
+    private static final int CREDITS = 100;
+    private static final int DEBITS = 300;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private BankAccountRepository bankAccountRepository;
+
+    @Autowired
+    private BankAccountService bankAccountService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void concurrentDebitsAndCreditsKeepBalanceAndChainConsistent() throws Exception {
+        User user = userRepository.save(User.builder()
+                .name("Concurrent User")
+                .email("concurrent-" + UUID.randomUUID() + "@example.com")
+                .password("encoded")
+                .registeredOn(LocalDate.now())
+                .build());
+        BigDecimal initialBalance = new BigDecimal("1000.00");
+        BankAccount account = bankAccountRepository.save(BankAccount.builder()
+                .user(user)
+                .name("Household")
+                .balance(initialBalance)
+                .accountType(AccountType.CHECKING)
+                .build());
+
+        List<TransactionRequestDto> requests = new ArrayList<>();
+        for (int i = 0; i < CREDITS; i++) {
+            requests.add(request(account.getId(), "1.00", TransactionType.CREDIT));
+        }
+        for (int i = 0; i < DEBITS; i++) {
+            requests.add(request(account.getId(), "5.00", TransactionType.DEBIT));
+        }
+        Collections.shuffle(requests);
+
+        ConcurrentLinkedQueue<TransactionResponseDto> written = new ConcurrentLinkedQueue<>();
+        AtomicInteger rejectedDebits = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (TransactionRequestDto request : requests) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    try {
+                        written.add(transactionService.createTransaction(user, request));
+                    } catch (InsufficientFundsException e) {
+                        rejectedDebits.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        long successfulDebits = written.stream().filter(t -> "DEBIT".equals(t.getType())).count();
+        assertEquals(DEBITS, successfulDebits + rejectedDebits.get());
+        // The account always held at least 200 debits' worth of funds, so none of those may be rejected
+        assertTrue(successfulDebits >= 200, "Debits were rejected while funds were available");
+
+        BigDecimal expected = initialBalance
+                .add(BigDecimal.valueOf(CREDITS))
+                .subtract(BigDecimal.valueOf(5 * successfulDebits));
+        BigDecimal actual = bankAccountRepository.findById(account.getId()).orElseThrow().getBalance();
+        assertEquals(0, expected.compareTo(actual), "Lost update: expected " + expected + " but was " + actual);
+        assertTrue(actual.signum() >= 0, "Balance went negative");
+
+        // Every row moves the balance by its own amount, and together the rows form one unbroken chain
+        List<BigDecimal> from = new ArrayList<>(List.of(actual));
+        List<BigDecimal> to = new ArrayList<>(List.of(initialBalance));
+        for (TransactionResponseDto t : written) {
+            BigDecimal delta = t.getNewBalance().subtract(t.getPreviousBalance());
+            BigDecimal signed = "CREDIT".equals(t.getType()) ? t.getAmount() : t.getAmount().negate();
+            assertEquals(0, signed.compareTo(delta));
+            from.add(t.getPreviousBalance());
+            to.add(t.getNewBalance());
+        }
+        assertEquals(normalise(from), normalise(to));
+    }
+
+    @Test
+    void testBalanceUpdateTouchesUpdatedAtAndRefreshesLoadedAccount() {
+        User user = userRepository.save(User.builder()
+                .name("Timestamp User")
+                .email("timestamp-" + UUID.randomUUID() + "@example.com")
+                .password("encoded")
+                .registeredOn(LocalDate.now())
+                .build());
+        BankAccount account = bankAccountRepository.save(BankAccount.builder()
+                .user(user)
+                .name("Main")
+                .balance(new BigDecimal("100.00"))
+                .accountType(AccountType.CHECKING)
+                .build());
+        LocalDateTime before = bankAccountRepository.findById(account.getId()).orElseThrow().getUpdatedAt();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            BankAccount loaded = bankAccountRepository.findById(account.getId()).orElseThrow();
+            bankAccountService.updateBalance(user.getId(), account.getId(), new BigDecimal("40.00"), TransactionType.DEBIT);
+
+            // The account loaded before the UPDATE is not served stale from the persistence context
+            BankAccount reloaded = bankAccountRepository.findById(account.getId()).orElseThrow();
+            assertEquals(0, new BigDecimal("60.00").compareTo(reloaded.getBalance()));
+            assertEquals(loaded.getVersion() + 1, reloaded.getVersion());
+        });
+
+        LocalDateTime after = bankAccountRepository.findById(account.getId()).orElseThrow().getUpdatedAt();
+        assertTrue(after.isAfter(before), "updatedAt was not changed by the balance update");
+    }
+
+    private TransactionRequestDto request(UUID accountId, String amount, TransactionType type) {
+        return TransactionRequestDto.builder()
+                .bankAccountId(accountId)
+                .amount(new BigDecimal(amount))
+                .type(type)
+                .build();
+    }
+
+    private List<BigDecimal> normalise(List<BigDecimal> values) {
+        return values.stream().map(BigDecimal::stripTrailingZeros).sorted().toList();
+    }
+}
@@ -0,0 +1,226 @@
+package com.finbot.Beta.servicesTest;
+
+import com.finbot.Beta.Dto.request.BudgetRequestDto;
+import com.finbot.Beta.Dto.request.TransactionRequestDto;
+import com.finbot.Beta.entity.AccountType;
+import com.finbot.Beta.entity.BankAccount;
+import com.finbot.Beta.entity.Budget;
+import com.finbot.Beta.entity.BudgetPeriod;
+import com.finbot.Beta.entity.BudgetPeriodSpend;
+import com.finbot.Beta.entity.BudgetPeriodSpendId;
+import com.finbot.Beta.entity.TransactionType;
+import com.finbot.Beta.entity.User;
+import com.finbot.Beta.repository.BankAccountRepository;
+import com.finbot.Beta.repository.BudgetPeriodSpendRepository;
+import com.finbot.Beta.repository.BudgetRepository;
+import com.finbot.Beta.repository.BudgetSpendingOutboxRepository;
+import com.finbot.Beta.repository.TransactionRepository;
+import com.finbot.Beta.repository.UserRepository;
+import com.finbot.Beta.service.BudgetService;
+import com.finbot.Beta.service.TransactionService;
+import com.finbot.Beta.service.impl.BudgetReconciliationJob;
+import com.finbot.Beta.service.impl.BudgetSpendingAggregator;
+import com.finbot.Beta.service.support.BudgetPeriodLedger;
+import com.finbot.Beta.service.support.BudgetReconciliationReport;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ActiveProfiles("test")
+@SpringBootTest
+public class BudgetReconciliationJobTest {
+
+    @Autowired
+    private BudgetReconciliationJob reconciliationJob;
+
+    @Autowired
+    private BudgetSpendingAggregator budgetSpendingAggregator;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private BudgetService budgetService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private BankAccountRepository bankAccountRepository;
+
+    @Autowired
+    private BudgetRepository budgetRepository;
+
+    @Autowired
+    private BudgetPeriodSpendRepository budgetPeriodSpendRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private BudgetSpendingOutboxRepository budgetSpendingOutboxRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void testDriftedBudgetsAreCorrectedAndReported() {
+        User user = user();
+        BankAccount account = account(user);
+        Budget groceries = budgetRepository.save(budget(user, "groceries"));
+        Budget travel = budgetRepository.save(budget(user, "travel"));
+        Budget books = budgetRepository.save(budget(user, "books"));
+        // A second user whose budget is already consistent
+        User other = user();
+        Budget othersGroceries = budgetRepository.save(budget(other, "groceries"));
+
+        debit(user, account, "20.00", "groceries");
+        debit(user, account, "10.00", "groceries");
+        debit(user, account, "50.00", "travel");
+        debit(user, account, "5.00", "books");
+        budgetSpendingAggregator.drain();
+
+        // A corrupted counter and period bucket, a lost bucket, and a budget whose category was edited
+        // after spending was applied
+        Budget corrupted = budgetRepository.findById(groceries.getId()).orElseThrow();
+        corrupted.setCurrentSpent(new BigDecimal("999.00"));
+        budgetRepository.save(corrupted);
+        BudgetPeriodSpend bucket = budgetPeriodSpendRepository.findById(currentBucket(groceries)).orElseThrow();
+        bucket.setSpent(new BigDecimal("500.00"));
+        budgetPeriodSpendRepository.save(bucket);
+        budgetPeriodSpendRepository.deleteById(currentBucket(books));
+        budgetService.updateBudget(user, travel.getId(), BudgetRequestDto.builder()
+                .name("Rail")
+                .category("rail")
+                .amount(travel.getAmount())
+                .period(BudgetPeriod.MONTHLY)
+                .startDate(travel.getStartDate())
+                .build());
+
+        // One user per chunk, so the users are reconciled by separate fork-join tasks
+        BudgetReconciliationJob job = job(2, 1);
+        BudgetReconciliationReport report;
+        try {
+            report = job.reconcile().orElseThrow();
+        } finally {
+            job.shutdown();
+        }
+
+        assertSpent(groceries, "30.00");
+        assertSpent(travel, "0");
+        assertSpent(books, "5.00");
+        assertSpent(othersGroceries, "0");
+        assertPeriodSpent(groceries, "30.00");
+        assertPeriodSpent(travel, "0");
+        assertPeriodSpent(books, "5.00");
+        assertTrue(report.usersScanned() >= 2);
+        assertTrue(report.budgetsCorrected() >= 3);
+        assertTrue(report.periodsDrifted() >= 3);
+        // 969 and 470 on groceries, 50 twice on travel, 5 on books' bucket
+        assertTrue(report.totalAbsoluteDrift().compareTo(new BigDecimal("1544.00")) >= 0);
+        assertEquals(0, report.failedChunks());
+        assertEquals(report, job.lastReport().orElseThrow());
+    }
+
+    @Test
+    void testUndrainedSpendingIsNotCountedAsDrift() {
+        User user = user();
+        BankAccount account = account(user);
+        Budget groceries = budgetRepository.save(budget(user, "groceries"));
+
+        // The outbox entry may or may not be drained yet; either way the budget is consistent
+        debit(user, account, "12.00", "groceries");
+        BigDecimal before = budgetRepository.findById(groceries.getId()).orElseThrow().getCurrentSpent();
+        reconciliationJob.reconcile();
+
+        BigDecimal after = budgetRepository.findById(groceries.getId()).orElseThrow().getCurrentSpent();
+        assertTrue(after.compareTo(before) >= 0 && after.compareTo(new BigDecimal("12.00")) <= 0);
+        budgetSpendingAggregator.drain();
+        assertSpent(groceries, "12.00");
+    }
+
+    @Test
+    void testScheduledRunDoesNotBlockTheSchedulerThread() throws Exception {
+        BudgetReconciliationJob job = job(1, 500);
+        try {
+            job.scheduledRun();
+            assertTrue(job.isRunning() || job.lastReport().isPresent());
+            long deadline = System.currentTimeMillis() + 10_000;
+            while (job.isRunning() && System.currentTimeMillis() < deadline) {
+                Thread.sleep(20);
+            }
+            assertEquals(0, job.lastReport().orElseThrow().failedChunks());
+        } finally {
+            job.shutdown();
+        }
+    }
+
+    private void assertPeriodSpent(Budget budget, String expected) {
+        BigDecimal actual = budgetPeriodSpendRepository.findById(currentBucket(budget))
+                .map(BudgetPeriodSpend::getSpent)
+                .orElse(BigDecimal.ZERO);
+        assertEquals(0, new BigDecimal(expected).compareTo(actual), budget.getCategory() + " period spent " + actual);
+    }
+
+    private BudgetPeriodSpendId currentBucket(Budget budget) {
+        return BudgetPeriodLedger.bucketOf(budget, LocalDate.now());
+    }
+
+    private BudgetReconciliationJob job(int parallelism, int chunkSize) {
+        return new BudgetReconciliationJob(budgetRepository, budgetPeriodSpendRepository, transactionRepository,
+                budgetSpendingOutboxRepository, transactionTemplate, parallelism, chunkSize);
+    }
+
+    private void assertSpent(Budget budget, String expected) {
+        BigDecimal actual = budgetRepository.findById(budget.getId()).orElseThrow().getCurrentSpent();
+        assertEquals(0, new BigDecimal(expected).compareTo(actual), budget.getCategory() + " spent " + actual);
+    }
+
+    private void debit(User user, BankAccount account, String amount, String category) {
+        transactionService.createTransaction(user, TransactionRequestDto.builder()
+                .bankAccountId(account.getId())
+                .amount(new BigDecimal(amount))
+                .type(TransactionType.DEBIT)
+                .category(category)
+                .build());
+    }
+
+    private User user() {
+        return userRepository.save(User.builder()
+                .name("Reconcile User")
+                .email("reconcile-" + UUID.randomUUID() + "@example.com")
+                .password("encoded")
+                .registeredOn(LocalDate.now())
+                .build());
+    }
+
+    private BankAccount account(User user) {
+        return bankAccountRepository.save(BankAccount.builder()
+                .user(user)
+                .name("Main")
+                .balance(new BigDecimal("500.00"))
+                .accountType(AccountType.CHECKING)
+                .build());
+    }
+
+    private Budget budget(User user, String category) {
+        return Budget.builder()
+                .user(user)
+                .name(category)
+                .category(category)
+                .amount(new BigDecimal("100.00"))
+                .period(BudgetPeriod.MONTHLY)
+                .startDate(LocalDate.now().minusDays(1))
+                .currentSpent(BigDecimal.ZERO)
+                .isActive(true)
+                .build();
+    }
+}
@@ -0,0 +1,173 @@
+package com.finbot.Beta.servicesTest;
+
+import com.finbot.Beta.Dto.request.TransactionRequestDto;
+import com.finbot.Beta.Dto.response.BudgetPeriodSpendDto;
+import com.finbot.Beta.Dto.response.BudgetResponseDto;
+import com.finbot.Beta.entity.AccountType;
+import com.finbot.Beta.entity.BankAccount;
+import com.finbot.Beta.entity.Budget;
+import com.finbot.Beta.entity.BudgetPeriod;
+import com.finbot.Beta.entity.TransactionType;
+import com.finbot.Beta.entity.User;
+import com.finbot.Beta.repository.BankAccountRepository;
+import com.finbot.Beta.repository.BudgetRepository;
+import com.finbot.Beta.repository.UserRepository;
+import com.finbot.Beta.service.BudgetService;
+import com.finbot.Beta.service.TransactionService;
+import com.finbot.Beta.service.impl.BudgetSpendingAggregator;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@ActiveProfiles("test")
+@SpringBootTest
+public class BudgetSpendingAggregatorTest {
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private BudgetSpendingAggregator budgetSpendingAggregator;
+
+    @Autowired
+    private BudgetService budgetService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private BankAccountRepository bankAccountRepository;
+
+    @Autowired
+    private BudgetRepository budgetRepository;
+
+    @Test
+    void testDebitsAreFoldedIntoMatchingBudgetsOnly() {
+        User user = userRepository.save(User.builder()
+                .name("Budget User")
+                .email("budget-" + UUID.randomUUID() + "@example.com")
+                .password("encoded")
+                .registeredOn(LocalDate.now())
+                .build());
+        BankAccount account = bankAccountRepository.save(BankAccount.builder()
+                .user(user)
+                .name("Main")
+                .balance(new BigDecimal("500.00"))
+                .accountType(AccountType.CHECKING)
+                .build());
+        Budget groceries = budgetRepository.save(budget(user, "groceries", LocalDate.now().minusDays(1), null));
+        Budget expired = budgetRepository.save(budget(user, "groceries", LocalDate.now().minusMonths(2), LocalDate.now().minusMonths(1)));
+
+        debit(user, account, "12.50", "groceries");
+        debit(user, account, "7.50", "groceries");
+        debit(user, account, "30.00", "travel");
+
+        budgetSpendingAggregator.drain();
+
+        assertEquals(0, new BigDecimal("20.00").compareTo(budgetRepository.findById(groceries.getId()).orElseThrow().getCurrentSpent()));
+        assertEquals(0, BigDecimal.ZERO.compareTo(budgetRepository.findById(expired.getId()).orElseThrow().getCurrentSpent()));
+    }
+
+    @Test
+    void testSpendIsBucketedByTheDebitsPeriod() {
+        User user = userRepository.save(User.builder()
+                .name("Period User")
+                .email("period-" + UUID.randomUUID() + "@example.com")
+                .password("encoded")
+                .registeredOn(LocalDate.now())
+                .build());
+        BankAccount account = bankAccountRepository.save(BankAccount.builder()
+                .user(user)
+                .name("Main")
+                .balance(new BigDecimal("500.00"))
+                .accountType(AccountType.CHECKING)
+                .build());
+        LocalDate thisMonth = LocalDate.now().withDayOfMonth(1);
+        LocalDate lastMonth = thisMonth.minusMonths(1);
+        Budget groceries = budgetRepository.save(budget(user, "groceries", lastMonth, null));
+
+        debit(user, account, "60.00", "groceries", lastMonth.plusDays(3));
+        debit(user, account, "15.00", "groceries", thisMonth);
+        debit(user, account, "10.00", "groceries", LocalDate.now());
+        budgetSpendingAggregator.drain();
+
+        // Last month's spend does not count against this month's limit
+        BudgetResponseDto current = budgetService.getBudget(user, groceries.getId());
+        assertEquals(thisMonth, current.getCurrentPeriodStart());
+        assertEquals(0, new BigDecimal("25.00").compareTo(current.getCurrentSpent()));
+        assertEquals(0, new BigDecimal("75.00").compareTo(current.getRemainingAmount()));
+
+        List<BudgetPeriodSpendDto> periods = budgetService.getBudgetPeriods(user, groceries.getId(), null, null);
+        assertEquals(2, periods.size());
+        assertEquals(lastMonth, periods.get(0).getPeriodStart());
+        assertEquals(thisMonth.minusDays(1), periods.get(0).getPeriodEnd());
+        assertEquals(0, new BigDecimal("60.00").compareTo(periods.get(0).getSpent()));
+        assertEquals(0, new BigDecimal("25.00").compareTo(periods.get(1).getSpent()));
+    }
+
+    @Test
+    void testBackdatedDebitCountsAgainstTheBudgetActiveOnItsDate() {
+        User user = userRepository.save(User.builder()
+                .name("Backdated User")
+                .email("backdated-" + UUID.randomUUID() + "@example.com")
+                .password("encoded")
+                .registeredOn(LocalDate.now())
+                .build());
+        BankAccount account = bankAccountRepository.save(BankAccount.builder()
+                .user(user)
+                .name("Main")
+                .balance(new BigDecimal("500.00"))
+                .accountType(AccountType.CHECKING)
+                .build());
+        LocalDate thisMonth = LocalDate.now().withDayOfMonth(1);
+        Budget current = budgetRepository.save(budget(user, "groceries", thisMonth, null));
+        Budget previous = budgetRepository.save(budget(user, "groceries", thisMonth.minusMonths(2), thisMonth.minusDays(1)));
+
+        // Entered today, but it happened last month, before the current budget started
+        debit(user, account, "40.00", "groceries", thisMonth.minusMonths(1).plusDays(4));
+        budgetSpendingAggregator.drain();
+
+        assertEquals(0, BigDecimal.ZERO.compareTo(budgetRepository.findById(current.getId()).orElseThrow().getCurrentSpent()));
+        assertEquals(0, new BigDecimal("40.00").compareTo(budgetRepository.findById(previous.getId()).orElseThrow().getCurrentSpent()));
+        BudgetPeriodSpendDto lastMonth = budgetService.getBudgetPeriods(user, previous.getId(), null, null).stream()
+                .filter(p -> p.getPeriodStart().equals(thisMonth.minusMonths(1)))
+                .findFirst().orElseThrow();
+        assertEquals(0, new BigDecimal("40.00").compareTo(lastMonth.getSpent()));
+    }
+
+    private void debit(User user, BankAccount account, String amount, String category) {
+        debit(user, account, amount, category, null);
+    }
+
+    private void debit(User user, BankAccount account, String amount, String category, LocalDate date) {
+        transactionService.createTransaction(user, TransactionRequestDto.builder()
+                .bankAccountId(account.getId())
+                .amount(new BigDecimal(amount))
+                .type(TransactionType.DEBIT)
+                .category(category)
+                .transactionDate(date != null ? date.atTime(12, 0) : null)
+                .build());
+    }
+
+    private Budget budget(User user, String category, LocalDate startDate, LocalDate endDate) {
+        return Budget.builder()
+                .user(user)
+                .name(category)
+                .category(category)
+                .amount(new BigDecimal("100.00"))
+                .period(BudgetPeriod.MONTHLY)
+                .startDate(startDate)
+                .endDate(endDate)
+                .currentSpent(BigDecimal.ZERO)
+                .isActive(true)
+                .build();
+    }
+}
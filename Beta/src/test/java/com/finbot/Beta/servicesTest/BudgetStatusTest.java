@@ -0,0 +1,141 @@
+package com.finbot.Beta.servicesTest;
+
+import com.finbot.Beta.Dto.request.TransactionRequestDto;
+import com.finbot.Beta.Dto.response.BudgetStatusDto;
+import com.finbot.Beta.entity.AccountType;
+import com.finbot.Beta.entity.BankAccount;
+import com.finbot.Beta.entity.Budget;
+import com.finbot.Beta.entity.BudgetPeriod;
+import com.finbot.Beta.entity.TransactionType;
+import com.finbot.Beta.entity.User;
+import com.finbot.Beta.repository.BankAccountRepository;
+import com.finbot.Beta.repository.BudgetRepository;
+import com.finbot.Beta.repository.UserRepository;
+import com.finbot.Beta.service.BudgetService;
+import com.finbot.Beta.service.TransactionService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@ActiveProfiles("test")
+@SpringBootTest
+public class BudgetStatusTest {
+
+    @Autowired
+    private BudgetService budgetService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private BankAccountRepository bankAccountRepository;
+
+    @Autowired
+    private BudgetRepository budgetRepository;
+
+    @Test
+    void testStatusSumsDebitsInsideEachBudgetWindow() {
+        User user = user();
+        BankAccount account = account(user);
+        LocalDate today = LocalDate.now();
+        Budget groceries = budgetRepository.save(budget(user, "Groceries", "groceries", "40.00", today.minusDays(2), today));
+        Budget travel = budgetRepository.save(budget(user, "Travel", "travel", "200.00", today.minusDays(10), null));
+        Budget idle = budgetRepository.save(budget(user, "Books", "books", "0.00", today, null));
+
+        // Before the groceries window, inside it on its last day, and a credit that must not count
+        transaction(user, account, "5.00", TransactionType.DEBIT, "groceries", today.minusDays(5));
+        transaction(user, account, "30.00", TransactionType.DEBIT, "groceries", today);
+        transaction(user, account, "8.00", TransactionType.CREDIT, "groceries", today);
+        transaction(user, account, "50.00", TransactionType.DEBIT, "travel", today);
+
+        Map<UUID, BudgetStatusDto> status = budgetService.getBudgetStatus(user).stream()
+                .collect(Collectors.toMap(BudgetStatusDto::getBudgetId, Function.identity()));
+
+        assertEquals(3, status.size());
+        assertStatus(status.get(groceries.getId()), "30.00", "10.00", 75.0);
+        assertStatus(status.get(travel.getId()), "50.00", "150.00", 25.0);
+        assertStatus(status.get(idle.getId()), "0", "0", 0.0);
+    }
+
+    @Test
+    void testStatusOnlyCountsTheCurrentPeriodOfARolledOverBudget() {
+        User user = user();
+        BankAccount account = account(user);
+        LocalDate today = LocalDate.now();
+        LocalDate monthStart = BudgetPeriod.MONTHLY.periodStart(today);
+        Budget dining = budgetRepository.save(budget(user, "Dining", "dining", "100.00", monthStart.minusMonths(2), null));
+
+        // Last day of the previous month belongs to the period that already rolled over
+        transaction(user, account, "70.00", TransactionType.DEBIT, "dining", monthStart.minusDays(1));
+        transaction(user, account, "20.00", TransactionType.DEBIT, "dining", today);
+
+        List<BudgetStatusDto> status = budgetService.getBudgetStatus(user);
+
+        assertEquals(1, status.size());
+        assertEquals(dining.getId(), status.get(0).getBudgetId());
+        assertStatus(status.get(0), "20.00", "80.00", 20.0);
+    }
+
+    private User user() {
+        return userRepository.save(User.builder()
+                .name("Status User")
+                .email("status-" + UUID.randomUUID() + "@example.com")
+                .password("encoded")
+                .registeredOn(LocalDate.now())
+                .build());
+    }
+
+    private BankAccount account(User user) {
+        return bankAccountRepository.save(BankAccount.builder()
+                .user(user)
+                .name("Main")
+                .balance(new BigDecimal("1000.00"))
+                .accountType(AccountType.CHECKING)
+                .build());
+    }
+
+    private void assertStatus(BudgetStatusDto status, String spent, String remaining, double percentage) {
+        assertEquals(0, new BigDecimal(spent).compareTo(status.getSpent()));
+        assertEquals(0, new BigDecimal(remaining).compareTo(status.getRemainingAmount()));
+        assertEquals(percentage, status.getPercentageUsed(), 0.001);
+    }
+
+    private void transaction(User user, BankAccount account, String amount, TransactionType type,
+                             String category, LocalDate date) {
+        transactionService.createTransactions(user, List.of(TransactionRequestDto.builder()
+                .bankAccountId(account.getId())
+                .amount(new BigDecimal(amount))
+                .type(type)
+                .category(category)
+                .transactionDate(date.atTime(12, 0))
+                .build()));
+    }
+
+    private Budget budget(User user, String name, String category, String amount, LocalDate startDate, LocalDate endDate) {
+        return Budget.builder()
+                .user(user)
+                .name(name)
+                .category(category)
+                .amount(new BigDecimal(amount))
+                .period(BudgetPeriod.MONTHLY)
+                .currentSpent(BigDecimal.ZERO)
+                .startDate(startDate)
+                .endDate(endDate)
+                .isActive(true)
+                .build();
+    }
+}
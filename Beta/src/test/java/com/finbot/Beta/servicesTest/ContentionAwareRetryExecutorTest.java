@@ -0,0 +1,90 @@
+package com.finbot.Beta.servicesTest;
+
+import com.finbot.Beta.service.support.AccountContentionTracker;
+import com.finbot.Beta.service.support.ContentionAwareRetryExecutor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ContentionAwareRetryExecutorTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private AccountContentionTracker tracker;
+    private ContentionAwareRetryExecutor executor;
+
+    @BeforeEach
+    void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        tracker = new AccountContentionTracker(meterRegistry, 100);
+        executor = new ContentionAwareRetryExecutor(tracker, meterRegistry, 4, 1, 2);
+    }
+
+    @Test
+    void testRetriesUntilTheWorkSucceeds() {
+        UUID accountId = UUID.randomUUID();
+        AtomicInteger calls = new AtomicInteger();
+
+        String result = executor.execute(accountId, () -> {
+            if (calls.incrementAndGet() < 3) {
+                throw new OptimisticLockingFailureException("stale");
+            }
+            return "written";
+        });
+
+        assertEquals("written", result);
+        assertEquals(3, calls.get());
+        assertEquals(2.0, meterRegistry.counter("transactions.write.retries").count());
+    }
+
+    @Test
+    void testGivesUpAfterMaxAttempts() {
+        AtomicInteger calls = new AtomicInteger();
+
+        assertThrows(OptimisticLockingFailureException.class, () -> executor.execute(UUID.randomUUID(), () -> {
+            calls.incrementAndGet();
+            throw new OptimisticLockingFailureException("stale");
+        }));
+
+        assertEquals(4, calls.get());
+        assertEquals(1.0, meterRegistry.counter("transactions.write.retries.exhausted").count());
+    }
+
+    @Test
+    void testDeadlocksAreRetriedAndShowUpInTheContentionSnapshot() {
+        UUID accountId = UUID.randomUUID();
+        AtomicInteger calls = new AtomicInteger();
+
+        executor.execute(accountId, () -> {
+            if (calls.incrementAndGet() == 1) {
+                throw new CannotAcquireLockException("Deadlock found when trying to get lock");
+            }
+            return null;
+        });
+
+        assertEquals(2, calls.get());
+        AccountContentionTracker.AccountContentionSnapshot snapshot = tracker.snapshot(10).get(0);
+        assertEquals(accountId, snapshot.accountId());
+        assertEquals(2, snapshot.attempts());
+        assertEquals(1, snapshot.conflicts());
+        assertTrue(snapshot.conflictRate() > 0);
+    }
+
+    @Test
+    void testOtherFailuresAreNotRetried() {
+        AtomicInteger calls = new AtomicInteger();
+
+        assertThrows(IllegalStateException.class, () -> executor.execute(UUID.randomUUID(), () -> {
+            calls.incrementAndGet();
+            throw new IllegalStateException("boom");
+        }));
+
+        assertEquals(1, calls.get());
+    }
+}
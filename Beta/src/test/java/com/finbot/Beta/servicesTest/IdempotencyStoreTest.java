@@ -0,0 +1,211 @@
+package com.finbot.Beta.servicesTest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.finbot.Beta.Dto.request.TransactionRequestDto;
+import com.finbot.Beta.Dto.response.TransactionResponseDto;
+import com.finbot.Beta.Exceptions.IdempotencyConflictException;
+import com.finbot.Beta.Exceptions.InvalidIdempotencyKeyException;
+import com.finbot.Beta.service.support.IdempotencyStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.math.BigDecimal;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class IdempotencyStoreTest {
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+
+    private ObjectMapper objectMapper;
+    private IdempotencyStore idempotencyStore;
+    private TransactionRequestDto request;
+    private UUID userId;
+
+    @BeforeEach
+    void setup() {
+        MockitoAnnotations.openMocks(this);
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        idempotencyStore = new IdempotencyStore(redisTemplate, objectMapper, 3600, 30, 2000, 100, 60);
+        userId = UUID.fromString("11111111-1111-1111-1111-111111111111");
+        request = request("10.00");
+    }
+
+    @Test
+    void testConcurrentDuplicatesExecuteOnce() throws Exception {
+        when(valueOperations.get(anyString())).thenReturn(null);
+        when(valueOperations.setIfAbsent(anyString(), anyString(), any(Duration.class))).thenReturn(true);
+
+        AtomicInteger executions = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            Future<TransactionResponseDto> first = executor.submit(() -> idempotencyStore.execute(userId, "key-1", request, () -> {
+                executions.incrementAndGet();
+                await(release);
+                return response();
+            }));
+            // Let the first caller claim the key before the duplicates arrive
+            Thread.sleep(100);
+            Future<TransactionResponseDto> second = executor.submit(() ->
+                    idempotencyStore.execute(userId, "key-1", request, () -> { executions.incrementAndGet(); return response(); }));
+            Future<TransactionResponseDto> third = executor.submit(() ->
+                    idempotencyStore.execute(userId, "key-1", request, () -> { executions.incrementAndGet(); return response(); }));
+            release.countDown();
+
+            UUID id = first.get().getId();
+            assertEquals(id, second.get().getId());
+            assertEquals(id, third.get().getId());
+            assertEquals(1, executions.get());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void testStoredResponseIsReplayedFromRedis() throws Exception {
+        TransactionResponseDto stored = response();
+        when(valueOperations.get(anyString())).thenReturn(storedJson(request, stored));
+
+        TransactionResponseDto replayed = idempotencyStore.execute(userId, "key-2", request, () -> {
+            throw new AssertionError("Action must not run for a completed key");
+        });
+
+        assertEquals(stored.getId(), replayed.getId());
+        verify(valueOperations, never()).setIfAbsent(anyString(), anyString(), any(Duration.class));
+    }
+
+    @Test
+    void testFailedRequestReleasesTheKey() {
+        when(valueOperations.get(anyString())).thenReturn(null);
+        when(valueOperations.setIfAbsent(anyString(), anyString(), any(Duration.class))).thenReturn(true);
+
+        try {
+            idempotencyStore.execute(userId, "key-3", request, () -> { throw new IllegalStateException("boom"); });
+        } catch (IllegalStateException expected) {
+            // expected
+        }
+
+        verify(redisTemplate).delete("idempotency:transaction:" + userId + ":key-3");
+    }
+
+    @Test
+    void testRedisOutageFallsBackToLocalProtection() {
+        when(valueOperations.get(anyString())).thenThrow(new RedisConnectionFailureException("down"));
+        AtomicInteger executions = new AtomicInteger();
+
+        TransactionResponseDto first = idempotencyStore.execute(userId, "key-4", request, () -> { executions.incrementAndGet(); return response(); });
+        TransactionResponseDto second = idempotencyStore.execute(userId, "key-4", request, () -> { executions.incrementAndGet(); return response(); });
+
+        assertEquals(first.getId(), second.getId());
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    void testKeyReusedWithDifferentPayloadIsRejected() throws Exception {
+        when(valueOperations.get(anyString())).thenReturn(storedJson(request, response()));
+
+        assertThrows(IdempotencyConflictException.class, () -> idempotencyStore.execute(userId, "key-5",
+                request("99.00"), () -> { throw new AssertionError("Action must not run for a reused key"); }));
+    }
+
+    @Test
+    void testDifferentPayloadIsRejectedWhileOriginalIsInFlight() throws Exception {
+        when(valueOperations.get(anyString())).thenReturn("IN_FLIGHT:" + fingerprint(request));
+        when(valueOperations.setIfAbsent(anyString(), anyString(), any(Duration.class))).thenReturn(false);
+
+        assertThrows(IdempotencyConflictException.class, () -> idempotencyStore.execute(userId, "key-6",
+                request("99.00"), () -> { throw new AssertionError("Action must not run for a claimed key"); }));
+    }
+
+    @Test
+    void testMalformedKeyIsRejected() {
+        assertThrows(InvalidIdempotencyKeyException.class,
+                () -> idempotencyStore.execute(userId, " ", request, this::response));
+        assertThrows(InvalidIdempotencyKeyException.class,
+                () -> idempotencyStore.execute(userId, "k".repeat(256), request, this::response));
+        verifyNoInteractions(valueOperations);
+    }
+
+    @Test
+    void testRetryWithoutTransactionDateIsReplayed() throws Exception {
+        ArgumentCaptor<String> stored = ArgumentCaptor.forClass(String.class);
+        when(valueOperations.get(anyString())).thenReturn(null);
+        when(valueOperations.setIfAbsent(anyString(), anyString(), any(Duration.class))).thenReturn(true);
+        TransactionResponseDto first = idempotencyStore.execute(userId, "key-7", request("25.00"), this::response);
+        verify(valueOperations).set(anyString(), stored.capture(), any(Duration.class));
+
+        // The retry is parsed afresh on another node, a little later, with no date in the body either
+        Thread.sleep(5);
+        when(valueOperations.get(anyString())).thenReturn(stored.getValue());
+        IdempotencyStore otherNode = new IdempotencyStore(redisTemplate, objectMapper, 3600, 30, 2000, 100, 60);
+        TransactionResponseDto replayed = otherNode.execute(userId, "key-7", request("25.00"), () -> {
+            throw new AssertionError("Action must not run for a retried request");
+        });
+
+        assertEquals(first.getId(), replayed.getId());
+    }
+
+    private TransactionRequestDto request(String amount) {
+        try {
+            // Deserialized the way the controller receives it
+            return objectMapper.readValue("{\"bankAccountId\":\"22222222-2222-2222-2222-222222222222\","
+                    + "\"amount\":" + amount + ",\"type\":\"DEBIT\",\"category\":\"groceries\"}", TransactionRequestDto.class);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private String storedJson(Object request, TransactionResponseDto response) throws Exception {
+        return objectMapper.writeValueAsString(Map.of("fingerprint", fingerprint(request), "response", response));
+    }
+
+    private String fingerprint(Object request) throws Exception {
+        byte[] digest = MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(request));
+        return HexFormat.of().formatHex(digest);
+    }
+
+    private TransactionResponseDto response() {
+        return TransactionResponseDto.builder()
+                .id(UUID.randomUUID())
+                .userId(userId)
+                .amount(new BigDecimal("10.00"))
+                .type("DEBIT")
+                .transactionDate(LocalDateTime.of(2025, 7, 31, 10, 0))
+                .build();
+    }
+
+    private void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
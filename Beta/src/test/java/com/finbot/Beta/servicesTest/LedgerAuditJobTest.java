@@ -0,0 +1,152 @@
+package com.finbot.Beta.servicesTest;
+
+import com.finbot.Beta.Dto.request.TransactionRequestDto;
+import com.finbot.Beta.Dto.response.TransactionResponseDto;
+import com.finbot.Beta.entity.AccountType;
+import com.finbot.Beta.entity.BankAccount;
+import com.finbot.Beta.entity.Transaction;
+import com.finbot.Beta.entity.TransactionType;
+import com.finbot.Beta.entity.User;
+import com.finbot.Beta.repository.BankAccountRepository;
+import com.finbot.Beta.repository.TransactionRepository;
+import com.finbot.Beta.repository.UserRepository;
+import com.finbot.Beta.service.TransactionService;
+import com.finbot.Beta.service.impl.LedgerAuditJob;
+import com.finbot.Beta.service.support.LedgerAuditReport;
+import com.finbot.Beta.service.support.LedgerAuditReport.Discrepancy;
+import com.finbot.Beta.service.support.LedgerAuditReport.Kind;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ActiveProfiles("test")
+@SpringBootTest
+public class LedgerAuditJobTest {
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private BankAccountRepository bankAccountRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void testBrokenChainsAndBalancesAreReported() {
+        User user = userRepository.save(User.builder()
+                .name("Audit User")
+                .email("audit-" + UUID.randomUUID() + "@example.com")
+                .password("encoded")
+                .registeredOn(LocalDate.now())
+                .build());
+        BankAccount intact = account(user, "Intact");
+        BankAccount brokenChain = account(user, "Broken chain");
+        BankAccount drifted = account(user, "Drifted");
+
+        for (BankAccount account : List.of(intact, brokenChain, drifted)) {
+            write(user, account, "25.00", TransactionType.CREDIT);
+            write(user, account, "10.00", TransactionType.DEBIT);
+            transactionService.createTransactions(user, List.of(
+                    request(account, "5.00", TransactionType.DEBIT, LocalDateTime.now().plusMinutes(1)),
+                    request(account, "2.50", TransactionType.CREDIT, LocalDateTime.now().plusMinutes(2))));
+        }
+
+        // A lost update in the middle of one chain, and an account balance written behind the ledger's back
+        TransactionResponseDto middle = write(user, brokenChain, "1.00", TransactionType.DEBIT);
+        write(user, brokenChain, "1.00", TransactionType.DEBIT);
+        Transaction corrupted = transactionRepository.findById(middle.getId()).orElseThrow();
+        corrupted.setPreviousBalance(corrupted.getPreviousBalance().add(BigDecimal.ONE));
+        corrupted.setNewBalance(corrupted.getNewBalance().add(BigDecimal.ONE));
+        transactionRepository.save(corrupted);
+        BankAccount driftedAccount = bankAccountRepository.findById(drifted.getId()).orElseThrow();
+        driftedAccount.setBalance(driftedAccount.getBalance().add(new BigDecimal("7.00")));
+        bankAccountRepository.save(driftedAccount);
+
+        LedgerAuditJob job = new LedgerAuditJob(bankAccountRepository, transactionRepository, transactionTemplate, 2, 10_000);
+        LedgerAuditReport report;
+        try {
+            report = job.audit().orElseThrow();
+        } finally {
+            job.shutdown();
+        }
+
+        assertTrue(discrepancies(report, intact).isEmpty());
+
+        // The corrupted row no longer continues from its predecessor, and the next row no longer continues from it
+        List<Discrepancy> chain = discrepancies(report, brokenChain);
+        assertEquals(2, chain.size());
+        assertTrue(chain.stream().allMatch(d -> d.kind() == Kind.BROKEN_CHAIN));
+        assertTrue(chain.stream().anyMatch(d -> middle.getId().equals(d.transactionId())));
+
+        List<Discrepancy> balance = discrepancies(report, drifted);
+        assertEquals(1, balance.size());
+        assertEquals(Kind.BALANCE_MISMATCH, balance.get(0).kind());
+        assertEquals(0, new BigDecimal("7.00").compareTo(balance.get(0).actual().subtract(balance.get(0).expected())));
+
+        assertTrue(report.accountsAudited() >= 3);
+        assertTrue(report.transactionsScanned() >= 14);
+        assertEquals(0, report.failedAccounts());
+    }
+
+    @Test
+    void testScheduledRunDoesNotBlockTheSchedulerThread() throws Exception {
+        LedgerAuditJob job = new LedgerAuditJob(bankAccountRepository, transactionRepository, transactionTemplate, 1, 10);
+        try {
+            job.scheduledRun();
+            assertTrue(job.isRunning() || job.lastReport().isPresent());
+            long deadline = System.currentTimeMillis() + 10_000;
+            while (job.isRunning() && System.currentTimeMillis() < deadline) {
+                Thread.sleep(20);
+            }
+            assertEquals(0, job.lastReport().orElseThrow().failedAccounts());
+        } finally {
+            job.shutdown();
+        }
+    }
+
+    private List<Discrepancy> discrepancies(LedgerAuditReport report, BankAccount account) {
+        return report.discrepancies().stream()
+                .filter(d -> d.accountId().equals(account.getId()))
+                .toList();
+    }
+
+    private TransactionResponseDto write(User user, BankAccount account, String amount, TransactionType type) {
+        return transactionService.createTransaction(user, request(account, amount, type, null));
+    }
+
+    private TransactionRequestDto request(BankAccount account, String amount, TransactionType type, LocalDateTime date) {
+        return TransactionRequestDto.builder()
+                .bankAccountId(account.getId())
+                .amount(new BigDecimal(amount))
+                .type(type)
+                .category("audit")
+                .transactionDate(date)
+                .build();
+    }
+
+    private BankAccount account(User user, String name) {
+        return bankAccountRepository.save(BankAccount.builder()
+                .user(user)
+                .name(name)
+                .balance(new BigDecimal("100.00"))
+                .accountType(AccountType.CHECKING)
+                .build());
+    }
+}
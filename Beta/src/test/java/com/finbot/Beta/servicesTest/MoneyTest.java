@@ -0,0 +1,48 @@
+package com.finbot.Beta.servicesTest;
+
+import com.finbot.Beta.service.support.Money;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MoneyTest {
+
+    @Test
+    void testRoundTripsThroughBigDecimalAtFourDecimals() {
+        assertEquals(125_000, Money.of(new BigDecimal("12.5")).units());
+        assertEquals(new BigDecimal("12.5000"), Money.of(new BigDecimal("12.50")).toBigDecimal());
+        // Rounded half-up to the column scale
+        assertEquals(1, Money.of(new BigDecimal("0.00005")).units());
+        assertEquals(-1, Money.of(new BigDecimal("-0.00005")).units());
+    }
+
+    @Test
+    void testArithmeticAndComparison() {
+        Money balance = Money.of(new BigDecimal("100.00"));
+        Money debit = Money.of(new BigDecimal("30.25"));
+
+        assertEquals(Money.of(new BigDecimal("69.75")), balance.minus(debit));
+        assertEquals(Money.of(new BigDecimal("130.25")), balance.plus(debit));
+        assertTrue(debit.isLessThan(balance));
+        assertFalse(Money.ZERO.isPositive());
+        assertThrows(ArithmeticException.class, () -> new Money(Long.MAX_VALUE).plus(new Money(1)));
+        assertThrows(ArithmeticException.class, () -> Money.of(new BigDecimal("1e20")));
+    }
+
+    @Test
+    void testBasisPointsMatchBigDecimalDivision() {
+        String[][] cases = {{"1", "3"}, {"2", "3"}, {"50", "200"}, {"0.005", "1"}, {"250", "100"}, {"-1", "3"},
+                {"900000000000", "1000000000000"}};
+        for (String[] c : cases) {
+            BigDecimal spent = new BigDecimal(c[0]);
+            BigDecimal amount = new BigDecimal(c[1]);
+            long expected = spent.multiply(BigDecimal.valueOf(10_000))
+                    .divide(amount, 0, RoundingMode.HALF_UP).longValueExact();
+            assertEquals(expected, Money.of(spent).basisPointsOf(Money.of(amount)), c[0] + " / " + c[1]);
+        }
+        assertThrows(IllegalArgumentException.class, () -> Money.ZERO.basisPointsOf(Money.ZERO));
+    }
+}
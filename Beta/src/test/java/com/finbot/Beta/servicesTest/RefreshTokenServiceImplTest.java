@@ -0,0 +1,96 @@
+package com.finbot.Beta.servicesTest;
+
+import com.finbot.Beta.Exceptions.InvalidRefreshTokenException;
+import com.finbot.Beta.entity.RefreshToken;
+import com.finbot.Beta.entity.User;
+import com.finbot.Beta.repository.RefreshTokenRepository;
+import com.finbot.Beta.repository.UserRepository;
+import com.finbot.Beta.service.RefreshTokenService;
+import com.finbot.Beta.service.support.IssuedRefreshToken;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ActiveProfiles("test")
+@SpringBootTest
+public class RefreshTokenServiceImplTest {
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User user;
+
+    @BeforeEach
+    void setup() {
+        user = userRepository.save(User.builder()
+                .name("Refresh User")
+                .email("refresh-" + UUID.randomUUID() + "@example.com")
+                .password("encoded")
+                .registeredOn(LocalDate.now())
+                .build());
+    }
+
+    @Test
+    void testRotateIssuesNewTokenAndStoresOnlyHashes() {
+        IssuedRefreshToken first = refreshTokenService.issue(user);
+        IssuedRefreshToken second = refreshTokenService.rotate(first.token());
+
+        assertNotEquals(first.token(), second.token());
+        assertEquals(user.getId(), second.user().getId());
+        assertTrue(refreshTokenRepository.findAll().stream()
+                .map(RefreshToken::getTokenHash)
+                .noneMatch(hash -> hash.equals(first.token()) || hash.equals(second.token())));
+
+        // The rotated token keeps working until it is rotated itself
+        assertNotNull(refreshTokenService.rotate(second.token()));
+    }
+
+    @Test
+    void testReusedTokenRevokesWholeFamily() {
+        IssuedRefreshToken first = refreshTokenService.issue(user);
+        IssuedRefreshToken second = refreshTokenService.rotate(first.token());
+
+        assertThrows(InvalidRefreshTokenException.class, () -> refreshTokenService.rotate(first.token()));
+        // The legitimate holder's newer token is gone too, forcing a fresh login
+        assertThrows(InvalidRefreshTokenException.class, () -> refreshTokenService.rotate(second.token()));
+    }
+
+    @Test
+    void testExpiredAndUnknownTokensAreRejected() {
+        IssuedRefreshToken issued = refreshTokenService.issue(user);
+        RefreshToken stored = refreshTokenRepository.findAll().stream()
+                .filter(token -> token.getUser().getId().equals(user.getId()))
+                .findFirst()
+                .orElseThrow();
+        stored.setExpiresAt(LocalDateTime.now().minusMinutes(1));
+        refreshTokenRepository.save(stored);
+
+        assertThrows(InvalidRefreshTokenException.class, () -> refreshTokenService.rotate(issued.token()));
+        assertThrows(InvalidRefreshTokenException.class, () -> refreshTokenService.rotate("not-a-token"));
+    }
+
+    @Test
+    void testRevokeAllRemovesEveryTokenOfTheUser() {
+        IssuedRefreshToken first = refreshTokenService.issue(user);
+        IssuedRefreshToken second = refreshTokenService.issue(user);
+
+        refreshTokenService.revokeAll(user.getId());
+
+        assertThrows(InvalidRefreshTokenException.class, () -> refreshTokenService.rotate(first.token()));
+        assertThrows(InvalidRefreshTokenException.class, () -> refreshTokenService.rotate(second.token()));
+    }
+}
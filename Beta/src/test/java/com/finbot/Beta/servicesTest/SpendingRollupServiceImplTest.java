@@ -0,0 +1,245 @@
+package com.finbot.Beta.servicesTest;
+
+import com.finbot.Beta.Dto.request.TransactionRequestDto;
+import com.finbot.Beta.Dto.response.SpendingBucketDto;
+import com.finbot.Beta.Dto.response.SpendingSummaryResponseDto;
+import com.finbot.Beta.Exceptions.InsufficientFundsException;
+import com.finbot.Beta.Exceptions.InvalidQueryException;
+import com.finbot.Beta.entity.AccountType;
+import com.finbot.Beta.entity.BankAccount;
+import com.finbot.Beta.entity.SpendingRollupId;
+import com.finbot.Beta.entity.TransactionType;
+import com.finbot.Beta.entity.User;
+import com.finbot.Beta.repository.BankAccountRepository;
+import com.finbot.Beta.repository.SpendingRollupRepository;
+import com.finbot.Beta.repository.UserRepository;
+import com.finbot.Beta.service.SpendingRollupService;
+import com.finbot.Beta.service.TransactionService;
+import com.finbot.Beta.service.support.SummaryGranularity;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ActiveProfiles("test")
+@SpringBootTest
+public class SpendingRollupServiceImplTest {
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private SpendingRollupService spendingRollupService;
+
+    @Autowired
+    private SpendingRollupRepository spendingRollupRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private BankAccountRepository bankAccountRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private User user;
+    private BankAccount account;
+
+    @BeforeEach
+    void setup() {
+        user = userRepository.save(User.builder()
+                .name("Rollup User")
+                .email("rollup-" + UUID.randomUUID() + "@example.com")
+                .password("encoded")
+                .registeredOn(LocalDate.now())
+                .build());
+        account = bankAccountRepository.save(BankAccount.builder()
+                .user(user)
+                .name("Main")
+                .balance(new BigDecimal("10000.00"))
+                .accountType(AccountType.CHECKING)
+                .build());
+    }
+
+    @Test
+    void testSummaryBucketsSingleAndBatchWrites() {
+        // Monday and Wednesday of one ISO week, then the following Monday
+        transactionService.createTransaction(user, request("12.50", "groceries", LocalDateTime.of(2024, 7, 1, 9, 0)));
+        transactionService.createTransaction(user, request("7.50", "groceries", LocalDateTime.of(2024, 7, 3, 18, 0)));
+        transactionService.createTransactions(user, List.of(
+                request("5.00", "groceries", LocalDateTime.of(2024, 7, 8, 8, 0)),
+                request("5.00", "groceries", LocalDateTime.of(2024, 7, 8, 9, 0)),
+                request("40.00", null, LocalDateTime.of(2024, 7, 8, 10, 0))));
+
+        SpendingSummaryResponseDto weekly = spendingRollupService.getSummary(user, SummaryGranularity.WEEK,
+                LocalDate.of(2024, 7, 1), LocalDate.of(2024, 7, 31), TransactionType.DEBIT, "groceries");
+        assertEquals(2, weekly.getBuckets().size());
+        assertBucket(weekly.getBuckets().get(0), LocalDate.of(2024, 7, 1), "20.00", 2);
+        assertBucket(weekly.getBuckets().get(1), LocalDate.of(2024, 7, 8), "10.00", 2);
+
+        SpendingSummaryResponseDto monthly = spendingRollupService.getSummary(user, SummaryGranularity.MONTH,
+                LocalDate.of(2024, 1, 1), LocalDate.of(2024, 12, 31), TransactionType.DEBIT, null);
+        assertEquals(2, monthly.getBuckets().size());
+        assertNull(monthly.getBuckets().get(0).getCategory());
+        assertBucket(monthly.getBuckets().get(0), LocalDate.of(2024, 7, 1), "40.00", 1);
+        assertEquals("groceries", monthly.getBuckets().get(1).getCategory());
+        assertBucket(monthly.getBuckets().get(1), LocalDate.of(2024, 7, 1), "30.00", 4);
+        assertEquals(0, new BigDecimal("70.00").compareTo(monthly.getTotalAmount()));
+    }
+
+    @Test
+    void testConcurrentFirstWritesToOneDayAreAllCounted() throws Exception {
+        int threads = 8;
+        LocalDate day = LocalDate.of(2024, 3, 15);
+        SpendingRollupId id = new SpendingRollupId(user.getId(), "travel", day, TransactionType.DEBIT);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    spendingRollupService.prepare(List.of(id));
+                    transactionTemplate.executeWithoutResult(status -> spendingRollupService.record(
+                            user, "travel", day, TransactionType.DEBIT, new BigDecimal("1.25"), 1));
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        var rollup = spendingRollupRepository.findById(id).orElseThrow();
+        assertEquals(0, new BigDecimal("10.00").compareTo(rollup.getTotalAmount()));
+        assertEquals(threads, rollup.getTransactionCount());
+    }
+
+    @Test
+    void testRebuildMatchesIncrementalRollups() {
+        transactionService.createTransaction(user, request("12.50", "groceries", LocalDateTime.of(2024, 5, 2, 9, 0)));
+        transactionService.createTransaction(user, request("3.00", null, LocalDateTime.of(2024, 5, 2, 11, 0)));
+        SpendingSummaryResponseDto before = spendingRollupService.getSummary(user, SummaryGranularity.DAY,
+                LocalDate.of(2024, 5, 1), LocalDate.of(2024, 5, 31), TransactionType.DEBIT, null);
+
+        assertEquals(2, spendingRollupService.rebuild(user));
+
+        SpendingSummaryResponseDto after = spendingRollupService.getSummary(user, SummaryGranularity.DAY,
+                LocalDate.of(2024, 5, 1), LocalDate.of(2024, 5, 31), TransactionType.DEBIT, null);
+        assertEquals(before, after);
+
+        // Keys cached before the rebuild still resolve to the rebuilt rows
+        transactionService.createTransaction(user, request("1.00", "groceries", LocalDateTime.of(2024, 5, 2, 12, 0)));
+        SpendingSummaryResponseDto updated = spendingRollupService.getSummary(user, SummaryGranularity.DAY,
+                LocalDate.of(2024, 5, 2), LocalDate.of(2024, 5, 2), TransactionType.DEBIT, "groceries");
+        assertBucket(updated.getBuckets().get(0), LocalDate.of(2024, 5, 2), "13.50", 2);
+    }
+
+    @Test
+    void testCategoryNamedUncategorizedIsNotMergedWithMissingCategory() {
+        LocalDateTime date = LocalDateTime.of(2024, 6, 3, 9, 0);
+        transactionService.createTransaction(user, request("4.00", "uncategorized", date));
+        transactionService.createTransaction(user, request("6.00", null, date));
+        transactionService.createTransaction(user, request("1.00", " ", date));
+
+        SpendingSummaryResponseDto summary = spendingRollupService.getSummary(user, SummaryGranularity.DAY,
+                date.toLocalDate(), date.toLocalDate(), TransactionType.DEBIT, null);
+        assertEquals(2, summary.getBuckets().size());
+        assertNull(summary.getBuckets().get(0).getCategory());
+        assertBucket(summary.getBuckets().get(0), date.toLocalDate(), "7.00", 2);
+        assertEquals("uncategorized", summary.getBuckets().get(1).getCategory());
+        assertBucket(summary.getBuckets().get(1), date.toLocalDate(), "4.00", 1);
+    }
+
+    @Test
+    void testRebuildWaitsForInFlightWrite() throws Exception {
+        LocalDateTime date = LocalDateTime.of(2024, 4, 10, 9, 0);
+        transactionService.createTransaction(user, request("2.00", "travel", date));
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            // Stands in for a writer that has locked its account row and not yet committed
+            Future<?> writer = executor.submit(() -> transactionTemplate.executeWithoutResult(status -> {
+                bankAccountRepository.findAllForUpdate(List.of(account.getId()), user);
+                locked.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }));
+            locked.await();
+            Future<Integer> rebuild = executor.submit(() -> spendingRollupService.rebuild(user));
+
+            Thread.sleep(200);
+            assertFalse(rebuild.isDone());
+            release.countDown();
+            writer.get();
+            assertEquals(1, rebuild.get());
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testPrepareRefusesToRunInsideTheWriteTransaction() {
+        SpendingRollupId id = new SpendingRollupId(user.getId(), "travel", LocalDate.of(2024, 3, 16), TransactionType.DEBIT);
+
+        assertThrows(IllegalStateException.class, () -> transactionTemplate.executeWithoutResult(
+                status -> spendingRollupService.prepare(List.of(id))));
+    }
+
+    @Test
+    void testFailedDebitLeavesNoEmptyBucket() {
+        LocalDateTime date = LocalDateTime.of(2024, 9, 2, 9, 0);
+        assertThrows(InsufficientFundsException.class,
+                () -> transactionService.createTransaction(user, request("50000.00", "rent", date)));
+
+        SpendingSummaryResponseDto summary = spendingRollupService.getSummary(user, SummaryGranularity.DAY,
+                date.toLocalDate(), date.toLocalDate(), TransactionType.DEBIT, null);
+        assertTrue(summary.getBuckets().isEmpty());
+    }
+
+    @Test
+    void testSummaryRejectsInvertedRange() {
+        assertThrows(InvalidQueryException.class, () -> spendingRollupService.getSummary(user,
+                SummaryGranularity.DAY, LocalDate.of(2024, 2, 1), LocalDate.of(2024, 1, 1), TransactionType.DEBIT, null));
+    }
+
+    private void assertBucket(SpendingBucketDto bucket, LocalDate periodStart, String total, long count) {
+        assertEquals(periodStart, bucket.getPeriodStart());
+        assertEquals(0, new BigDecimal(total).compareTo(bucket.getTotalAmount()));
+        assertEquals(count, bucket.getTransactionCount());
+    }
+
+    private TransactionRequestDto request(String amount, String category, LocalDateTime date) {
+        return TransactionRequestDto.builder()
+                .bankAccountId(account.getId())
+                .amount(new BigDecimal(amount))
+                .type(TransactionType.DEBIT)
+                .category(category)
+                .transactionDate(date)
+                .build();
+    }
+}
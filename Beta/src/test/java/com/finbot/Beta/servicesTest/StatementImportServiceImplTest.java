@@ -0,0 +1,135 @@
+package com.finbot.Beta.servicesTest;
+
+import com.finbot.Beta.Dto.request.TransactionRequestDto;
+import com.finbot.Beta.Dto.response.ImportJobResponseDto;
+import com.finbot.Beta.Dto.response.TransactionBatchItemResultDto;
+import com.finbot.Beta.Dto.response.TransactionBatchResponseDto;
+import com.finbot.Beta.Exceptions.InvalidStatementException;
+import com.finbot.Beta.Exceptions.ResourceNotFoundException;
+import com.finbot.Beta.entity.User;
+import com.finbot.Beta.service.TransactionService;
+import com.finbot.Beta.service.impl.StatementImportServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+public class StatementImportServiceImplTest {
+
+    @Mock
+    private TransactionService transactionService;
+
+    private StatementImportServiceImpl statementImportService;
+    private User user;
+    private UUID accountId;
+    private final List<Integer> chunkSizes = new ArrayList<>();
+
+    @BeforeEach
+    void setup() {
+        MockitoAnnotations.openMocks(this);
+        statementImportService = new StatementImportServiceImpl(transactionService, 3, 1, 2, 60);
+        user = new User();
+        user.setId(UUID.randomUUID());
+        accountId = UUID.randomUUID();
+
+        // Every item succeeds except those with an amount of 13
+        when(transactionService.createTransactions(eq(user), any())).thenAnswer(invocation -> {
+            List<TransactionRequestDto> chunk = invocation.getArgument(1);
+            chunkSizes.add(chunk.size());
+            List<TransactionBatchItemResultDto> results = new ArrayList<>();
+            for (int i = 0; i < chunk.size(); i++) {
+                boolean success = chunk.get(i).getAmount().intValue() != 13;
+                results.add(TransactionBatchItemResultDto.builder()
+                        .index(i)
+                        .success(success)
+                        .error(success ? null : "Insufficient funds in account")
+                        .build());
+            }
+            int successCount = (int) results.stream().filter(TransactionBatchItemResultDto::isSuccess).count();
+            return TransactionBatchResponseDto.builder()
+                    .totalCount(chunk.size())
+                    .successCount(successCount)
+                    .failureCount(chunk.size() - successCount)
+                    .results(results)
+                    .build();
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        statementImportService.shutdown();
+    }
+
+    @Test
+    void testImportAppliesRowsInBoundedChunks() throws InterruptedException {
+        StringBuilder csv = new StringBuilder("date,amount\n");
+        for (int i = 1; i <= 7; i++) {
+            csv.append("2024-01-0").append(i).append(',').append(i == 5 ? "13" : "10").append('\n');
+        }
+        csv.append("bad,10\n");
+
+        ImportJobResponseDto started = statementImportService.startImport(user, accountId, file("statement.csv", csv.toString()), null);
+        ImportJobResponseDto finished = awaitFinished(started.getId());
+
+        assertEquals("COMPLETED", finished.getStatus());
+        assertEquals("CSV", finished.getFormat());
+        assertEquals(8, finished.getRowsRead());
+        assertEquals(6, finished.getImportedCount());
+        assertEquals(2, finished.getFailedCount());
+        assertEquals(List.of(3, 3, 1), chunkSizes);
+        assertTrue(finished.getErrors().contains("Row 6: Insufficient funds in account"));
+    }
+
+    @Test
+    void testImportFailsWhenHeaderIsInvalid() throws InterruptedException {
+        ImportJobResponseDto started = statementImportService.startImport(user, accountId, file("statement.csv", "foo,bar\n1,2\n"), null);
+        ImportJobResponseDto finished = awaitFinished(started.getId());
+
+        assertEquals("FAILED", finished.getStatus());
+        assertNotNull(finished.getFailureReason());
+        assertTrue(chunkSizes.isEmpty());
+    }
+
+    @Test
+    void testUnknownFormatIsRejected() {
+        assertThrows(InvalidStatementException.class, () ->
+                statementImportService.startImport(user, accountId, file("statement.txt", "date,amount\n"), null));
+    }
+
+    @Test
+    void testJobIsOnlyVisibleToItsOwner() {
+        ImportJobResponseDto started = statementImportService.startImport(user, accountId, file("statement.csv", "date,amount\n"), null);
+        User other = new User();
+        other.setId(UUID.randomUUID());
+
+        assertThrows(ResourceNotFoundException.class, () -> statementImportService.getImportJob(other, started.getId()));
+    }
+
+    private MockMultipartFile file(String name, String content) {
+        return new MockMultipartFile("file", name, "text/plain", content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private ImportJobResponseDto awaitFinished(UUID jobId) throws InterruptedException {
+        for (int i = 0; i < 200; i++) {
+            ImportJobResponseDto job = statementImportService.getImportJob(user, jobId);
+            if ("COMPLETED".equals(job.getStatus()) || "FAILED".equals(job.getStatus())) {
+                return job;
+            }
+            Thread.sleep(25);
+        }
+        fail("Import job did not finish");
+        return null;
+    }
+}
@@ -0,0 +1,117 @@
+package com.finbot.Beta.servicesTest;
+
+import com.finbot.Beta.entity.TransactionType;
+import com.finbot.Beta.service.statement.CsvStatementParser;
+import com.finbot.Beta.service.statement.OfxStatementParser;
+import com.finbot.Beta.service.statement.StatementParser;
+import com.finbot.Beta.service.statement.StatementRecord;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StatementParserTest {
+
+    private final UUID accountId = UUID.fromString("22222222-2222-2222-2222-222222222222");
+
+    @Test
+    void testCsvParsesQuotedFieldsAndSignedAmounts() throws IOException {
+        String csv = "Date,Amount,Category,Description\r\n"
+                + "2024-01-05,-12.50,groceries,\"Corner shop, \"\"Main St\"\"\"\r\n"
+                + "\r\n"
+                + "2024-01-06T09:30:00,\"1,250.00\",salary,\"Monthly\npay\"\r\n";
+
+        List<StatementRecord> records = readAll(new CsvStatementParser(new StringReader(csv), accountId));
+
+        assertEquals(2, records.size());
+        StatementRecord debit = records.get(0);
+        assertEquals(2, debit.position());
+        assertEquals(TransactionType.DEBIT, debit.request().getType());
+        assertEquals(new BigDecimal("12.50"), debit.request().getAmount());
+        assertEquals("Corner shop, \"Main St\"", debit.request().getDescription());
+        assertEquals(LocalDateTime.of(2024, 1, 5, 0, 0), debit.request().getTransactionDate());
+        assertEquals(accountId, debit.request().getBankAccountId());
+
+        StatementRecord credit = records.get(1);
+        assertEquals(TransactionType.CREDIT, credit.request().getType());
+        assertEquals(new BigDecimal("1250.00"), credit.request().getAmount());
+        assertEquals("Monthly\npay", credit.request().getDescription());
+    }
+
+    @Test
+    void testCsvReportsBadRowsWithoutStopping() throws IOException {
+        String csv = "date,amount,type\n"
+                + "not-a-date,10,CREDIT\n"
+                + "2024-01-05,abc,DEBIT\n"
+                + "2024-01-05,10,REFUND\n"
+                + "2024-01-05,10,debit\n";
+
+        List<StatementRecord> records = readAll(new CsvStatementParser(new StringReader(csv), accountId));
+
+        assertEquals(4, records.size());
+        assertTrue(records.get(0).error().startsWith("Line 2"));
+        assertTrue(records.get(1).error().contains("invalid amount"));
+        assertTrue(records.get(2).error().contains("CREDIT or DEBIT"));
+        assertEquals(TransactionType.DEBIT, records.get(3).request().getType());
+    }
+
+    @Test
+    void testCsvRequiresDateAndAmountColumns() {
+        CsvStatementParser parser = new CsvStatementParser(new StringReader("when,value\n2024-01-01,1\n"), accountId);
+
+        assertThrows(IOException.class, parser::next);
+    }
+
+    @Test
+    void testOfxSgmlWithoutClosingTags() throws IOException {
+        String ofx = "OFXHEADER:100\nDATA:OFXSGML\n\n<OFX><BANKMSGSRSV1><STMTTRNRS><STMTRS><BANKTRANLIST>\n"
+                + "<STMTTRN>\n<TRNTYPE>DEBIT\n<DTPOSTED>20240105120000.000[-5:EST]\n<TRNAMT>-42.10\n<FITID>1\n<NAME>Coffee &amp; Co\n</STMTTRN>\n"
+                + "<STMTTRN><TRNTYPE>CREDIT<DTPOSTED>20240106<TRNAMT>100.00<MEMO>Refund</STMTTRN>\n"
+                + "</BANKTRANLIST></STMTRS></STMTTRNRS></BANKMSGSRSV1></OFX>";
+
+        List<StatementRecord> records = readAll(new OfxStatementParser(new StringReader(ofx), accountId));
+
+        assertEquals(2, records.size());
+        assertEquals(TransactionType.DEBIT, records.get(0).request().getType());
+        assertEquals(new BigDecimal("42.10"), records.get(0).request().getAmount());
+        assertEquals("Coffee & Co", records.get(0).request().getDescription());
+        assertEquals(LocalDateTime.of(2024, 1, 5, 12, 0), records.get(0).request().getTransactionDate());
+        assertEquals(TransactionType.CREDIT, records.get(1).request().getType());
+        assertEquals("Refund", records.get(1).request().getDescription());
+        assertEquals(LocalDateTime.of(2024, 1, 6, 0, 0), records.get(1).request().getTransactionDate());
+    }
+
+    @Test
+    void testOfxXmlAndMissingFields() throws IOException {
+        String ofx = "<?xml version=\"1.0\"?><?OFX OFXHEADER=\"200\"?><OFX><BANKTRANLIST>"
+                + "<STMTTRN><DTPOSTED>20240107</DTPOSTED><TRNAMT>-5</TRNAMT><NAME>Bus</NAME></STMTTRN>"
+                + "<STMTTRN><DTPOSTED>20240108</DTPOSTED><NAME>No amount</NAME></STMTTRN>"
+                + "</BANKTRANLIST></OFX>";
+
+        List<StatementRecord> records = readAll(new OfxStatementParser(new StringReader(ofx), accountId));
+
+        assertEquals(2, records.size());
+        assertEquals("Bus", records.get(0).request().getDescription());
+        assertEquals(new BigDecimal("5"), records.get(0).request().getAmount());
+        assertNull(records.get(1).request());
+        assertTrue(records.get(1).error().contains("TRNAMT"));
+    }
+
+    private List<StatementRecord> readAll(StatementParser parser) throws IOException {
+        List<StatementRecord> records = new ArrayList<>();
+        try (parser) {
+            StatementRecord record;
+            while ((record = parser.next()) != null) {
+                records.add(record);
+            }
+        }
+        return records;
+    }
+}
@@ -0,0 +1,86 @@
+package com.finbot.Beta.servicesTest;
+
+import com.finbot.Beta.entity.TransactionType;
+import com.finbot.Beta.repository.TransactionRepository;
+import com.finbot.Beta.repository.projection.TransactionFactRow;
+import com.finbot.Beta.service.analytics.AnalyticsDimension;
+import com.finbot.Beta.service.analytics.AnalyticsQuery;
+import com.finbot.Beta.service.analytics.TransactionAnalyticsEngine;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.*;
+
+public class TransactionAnalyticsEngineTest {
+
+    private static final AnalyticsQuery BY_CATEGORY =
+            new AnalyticsQuery(AnalyticsDimension.CATEGORY, null, null, null, null, null, 0);
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionAnalyticsEngine engine;
+
+    @BeforeEach
+    void setup() {
+        MockitoAnnotations.openMocks(this);
+        when(transactionRepository.streamFactsByUser(any()))
+                .thenAnswer(invocation -> rows(6).stream());
+        engine = new TransactionAnalyticsEngine(transactionRepository, transactionManager, 10, 30);
+    }
+
+    @Test
+    void testUsersAreEvictedByTheirRowCount() throws Exception {
+        engine.query(UUID.randomUUID(), BY_CATEGORY);
+        assertEquals(1, engine.cachedUsers());
+
+        // Two users are well under any per-user limit, but their 12 rows exceed the 10 allowed
+        engine.query(UUID.randomUUID(), BY_CATEGORY);
+        awaitCachedUsers(1);
+    }
+
+    @Test
+    void testAppendsCountTowardsTheLimit() throws Exception {
+        UUID userId = UUID.randomUUID();
+        engine.query(userId, BY_CATEGORY);
+        assertEquals(1, engine.cachedUsers());
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            engine.recordAfterCommit(userId, rows(6));
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        awaitCachedUsers(0);
+    }
+
+    // Caffeine evicts during maintenance that may run on another thread shortly after the write
+    private void awaitCachedUsers(long expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (engine.cachedUsers() != expected && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(expected, engine.cachedUsers());
+    }
+
+    private List<TransactionFactRow> rows(int count) {
+        return Collections.nCopies(count, new TransactionFactRow(LocalDateTime.of(2024, 7, 1, 9, 0),
+                new BigDecimal("1.00"), TransactionType.DEBIT, "groceries", UUID.randomUUID()));
+    }
+}
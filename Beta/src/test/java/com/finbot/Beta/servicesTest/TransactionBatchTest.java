@@ -0,0 +1,152 @@
+package com.finbot.Beta.servicesTest;
+
+import com.finbot.Beta.Dto.request.TransactionRequestDto;
+import com.finbot.Beta.Dto.response.TransactionBatchItemResultDto;
+import com.finbot.Beta.Dto.response.TransactionBatchResponseDto;
+import com.finbot.Beta.entity.AccountType;
+import com.finbot.Beta.entity.BankAccount;
+import com.finbot.Beta.entity.TransactionType;
+import com.finbot.Beta.entity.User;
+import com.finbot.Beta.repository.BankAccountRepository;
+import com.finbot.Beta.repository.UserRepository;
+import com.finbot.Beta.service.TransactionService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ActiveProfiles("test")
+@SpringBootTest
+public class TransactionBatchTest {
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private BankAccountRepository bankAccountRepository;
+
+    private User user;
+    private BankAccount account;
+
+    @BeforeEach
+    void setup() {
+        user = user("batch");
+        account = account(user, "100.00");
+    }
+
+    @Test
+    void testInsufficientFundsMidChainLeavesBalanceForLaterItems() {
+        // Submitted out of date order; the chain is built by transaction date
+        TransactionBatchResponseDto response = transactionService.createTransactions(user, List.of(
+                request(account, "60.00", TransactionType.DEBIT, LocalDateTime.of(2024, 3, 2, 9, 0)),
+                request(account, "30.00", TransactionType.DEBIT, LocalDateTime.of(2024, 3, 1, 9, 0)),
+                request(account, "20.00", TransactionType.DEBIT, LocalDateTime.of(2024, 3, 3, 9, 0)),
+                request(account, "5.00", TransactionType.CREDIT, LocalDateTime.of(2024, 3, 4, 9, 0))));
+
+        assertEquals(4, response.getTotalCount());
+        assertEquals(3, response.getSuccessCount());
+        assertEquals(1, response.getFailureCount());
+
+        // 100 - 30 = 70, the 60 debit would leave 10, the 20 debit then fails on the 10 left
+        assertChain(response.getResults().get(1), "100.00", "70.00");
+        assertChain(response.getResults().get(0), "70.00", "10.00");
+        assertFailure(response.getResults().get(2), 2, "Insufficient funds in account");
+        // The failed item moved nothing, so the credit continues from 10
+        assertChain(response.getResults().get(3), "10.00", "15.00");
+
+        BankAccount reloaded = bankAccountRepository.findById(account.getId()).orElseThrow();
+        assertEquals(0, new BigDecimal("15.00").compareTo(reloaded.getBalance()));
+    }
+
+    @Test
+    void testUnknownAndForeignAccountsAreRejectedPerItem() {
+        BankAccount foreign = account(user("other"), "500.00");
+        TransactionBatchResponseDto response = transactionService.createTransactions(user, List.of(
+                request(account, "10.00", TransactionType.DEBIT, LocalDateTime.of(2024, 3, 1, 9, 0)),
+                request(foreign, "10.00", TransactionType.DEBIT, LocalDateTime.of(2024, 3, 1, 9, 0)),
+                TransactionRequestDto.builder()
+                        .bankAccountId(UUID.randomUUID())
+                        .amount(BigDecimal.ONE)
+                        .type(TransactionType.CREDIT)
+                        .build()));
+
+        assertEquals(1, response.getSuccessCount());
+        assertChain(response.getResults().get(0), "100.00", "90.00");
+        assertFailure(response.getResults().get(1), 1, "Bank account not found");
+        assertFailure(response.getResults().get(2), 2, "Bank account not found");
+
+        BankAccount untouched = bankAccountRepository.findById(foreign.getId()).orElseThrow();
+        assertEquals(0, new BigDecimal("500.00").compareTo(untouched.getBalance()));
+    }
+
+    @Test
+    void testInvalidItemsReportTheirValidationMessages() {
+        TransactionBatchResponseDto response = transactionService.createTransactions(user, Arrays.asList(
+                TransactionRequestDto.builder().bankAccountId(account.getId()).type(TransactionType.DEBIT).build(),
+                request(account, "-5.00", TransactionType.DEBIT, LocalDateTime.of(2024, 3, 1, 9, 0)),
+                null,
+                request(account, "1.00001", TransactionType.CREDIT, LocalDateTime.of(2024, 3, 1, 9, 0)),
+                request(account, "1.00", TransactionType.CREDIT, LocalDateTime.of(2024, 3, 1, 9, 0))));
+
+        assertEquals(4, response.getFailureCount());
+        assertFailure(response.getResults().get(0), 0, "Amount is required");
+        assertFailure(response.getResults().get(1), 1, "Amount must be positive");
+        assertFailure(response.getResults().get(2), 2, "Transaction is required");
+        assertFailure(response.getResults().get(3), 3, "Amount must have at most 15 integer and 4 decimal digits");
+        assertChain(response.getResults().get(4), "100.00", "101.00");
+    }
+
+    private void assertChain(TransactionBatchItemResultDto result, String previousBalance, String newBalance) {
+        assertTrue(result.isSuccess(), () -> "item " + result.getIndex() + " failed: " + result.getError());
+        assertNull(result.getError());
+        assertEquals(0, new BigDecimal(previousBalance).compareTo(result.getTransaction().getPreviousBalance()));
+        assertEquals(0, new BigDecimal(newBalance).compareTo(result.getTransaction().getNewBalance()));
+    }
+
+    private void assertFailure(TransactionBatchItemResultDto result, int index, String error) {
+        assertEquals(index, result.getIndex());
+        assertFalse(result.isSuccess());
+        assertNull(result.getTransaction());
+        assertEquals(error, result.getError());
+    }
+
+    private User user(String prefix) {
+        return userRepository.save(User.builder()
+                .name("Batch User")
+                .email(prefix + "-" + UUID.randomUUID() + "@example.com")
+                .password("encoded")
+                .registeredOn(LocalDate.now())
+                .build());
+    }
+
+    private BankAccount account(User owner, String balance) {
+        return bankAccountRepository.save(BankAccount.builder()
+                .user(owner)
+                .name("Main")
+                .balance(new BigDecimal(balance))
+                .accountType(AccountType.CHECKING)
+                .build());
+    }
+
+    private TransactionRequestDto request(BankAccount target, String amount, TransactionType type, LocalDateTime date) {
+        return TransactionRequestDto.builder()
+                .bankAccountId(target.getId())
+                .amount(new BigDecimal(amount))
+                .type(type)
+                .transactionDate(date)
+                .build();
+    }
+}
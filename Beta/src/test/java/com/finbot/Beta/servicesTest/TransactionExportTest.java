@@ -0,0 +1,144 @@
+package com.finbot.Beta.servicesTest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.finbot.Beta.Dto.request.TransactionRequestDto;
+import com.finbot.Beta.Dto.response.TransactionResponseDto;
+import com.finbot.Beta.Exceptions.ResourceNotFoundException;
+import com.finbot.Beta.entity.AccountType;
+import com.finbot.Beta.entity.BankAccount;
+import com.finbot.Beta.entity.TransactionType;
+import com.finbot.Beta.entity.User;
+import com.finbot.Beta.repository.BankAccountRepository;
+import com.finbot.Beta.repository.UserRepository;
+import com.finbot.Beta.service.TransactionService;
+import com.finbot.Beta.service.export.ExportFormat;
+import com.finbot.Beta.service.export.TransactionExportWriter;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ActiveProfiles("test")
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class TransactionExportTest {
+
+    // More rows than the export clears the persistence context after
+    private static final int ROWS = 1200;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private BankAccountRepository bankAccountRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private User user;
+    private BankAccount account;
+
+    @BeforeAll
+    void setup() {
+        user = userRepository.save(User.builder()
+                .name("Export User")
+                .email("export-" + UUID.randomUUID() + "@example.com")
+                .password("encoded")
+                .registeredOn(LocalDate.now())
+                .build());
+        account = bankAccountRepository.save(BankAccount.builder()
+                .user(user)
+                .name("Everyday, \"main\"")
+                .balance(new BigDecimal("100.00"))
+                .accountType(AccountType.CHECKING)
+                .build());
+
+        List<TransactionRequestDto> requests = new ArrayList<>();
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 9, 0);
+        for (int i = 0; i < ROWS; i++) {
+            requests.add(TransactionRequestDto.builder()
+                    .bankAccountId(account.getId())
+                    .amount(new BigDecimal("1.00"))
+                    .type(TransactionType.CREDIT)
+                    .category(i % 2 == 0 ? "salary" : "refund")
+                    .description("Row " + i)
+                    .transactionDate(start.plusMinutes(i))
+                    .build());
+        }
+        assertEquals(ROWS, transactionService.createTransactions(user, requests).getSuccessCount());
+    }
+
+    @Test
+    void testNdjsonExportStreamsEveryRowNewestFirst() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        transactionService.exportTransactionsByBankAccount(user, account.getId(), ExportFormat.NDJSON).writeTo(out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(ROWS, lines.length);
+        JsonNode first = objectMapper.readTree(lines[0]);
+        assertEquals("Row " + (ROWS - 1), first.get("description").asText());
+        assertEquals(account.getName(), first.get("bankAccountName").asText());
+        assertEquals("Row 0", objectMapper.readTree(lines[ROWS - 1]).get("description").asText());
+    }
+
+    @Test
+    void testCsvExportByCategoryEscapesFields() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        transactionService.exportTransactionsByCategory(user, "salary", ExportFormat.CSV).writeTo(out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(ROWS / 2 + 1, lines.length);
+        assertTrue(lines[0].startsWith("id,transactionDate,type,amount"));
+        assertTrue(lines[1].contains(",CREDIT,1.0000,salary,Row " + (ROWS - 2) + ","));
+        assertTrue(lines[1].contains(",\"Everyday, \"\"main\"\"\","));
+    }
+
+    @Test
+    void testCsvExportNeutralisesFormulaCells() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        TransactionExportWriter writer = new TransactionExportWriter(ExportFormat.CSV, out, objectMapper);
+        writer.write(TransactionResponseDto.builder()
+                .type("DEBIT")
+                .amount(new BigDecimal("5.0000"))
+                .category("+cmd")
+                .description("=HYPERLINK(\"http://evil\",\"x\")")
+                .bankAccountName("@SUM(A1)")
+                .build());
+        writer.finish();
+
+        String row = out.toString(StandardCharsets.UTF_8).split("\n")[1];
+        assertTrue(row.contains(",DEBIT,5.0000,'+cmd,\"'=HYPERLINK(\"\"http://evil\"\",\"\"x\"\")\",,'@SUM(A1),"));
+    }
+
+    @Test
+    void testEmptyCsvExportStillHasHeader() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        transactionService.exportTransactionsByDateRange(user, LocalDateTime.of(2000, 1, 1, 0, 0),
+                LocalDateTime.of(2000, 12, 31, 0, 0), ExportFormat.CSV).writeTo(out);
+
+        assertEquals(1, out.toString(StandardCharsets.UTF_8).split("\n").length);
+    }
+
+    @Test
+    void testExportOfUnknownAccountFailsBeforeStreaming() {
+        assertThrows(ResourceNotFoundException.class, () ->
+                transactionService.exportTransactionsByBankAccount(user, UUID.randomUUID(), ExportFormat.NDJSON));
+    }
+}
@@ -0,0 +1,103 @@
+package com.finbot.Beta.servicesTest;
+
+import com.finbot.Beta.Dto.request.TransactionRequestDto;
+import com.finbot.Beta.Dto.response.TransactionFeedResponseDto;
+import com.finbot.Beta.Dto.response.TransactionResponseDto;
+import com.finbot.Beta.Exceptions.InvalidCursorException;
+import com.finbot.Beta.entity.AccountType;
+import com.finbot.Beta.entity.BankAccount;
+import com.finbot.Beta.entity.TransactionType;
+import com.finbot.Beta.entity.User;
+import com.finbot.Beta.repository.BankAccountRepository;
+import com.finbot.Beta.repository.UserRepository;
+import com.finbot.Beta.service.TransactionService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ActiveProfiles("test")
+@SpringBootTest
+public class TransactionFeedTest {
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private BankAccountRepository bankAccountRepository;
+
+    @Test
+    void testFeedWalksEveryRowOnceAcrossPages() {
+        User user = userRepository.save(User.builder()
+                .name("Feed User")
+                .email("feed-" + UUID.randomUUID() + "@example.com")
+                .password("encoded")
+                .registeredOn(LocalDate.now())
+                .build());
+        BankAccount account = bankAccountRepository.save(BankAccount.builder()
+                .user(user)
+                .name("Feed")
+                .balance(BigDecimal.ZERO)
+                .accountType(AccountType.CHECKING)
+                .build());
+
+        // Groups of three share a timestamp so the id tie-breaker is exercised at page boundaries
+        List<TransactionRequestDto> requests = new ArrayList<>();
+        LocalDateTime start = LocalDateTime.of(2024, 3, 1, 8, 0);
+        for (int i = 0; i < 45; i++) {
+            requests.add(TransactionRequestDto.builder()
+                    .bankAccountId(account.getId())
+                    .amount(BigDecimal.ONE)
+                    .type(TransactionType.CREDIT)
+                    .transactionDate(start.plusMinutes(i / 3))
+                    .build());
+        }
+        transactionService.createTransactions(user, requests);
+
+        Set<UUID> seen = new HashSet<>();
+        LocalDateTime previousDate = LocalDateTime.MAX;
+        String cursor = null;
+        int pages = 0;
+        do {
+            TransactionFeedResponseDto page = transactionService.getTransactionFeed(user, cursor, 20);
+            pages++;
+            for (TransactionResponseDto item : page.getItems()) {
+                assertTrue(seen.add(item.getId()), "Row returned twice: " + item.getId());
+                assertFalse(item.getTransactionDate().isAfter(previousDate));
+                previousDate = item.getTransactionDate();
+            }
+            assertEquals(page.isHasMore(), page.getNextCursor() != null);
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        assertEquals(45, seen.size());
+        assertEquals(3, pages);
+    }
+
+    @Test
+    void testMalformedCursorIsRejected() {
+        User user = userRepository.save(User.builder()
+                .name("Cursor User")
+                .email("cursor-" + UUID.randomUUID() + "@example.com")
+                .password("encoded")
+                .registeredOn(LocalDate.now())
+                .build());
+
+        assertThrows(InvalidCursorException.class, () -> transactionService.getTransactionFeed(user, "not-a-cursor!", 20));
+        assertThrows(InvalidCursorException.class, () -> transactionService.getTransactionFeed(user, "bm9zZXBhcmF0b3I", 20));
+    }
+}
@@ -0,0 +1,176 @@
+package com.finbot.Beta.servicesTest;
+
+import com.finbot.Beta.Dto.request.TransactionRequestDto;
+import com.finbot.Beta.Dto.response.InsightBucketDto;
+import com.finbot.Beta.Dto.response.InsightsResponseDto;
+import com.finbot.Beta.Exceptions.InvalidQueryException;
+import com.finbot.Beta.entity.AccountType;
+import com.finbot.Beta.entity.BankAccount;
+import com.finbot.Beta.entity.TransactionType;
+import com.finbot.Beta.entity.User;
+import com.finbot.Beta.repository.BankAccountRepository;
+import com.finbot.Beta.repository.UserRepository;
+import com.finbot.Beta.service.TransactionInsightsService;
+import com.finbot.Beta.service.TransactionService;
+import com.finbot.Beta.service.analytics.AnalyticsDimension;
+import com.finbot.Beta.service.analytics.AnalyticsQuery;
+import com.finbot.Beta.service.analytics.TransactionAnalyticsEngine;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ActiveProfiles("test")
+@SpringBootTest
+public class TransactionInsightsTest {
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private TransactionInsightsService transactionInsightsService;
+
+    @Autowired
+    private TransactionAnalyticsEngine analyticsEngine;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private BankAccountRepository bankAccountRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private User user;
+    private BankAccount checking;
+    private BankAccount savings;
+
+    @BeforeEach
+    void setup() {
+        user = userRepository.save(User.builder()
+                .name("Insights User")
+                .email("insights-" + UUID.randomUUID() + "@example.com")
+                .password("encoded")
+                .registeredOn(LocalDate.now())
+                .build());
+        checking = account("Checking");
+        savings = account("Savings");
+    }
+
+    @Test
+    void testGroupByCategoryWeekdayAccountAndMonth() {
+        // Monday 2024-07-01, Wednesday 2024-07-03, Monday 2024-08-05
+        transactionService.createTransaction(user, request(checking, "12.50", TransactionType.DEBIT, "groceries",
+                LocalDateTime.of(2024, 7, 1, 9, 0)));
+        transactionService.createTransaction(user, request(savings, "100.00", TransactionType.CREDIT, "salary",
+                LocalDateTime.of(2024, 7, 3, 9, 0)));
+        transactionService.createTransactions(user, List.of(
+                request(checking, "7.25", TransactionType.DEBIT, "groceries", LocalDateTime.of(2024, 7, 3, 18, 0)),
+                request(savings, "30.00", TransactionType.DEBIT, null, LocalDateTime.of(2024, 8, 5, 10, 0))));
+
+        List<InsightBucketDto> byCategory = insights(AnalyticsDimension.CATEGORY, TransactionType.DEBIT, null, 0);
+        assertEquals(2, byCategory.size());
+        assertBucket(byCategory.get(0), "groceries", "19.75", 2);
+        assertBucket(byCategory.get(1), null, "30.00", 1);
+
+        List<InsightBucketDto> byWeekday = insights(AnalyticsDimension.WEEKDAY, null, null, 0);
+        assertBucket(byWeekday.get(0), "MONDAY", "42.50", 2);
+        assertBucket(byWeekday.get(1), "WEDNESDAY", "107.25", 2);
+
+        List<InsightBucketDto> byAccount = insights(AnalyticsDimension.ACCOUNT, TransactionType.DEBIT, null, 0);
+        assertEquals(2, byAccount.size());
+        assertTrue(byAccount.stream().anyMatch(b -> b.getKey().equals(checking.getId().toString())
+                && new BigDecimal("19.75").compareTo(b.getTotalAmount()) == 0));
+
+        List<InsightBucketDto> byMonth = insights(AnalyticsDimension.MONTH, TransactionType.DEBIT, null, 0);
+        assertBucket(byMonth.get(0), "2024-07", "19.75", 2);
+        assertBucket(byMonth.get(1), "2024-08", "30.00", 1);
+    }
+
+    @Test
+    void testWritesAfterLoadAreAppendedToCachedColumns() {
+        transactionService.createTransaction(user, request(checking, "10.00", TransactionType.DEBIT, "dining",
+                LocalDateTime.of(2024, 9, 2, 12, 0)));
+        assertBucket(insights(AnalyticsDimension.CATEGORY, null, "dining", 0).get(0), "dining", "10.00", 1);
+
+        transactionService.createTransaction(user, request(checking, "5.00", TransactionType.DEBIT, "dining",
+                LocalDateTime.of(2024, 9, 3, 12, 0)));
+        transactionService.createTransactions(user, List.of(
+                request(checking, "2.50", TransactionType.DEBIT, "dining", LocalDateTime.of(2024, 9, 4, 12, 0))));
+        assertBucket(insights(AnalyticsDimension.CATEGORY, null, "dining", 0).get(0), "dining", "17.50", 3);
+
+        // A rolled-back write never reaches the cached columns
+        assertThrows(IllegalStateException.class, () -> transactionTemplate.executeWithoutResult(status -> {
+            transactionService.createTransaction(user, request(checking, "99.00", TransactionType.DEBIT, "dining",
+                    LocalDateTime.of(2024, 9, 5, 12, 0)));
+            throw new IllegalStateException("rollback");
+        }));
+        assertBucket(insights(AnalyticsDimension.CATEGORY, null, "dining", 0).get(0), "dining", "17.50", 3);
+
+        // Reloading from the database gives the same answer as the appended columns
+        analyticsEngine.evict(user.getId());
+        assertBucket(insights(AnalyticsDimension.CATEGORY, null, "dining", 0).get(0), "dining", "17.50", 3);
+    }
+
+    @Test
+    void testLimitKeepsLargestGroupsAndRangeFilters() {
+        transactionService.createTransactions(user, List.of(
+                request(checking, "5.00", TransactionType.DEBIT, "coffee", LocalDateTime.of(2024, 1, 10, 8, 0)),
+                request(checking, "80.00", TransactionType.DEBIT, "rent", LocalDateTime.of(2024, 1, 11, 8, 0)),
+                request(checking, "20.00", TransactionType.DEBIT, "travel", LocalDateTime.of(2024, 2, 11, 8, 0))));
+
+        List<InsightBucketDto> top = insights(AnalyticsDimension.CATEGORY, TransactionType.DEBIT, null, 2);
+        assertEquals(List.of("rent", "travel"), top.stream().map(InsightBucketDto::getKey).toList());
+
+        InsightsResponseDto january = transactionInsightsService.getInsights(user, new AnalyticsQuery(
+                AnalyticsDimension.CATEGORY, LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 31),
+                TransactionType.DEBIT, null, null, 0));
+        assertEquals(List.of("coffee", "rent"), january.getBuckets().stream().map(InsightBucketDto::getKey).toList());
+
+        assertThrows(InvalidQueryException.class, () -> transactionInsightsService.getInsights(user,
+                new AnalyticsQuery(AnalyticsDimension.MONTH, LocalDate.of(2024, 2, 1), LocalDate.of(2024, 1, 1),
+                        null, null, null, 0)));
+    }
+
+    private List<InsightBucketDto> insights(AnalyticsDimension groupBy, TransactionType type, String category, int limit) {
+        return transactionInsightsService.getInsights(user,
+                new AnalyticsQuery(groupBy, null, null, type, category, null, limit)).getBuckets();
+    }
+
+    private void assertBucket(InsightBucketDto bucket, String key, String total, long count) {
+        assertEquals(key, bucket.getKey());
+        assertEquals(0, new BigDecimal(total).compareTo(bucket.getTotalAmount()));
+        assertEquals(count, bucket.getTransactionCount());
+    }
+
+    private BankAccount account(String name) {
+        return bankAccountRepository.save(BankAccount.builder()
+                .user(user)
+                .name(name)
+                .balance(new BigDecimal("10000.00"))
+                .accountType(AccountType.CHECKING)
+                .build());
+    }
+
+    private TransactionRequestDto request(BankAccount account, String amount, TransactionType type, String category,
+                                          LocalDateTime date) {
+        return TransactionRequestDto.builder()
+                .bankAccountId(account.getId())
+                .amount(new BigDecimal(amount))
+                .type(type)
+                .category(category)
+                .transactionDate(date)
+                .build();
+    }
+}
@@ -0,0 +1,137 @@
+package com.finbot.Beta.servicesTest;
+
+import com.finbot.Beta.Dto.request.TransactionRequestDto;
+import com.finbot.Beta.Dto.response.TransactionResponseDto;
+import com.finbot.Beta.Exceptions.ResourceNotFoundException;
+import com.finbot.Beta.entity.AccountType;
+import com.finbot.Beta.entity.BankAccount;
+import com.finbot.Beta.entity.TransactionType;
+import com.finbot.Beta.entity.User;
+import com.finbot.Beta.repository.BankAccountRepository;
+import com.finbot.Beta.repository.UserRepository;
+import com.finbot.Beta.service.TransactionService;
+import com.finbot.Beta.support.SqlStatementRecorder;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ActiveProfiles("test")
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class TransactionReadQueryCountTest {
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private BankAccountRepository bankAccountRepository;
+
+    private User user;
+    private List<BankAccount> accounts;
+    private List<TransactionResponseDto> written;
+
+    @BeforeAll
+    void setup() {
+        user = userRepository.save(User.builder()
+                .name("Query Count User")
+                .email("query-count-" + UUID.randomUUID() + "@example.com")
+                .password("encoded")
+                .registeredOn(LocalDate.now())
+                .build());
+
+        // Several accounts so any per-account lazy load would show up as extra statements
+        accounts = new ArrayList<>();
+        List<TransactionRequestDto> requests = new ArrayList<>();
+        for (int a = 0; a < 4; a++) {
+            BankAccount account = bankAccountRepository.save(BankAccount.builder()
+                    .user(user)
+                    .name("Account " + a)
+                    .balance(BigDecimal.ZERO)
+                    .accountType(AccountType.CHECKING)
+                    .build());
+            accounts.add(account);
+            for (int i = 0; i < 5; i++) {
+                requests.add(TransactionRequestDto.builder()
+                        .bankAccountId(account.getId())
+                        .amount(BigDecimal.TEN)
+                        .type(TransactionType.CREDIT)
+                        .category("salary")
+                        .transactionDate(LocalDateTime.of(2024, 5, 1, 9, 0).plusHours(a * 5 + i))
+                        .build());
+            }
+        }
+        written = transactionService.createTransactions(user, requests).getResults().stream()
+                .map(result -> result.getTransaction())
+                .toList();
+    }
+
+    @Test
+    void testPagedListingIsOneStatement() throws Exception {
+        // A partial first page lets Spring Data skip the COUNT; full pages add exactly one count statement
+        List<TransactionResponseDto> page = assertSingleStatement(() -> transactionService.getUserTransactions(user,
+                PageRequest.of(0, 50, Sort.by(Sort.Direction.DESC, "transactionDate"))).getContent());
+
+        assertEquals(20, page.size());
+        assertEquals(accounts.get(3).getName(), page.get(0).getBankAccountName());
+    }
+
+    @Test
+    void testListingsAreOneStatement() throws Exception {
+        assertEquals(5, assertSingleStatement(() ->
+                transactionService.getTransactionsByBankAccount(user, accounts.get(1).getId())).size());
+        assertEquals(20, assertSingleStatement(() -> transactionService.getTransactionsByDateRange(user,
+                LocalDateTime.of(2024, 1, 1, 0, 0), LocalDateTime.of(2024, 12, 31, 0, 0))).size());
+        assertEquals(20, assertSingleStatement(() -> transactionService.getTransactionsByCategory(user, "salary")).size());
+        assertEquals(10, assertSingleStatement(() -> transactionService.getTransactionFeed(user, null, 10)).getItems().size());
+    }
+
+    @Test
+    void testSingleTransactionIsOneStatement() throws Exception {
+        TransactionResponseDto expected = written.get(7);
+
+        TransactionResponseDto found = assertSingleStatement(() -> transactionService.getTransaction(user, expected.getId()));
+
+        assertEquals(expected.getId(), found.getId());
+        assertEquals(user.getId(), found.getUserId());
+        assertEquals(expected.getBankAccountName(), found.getBankAccountName());
+    }
+
+    @Test
+    void testOtherUsersTransactionIsNotFound() {
+        User other = userRepository.save(User.builder()
+                .name("Other User")
+                .email("other-" + UUID.randomUUID() + "@example.com")
+                .password("encoded")
+                .registeredOn(LocalDate.now())
+                .build());
+
+        assertThrows(ResourceNotFoundException.class, () -> transactionService.getTransaction(other, written.get(0).getId()));
+        assertThrows(ResourceNotFoundException.class, () -> transactionService.getTransactionsByBankAccount(other, accounts.get(0).getId()));
+    }
+
+    // Recorded per thread: session-factory statistics would also count the scheduled outbox drain
+    private <T> T assertSingleStatement(Supplier<T> read) throws Exception {
+        List<T> result = new ArrayList<>(1);
+        List<String> statements = SqlStatementRecorder.record(() -> result.add(read.get()));
+        assertEquals(1, statements.size(), "SQL statements executed: " + statements);
+        return result.get(0);
+    }
+}
@@ -5,11 +5,17 @@ import com.finbot.Beta.Dto.LoginDto;
 import com.finbot.Beta.Dto.SignupDto;
 import com.finbot.Beta.Dto.UpdatedUserDto;
 import com.finbot.Beta.Dto.UserResponseDto;
+import com.finbot.Beta.Exceptions.LoginLockedException;
 import com.finbot.Beta.Exceptions.UserAlreadyExistsException;
 import com.finbot.Beta.entity.User;
 import com.finbot.Beta.repository.UserRepository;
 import com.finbot.Beta.security.JWTtokenizer;
+import com.finbot.Beta.security.LoginAttemptTracker;
+import com.finbot.Beta.security.PrincipalCache;
+import com.finbot.Beta.security.TokenRevocationRegistry;
+import com.finbot.Beta.service.RefreshTokenService;
 import com.finbot.Beta.service.impl.UserServiceImpl;
+import com.finbot.Beta.service.support.IssuedRefreshToken;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -19,7 +25,10 @@ import org.mockito.MockitoAnnotations;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.annotation.DirtiesContext;
 
+import java.time.Duration;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -39,6 +48,18 @@ public class UserServiceImplTest {
     @Mock
     private JWTtokenizer jwtTokenizer;
 
+    @Mock
+    private PrincipalCache principalCache;
+
+    @Mock
+    private TokenRevocationRegistry tokenRevocationRegistry;
+
+    @Mock
+    private LoginAttemptTracker loginAttemptTracker;
+
+    @Mock
+    private RefreshTokenService refreshTokenService;
+
     @InjectMocks
     private UserServiceImpl userService;
 
@@ -151,17 +172,76 @@ public class UserServiceImplTest {
         when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(user));
         when(passwordEncoder.matches("securepass", "encodedPassword")).thenReturn(true);
         when(jwtTokenizer.generateToken(userId.toString())).thenReturn("test.jwt.token");
+        when(jwtTokenizer.getExpirationSeconds()).thenReturn(900L);
+        when(refreshTokenService.issue(user)).thenReturn(new IssuedRefreshToken("refresh-token", user, LocalDateTime.now().plusDays(14)));
 
         AuthResponseDto response = userService.loginUser(loginDto);
 
         assertEquals("Bearer", response.getTokenType());
         assertEquals("test.jwt.token", response.getToken());
+        assertEquals("refresh-token", response.getRefreshToken());
+        assertEquals(900L, response.getExpiresIn());
         assertNotNull(response.getUser());
         assertEquals("Test User", response.getUser().getName());
         assertEquals("test@example.com", response.getUser().getEmail());
         verify(passwordEncoder).matches("securepass", "encodedPassword");
         verify(userRepository).findByEmail("test@example.com");
         verify(jwtTokenizer).generateToken(userId.toString());
+        verify(loginAttemptTracker).recordSuccess("test@example.com");
+        verify(userRepository, never()).save(any());
+    }
+
+    @Test
+    void testLoginUserEmbedsPrincipalClaimsWhenEnabled() {
+        LoginDto loginDto = LoginDto.builder()
+                .email("test@example.com")
+                .password("securepass")
+                .build();
+        UUID userId = UUID.fromString("11111111-1111-1111-1111-111111111111");
+        User user = User.builder()
+                .id(userId)
+                .name("Test User")
+                .email("test@example.com")
+                .password("encodedPassword")
+                .registeredOn(LocalDate.of(2025, 7, 31))
+                .build();
+
+        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(user));
+        when(passwordEncoder.matches("securepass", "encodedPassword")).thenReturn(true);
+        when(jwtTokenizer.isClaimsPrincipalEnabled()).thenReturn(true);
+        when(jwtTokenizer.generateToken(eq(userId.toString()), anyMap())).thenReturn("claims.jwt.token");
+        when(refreshTokenService.issue(user)).thenReturn(new IssuedRefreshToken("refresh-token", user, LocalDateTime.now().plusDays(14)));
+
+        AuthResponseDto response = userService.loginUser(loginDto);
+
+        assertEquals("claims.jwt.token", response.getToken());
+        verify(jwtTokenizer).generateToken(eq(userId.toString()), argThat((Map<String, Object> claims) ->
+                "test@example.com".equals(claims.get(JWTtokenizer.CLAIM_EMAIL))
+                        && "Test User".equals(claims.get(JWTtokenizer.CLAIM_NAME))
+                        && Boolean.TRUE.equals(claims.get(JWTtokenizer.CLAIM_ACTIVE))));
+        verify(jwtTokenizer, never()).generateToken(userId.toString());
+    }
+
+    @Test
+    void testRefreshTokenSkipsPasswordCheck() {
+        UUID userId = UUID.fromString("11111111-1111-1111-1111-111111111111");
+        User user = User.builder()
+                .id(userId)
+                .name("Test User")
+                .email("test@example.com")
+                .password("encodedPassword")
+                .registeredOn(LocalDate.of(2025, 7, 31))
+                .build();
+
+        when(refreshTokenService.rotate("old-refresh")).thenReturn(new IssuedRefreshToken("new-refresh", user, LocalDateTime.now().plusDays(14)));
+        when(jwtTokenizer.generateToken(userId.toString())).thenReturn("renewed.jwt.token");
+
+        AuthResponseDto response = userService.refreshToken("old-refresh");
+
+        assertEquals("renewed.jwt.token", response.getToken());
+        assertEquals("new-refresh", response.getRefreshToken());
+        verify(passwordEncoder, never()).matches(anyString(), anyString());
+        verify(userRepository, never()).findByEmail(anyString());
     }
 
     @Test
@@ -188,6 +268,52 @@ public class UserServiceImplTest {
 
         verify(passwordEncoder).matches("wrongpassword", "encodedPassword");
         verify(userRepository).findByEmail("test@example.com");
+        verify(loginAttemptTracker).recordFailure("test@example.com", null);
+    }
+
+    @Test
+    void testLoginRehashesOutdatedPassword() {
+        LoginDto loginDto = LoginDto.builder()
+                .email("test@example.com")
+                .password("securepass")
+                .build();
+        UUID userId = UUID.fromString("11111111-1111-1111-1111-111111111111");
+        User user = User.builder()
+                .id(userId)
+                .name("Test User")
+                .email("test@example.com")
+                .password("legacyHash")
+                .registeredOn(LocalDate.of(2025, 7, 31))
+                .build();
+
+        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(user));
+        when(passwordEncoder.matches("securepass", "legacyHash")).thenReturn(true);
+        when(passwordEncoder.upgradeEncoding("legacyHash")).thenReturn(true);
+        when(passwordEncoder.encode("securepass")).thenReturn("{bcrypt}currentHash");
+        when(userRepository.save(any(User.class))).thenAnswer(i -> i.getArguments()[0]);
+        when(jwtTokenizer.generateToken(userId.toString())).thenReturn("test.jwt.token");
+        when(refreshTokenService.issue(user)).thenReturn(new IssuedRefreshToken("refresh-token", user, LocalDateTime.now().plusDays(14)));
+
+        userService.loginUser(loginDto);
+
+        verify(userRepository).save(argThat(savedUser -> savedUser.getPassword().equals("{bcrypt}currentHash")));
+        verify(principalCache).invalidate(userId);
+    }
+
+    @Test
+    void testLockedLoginSkipsLookupAndPasswordCheck() {
+        LoginDto loginDto = LoginDto.builder()
+                .email("test@example.com")
+                .password("securepass")
+                .build();
+
+        when(loginAttemptTracker.lockedFor("test@example.com", null)).thenReturn(Optional.of(Duration.ofSeconds(120)));
+
+        LoginLockedException ex = assertThrows(LoginLockedException.class, () -> userService.loginUser(loginDto));
+
+        assertEquals(120, ex.getRetryAfterSeconds());
+        verify(userRepository, never()).findByEmail(anyString());
+        verify(passwordEncoder, never()).matches(anyString(), anyString());
     }
 
     @Test
@@ -204,6 +330,7 @@ public class UserServiceImplTest {
         });
 
         verify(userRepository, times(1)).findByEmail("nonexistent@example.com");
+        verify(loginAttemptTracker).recordFailure("nonexistent@example.com", null);
     }
 
     @Test
@@ -244,6 +371,8 @@ public class UserServiceImplTest {
                 savedUser.getName().equals(newName) &&
                         savedUser.getEmail().equals(newEmail) &&
                         savedUser.getPassword().equals(encodedPassword)));
+        verify(principalCache).invalidate(userId);
+        verify(tokenRevocationRegistry).revoke(userId);
     }
 
     @Test
@@ -270,6 +399,8 @@ public class UserServiceImplTest {
         verify(passwordEncoder).encode(newPassword);
         verify(userRepository).save(argThat(savedUser ->
                 savedUser.getPassword().equals("newEncodedPassword")));
+        verify(principalCache).invalidate(userId);
+        verify(tokenRevocationRegistry).revoke(userId);
     }
 
     @Test
@@ -297,6 +428,8 @@ public class UserServiceImplTest {
         verify(userRepository).findById(userId);
         verify(userRepository).save(argThat(savedUser ->
                 savedUser.getEmail().equals(newEmail)));
+        verify(principalCache).invalidate(userId);
+        verify(tokenRevocationRegistry).revoke(userId);
     }
 
     @Test
@@ -315,5 +448,8 @@ public class UserServiceImplTest {
 
         verify(userRepository, times(1)).findById(userId);
         verify(userRepository, times(1)).delete(user);
+        verify(refreshTokenService).revokeAll(userId);
+        verify(principalCache).invalidate(userId);
+        verify(tokenRevocationRegistry).revoke(userId);
     }
 }
@@ -0,0 +1,62 @@
+package com.finbot.Beta.support;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Captures the SQL a repository call generates and checks H2's EXPLAIN output for it, so a query
+ * that stops using its index fails the build instead of degrading to a scan in production.
+ */
+public final class QueryPlans {
+
+    private QueryPlans() {
+    }
+
+    /**
+     * Runs the repository call, which must issue exactly one statement, and returns H2's plan for it.
+     */
+    public static String explain(JdbcTemplate jdbcTemplate, SqlStatementRecorder.ThrowingRunnable repositoryCall) throws Exception {
+        List<String> statements = SqlStatementRecorder.record(repositoryCall);
+        assertEquals(1, statements.size(), "Expected a single statement, got " + statements);
+        return explain(jdbcTemplate, statements.get(0));
+    }
+
+    public static String explain(JdbcTemplate jdbcTemplate, String sql) {
+        // H2 plans parameterised statements without binding values, using the same index choice
+        return jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class);
+    }
+
+    /**
+     * Asserts that the given table is accessed through one of the acceptable indexes, e.g.
+     * {@code assertUsesIndex(plan, "transactions", "IDX_TRANSACTION_USER")}.
+     */
+    public static void assertUsesIndex(String plan, String table, String... acceptableIndexes) {
+        String normalized = plan.toUpperCase(Locale.ROOT);
+        int tableAt = normalized.indexOf("\"PUBLIC\".\"" + table.toUpperCase(Locale.ROOT) + "\"");
+        assertTrue(tableAt >= 0, "Table " + table + " does not appear in plan:\n" + plan);
+
+        // H2 annotates each table in the plan with the access path it chose: /* PUBLIC.INDEX_NAME: ... */
+        int commentAt = normalized.indexOf("/* PUBLIC.", tableAt);
+        assertTrue(commentAt >= 0, "No access path for " + table + " in plan:\n" + plan);
+        int nameStart = commentAt + "/* PUBLIC.".length();
+        int nameEnd = nameStart;
+        while (nameEnd < normalized.length() && normalized.charAt(nameEnd) != ':' && !Character.isWhitespace(normalized.charAt(nameEnd))) {
+            nameEnd++;
+        }
+        String accessPath = normalized.substring(nameStart, nameEnd);
+
+        for (String index : acceptableIndexes) {
+            String expected = index.toUpperCase(Locale.ROOT);
+            if (accessPath.equals(expected) || accessPath.startsWith(expected + "_")) {
+                return;
+            }
+        }
+        fail(table + " is read through " + accessPath + ", expected one of " + List.of(acceptableIndexes) + ":\n" + plan);
+    }
+}
@@ -0,0 +1,32 @@
+package com.finbot.Beta.support;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Asserts that an action stays within a fixed number of SQL statements, listing every statement
+ * in the failure message so the new query is obvious from the build log.
+ */
+public final class StatementBudget {
+
+    private StatementBudget() {
+    }
+
+    public static List<String> assertWithin(String name, int budget, SqlStatementRecorder.ThrowingRunnable action) throws Exception {
+        List<String> statements = SqlStatementRecorder.record(action);
+        // Zero usually means the inspector is not registered, which would make every budget pass
+        assertFalse(statements.isEmpty(), name + " recorded no SQL; is SqlStatementRecorder configured for this profile?");
+        if (statements.size() > budget) {
+            StringBuilder message = new StringBuilder()
+                    .append(name).append(" executed ").append(statements.size())
+                    .append(" SQL statements, budget is ").append(budget).append(':');
+            for (int i = 0; i < statements.size(); i++) {
+                message.append("\n  ").append(i + 1).append(". ").append(statements.get(i));
+            }
+            fail(message.toString());
+        }
+        return statements;
+    }
+}